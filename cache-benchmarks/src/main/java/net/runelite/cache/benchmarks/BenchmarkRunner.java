@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the standard JMH command line, but writes the
+ * results as JSON to jmh-result.json unless another format is given, so
+ * runs can be compared for regressions.
+ */
+public class BenchmarkRunner
+{
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+		if (cmdOptions.shouldHelp())
+		{
+			cmdOptions.showHelp();
+			return;
+		}
+
+		if (cmdOptions.shouldList() || cmdOptions.shouldListWithParams() || cmdOptions.shouldListProfilers() || cmdOptions.shouldListResultFormats())
+		{
+			// defer to the stock runner for the informational options
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		Options options = cmdOptions;
+		if (!cmdOptions.getResultFormat().hasValue())
+		{
+			options = new OptionsBuilder()
+				.parent(cmdOptions)
+				.resultFormat(ResultFormatType.JSON)
+				.build();
+		}
+
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.jagex.CompressionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerBenchmark
+{
+	private static final int[] KEYS = {0x12345678, 0x9abcdef0, 0x0fedcba9, 0x87654321};
+
+	@Param({"NONE", "BZ2", "GZ"})
+	public String compression;
+
+	@Param({"1024", "65536"})
+	public int size;
+
+	private byte[] data;
+	private byte[] encryptedData;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		int type;
+		switch (compression)
+		{
+			case "BZ2":
+				type = CompressionType.BZ2;
+				break;
+			case "GZ":
+				type = CompressionType.GZ;
+				break;
+			default:
+				type = CompressionType.NONE;
+				break;
+		}
+
+		byte[] contents = SyntheticCache.data(new Random(SyntheticCache.SEED), size);
+
+		Container container = new Container(type, -1);
+		container.compress(contents, null);
+		data = container.data;
+
+		container = new Container(type, -1);
+		container.compress(contents, KEYS);
+		encryptedData = container.data;
+	}
+
+	@Benchmark
+	public byte[] decompress() throws IOException
+	{
+		return Container.decompress(data, null).data;
+	}
+
+	@Benchmark
+	public byte[] decompressEncrypted() throws IOException
+	{
+		return Container.decompress(encryptedData, KEYS).data;
+	}
+}
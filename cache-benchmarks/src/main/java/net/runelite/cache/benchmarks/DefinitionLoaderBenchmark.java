@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.loaders.ItemLoader;
+import net.runelite.cache.definitions.loaders.ModelLoader;
+import net.runelite.cache.definitions.savers.ItemSaver;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefinitionLoaderBenchmark
+{
+	private static final int ITEMS = 1024;
+
+	@Param({"64", "1024", "8192"})
+	public int faces;
+
+	private final ItemLoader itemLoader = new ItemLoader();
+	private final ModelLoader modelLoader = new ModelLoader();
+
+	private byte[][] items;
+	private byte[] model;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(SyntheticCache.SEED);
+
+		ItemSaver saver = new ItemSaver();
+		items = new byte[ITEMS][];
+		for (int i = 0; i < ITEMS; ++i)
+		{
+			items[i] = saver.save(SyntheticCache.item(random, i));
+		}
+
+		model = SyntheticCache.model(random, faces);
+
+		// make sure the synthetic model decodes before measuring it
+		ModelDefinition def = modelLoader.load(0, model);
+		if (def.faceCount != faces || def.vertexCount != faces + 2)
+		{
+			throw new IllegalStateException("synthetic model did not decode");
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEMS)
+	public void loadItems(Blackhole blackhole)
+	{
+		for (int i = 0; i < ITEMS; ++i)
+		{
+			ItemDefinition def = itemLoader.load(i, items[i]);
+			blackhole.consume(def);
+		}
+	}
+
+	@Benchmark
+	public ModelDefinition loadModel()
+	{
+		return modelLoader.load(0, model);
+	}
+}
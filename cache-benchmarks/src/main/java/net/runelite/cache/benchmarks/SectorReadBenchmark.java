@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.fs.jagex.DiskStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads archives out of the sectors of the data file, with and without
+ * the data file being memory mapped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SectorReadBenchmark
+{
+	private static final int ARCHIVES = 1024;
+
+	@Param({"512", "8192", "65536"})
+	public int size;
+
+	@Param({"false", "true"})
+	public boolean readOnly;
+
+	private Path folder;
+	private DiskStorage storage;
+	private Store store;
+	private Archive[] archives;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		folder = Files.createTempDirectory("cache-bench");
+		File file = folder.toFile();
+		SyntheticCache.generate(file, ARCHIVES, size, CompressionType.NONE);
+
+		storage = new DiskStorage(file, readOnly);
+		store = new Store(storage);
+		store.load();
+
+		List<Archive> list = store.getIndexes().get(0).getArchives();
+		archives = list.toArray(new Archive[0]);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		store.close();
+
+		try (Stream<Path> paths = Files.walk(folder))
+		{
+			paths.sorted(Comparator.reverseOrder())
+				.map(Path::toFile)
+				.forEach(File::delete);
+		}
+	}
+
+	@Benchmark
+	public byte[] read() throws IOException
+	{
+		Archive archive = archives[ThreadLocalRandom.current().nextInt(archives.length)];
+		return storage.loadArchive(archive);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public byte[] readConcurrent() throws IOException
+	{
+		Archive archive = archives[ThreadLocalRandom.current().nextInt(archives.length)];
+		return storage.loadArchive(archive);
+	}
+}
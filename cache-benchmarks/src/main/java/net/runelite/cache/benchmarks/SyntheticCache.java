@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.io.OutputStream;
+
+/**
+ * Generates deterministic cache data for the benchmarks, so they can be run
+ * without a copy of the real game cache.
+ */
+class SyntheticCache
+{
+	static final int SEED = 42;
+
+	private SyntheticCache()
+	{
+	}
+
+	/**
+	 * Write a cache to the given folder, with a single index containing
+	 * the given number of archives of roughly the given uncompressed size.
+	 */
+	static void generate(File folder, int archives, int size, int compression) throws IOException
+	{
+		Random random = new Random(SEED);
+
+		try (Store store = new Store(folder))
+		{
+			Index index = store.addIndex(0);
+			index.setCompression(compression);
+
+			for (int i = 0; i < archives; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setCompression(compression);
+				archive.setFileData(new FileData[]{new FileData()});
+
+				Container container = new Container(compression, -1);
+				container.compress(data(random, size), null);
+				store.getStorage().saveArchive(archive, container.data);
+			}
+
+			store.save();
+		}
+	}
+
+	/**
+	 * Generate data which compresses about as well as typical cache data,
+	 * by drawing bytes from a small, skewed alphabet.
+	 */
+	static byte[] data(Random random, int size)
+	{
+		byte[] data = new byte[size];
+		for (int i = 0; i < size; ++i)
+		{
+			int r = random.nextInt(64);
+			data[i] = (byte) (r * r >> 4);
+		}
+		return data;
+	}
+
+	static ItemDefinition item(Random random, int id)
+	{
+		ItemDefinition item = new ItemDefinition(id);
+		item.name = "Item " + id;
+		item.inventoryModel = random.nextInt(40000);
+		item.zoom2d = 500 + random.nextInt(2000);
+		item.xan2d = random.nextInt(2048);
+		item.yan2d = random.nextInt(2048);
+		item.cost = random.nextInt(100000);
+		item.members = random.nextBoolean();
+		item.isTradeable = random.nextBoolean();
+		item.maleModel0 = random.nextInt(40000);
+		item.femaleModel0 = random.nextInt(40000);
+		item.interfaceOptions[1] = "Wield";
+		item.interfaceOptions[4] = "Drop";
+		item.colorFind = new short[]{(short) random.nextInt(65536), (short) random.nextInt(65536)};
+		item.colorReplace = new short[]{(short) random.nextInt(65536), (short) random.nextInt(65536)};
+		return item;
+	}
+
+	/**
+	 * Encode a model in the older model format, as a strip of faces each
+	 * sharing two vertices with the previous face.
+	 */
+	static byte[] model(Random random, int faceCount)
+	{
+		int vertexCount = faceCount + 2;
+
+		OutputStream flags = new OutputStream();
+		OutputStream x = new OutputStream();
+		OutputStream y = new OutputStream();
+		OutputStream z = new OutputStream();
+		for (int i = 0; i < vertexCount; ++i)
+		{
+			flags.writeByte(7);
+			// short smarts in the range -64 to 63 are a single byte
+			x.writeByte(random.nextInt(128));
+			y.writeByte(random.nextInt(128));
+			z.writeByte(random.nextInt(128));
+		}
+
+		OutputStream faceTypes = new OutputStream();
+		OutputStream faces = new OutputStream();
+		OutputStream colors = new OutputStream();
+		for (int i = 0; i < faceCount; ++i)
+		{
+			faceTypes.writeByte(1);
+			// face vertices are deltas from the last vertex of the previous face
+			faces.writeByte((i == 0 ? 0 : -1) + 64);
+			faces.writeByte(1 + 64);
+			faces.writeByte(1 + 64);
+			colors.writeShort(random.nextInt(65536));
+		}
+
+		byte[] xData = x.flip(), yData = y.flip(), zData = z.flip(), faceData = faces.flip();
+
+		OutputStream out = new OutputStream();
+		out.writeBytes(flags.flip());
+		out.writeBytes(faceTypes.flip());
+		out.writeBytes(faceData);
+		out.writeBytes(colors.flip());
+		out.writeBytes(xData);
+		out.writeBytes(yData);
+		out.writeBytes(zData);
+
+		out.writeShort(vertexCount);
+		out.writeShort(faceCount);
+		out.writeByte(0); // texture triangles
+		out.writeByte(0); // face render types
+		out.writeByte(0); // priority
+		out.writeByte(0); // face alphas
+		out.writeByte(0); // face skins
+		out.writeByte(0); // vertex skins
+		out.writeShort(xData.length);
+		out.writeShort(yData.length);
+		out.writeShort(zData.length);
+		out.writeShort(faceData.length);
+		return out.flip();
+	}
+}
@@ -50,12 +50,12 @@ public class HeightMapDumper
 
 	public void load() throws IOException
 	{
+		// regions are streamed while drawing, so only the bounds are needed up front
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
 		regionLoader.calculateBounds();
 	}
 
-	public BufferedImage drawHeightMap(int z)
+	public BufferedImage drawHeightMap(int z) throws IOException
 	{
 		int minX = regionLoader.getLowestX().getBaseX();
 		int minY = regionLoader.getLowestY().getBaseY();
@@ -76,12 +76,12 @@ public class HeightMapDumper
 		return image;
 	}
 
-	private void draw(BufferedImage image, int z)
+	private void draw(BufferedImage image, int z) throws IOException
 	{
-		int max = Integer.MIN_VALUE;
-		int min = Integer.MAX_VALUE;
+		int[] max = {Integer.MIN_VALUE};
+		int[] min = {Integer.MAX_VALUE};
 
-		for (Region region : regionLoader.getRegions())
+		regionLoader.forEachRegion(region ->
 		{
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
@@ -102,13 +102,13 @@ public class HeightMapDumper
 					int drawY = drawBaseY + (Region.Y - 1 - y);
 
 					int height = region.getTileHeight(z, x, y);
-					if (height > max)
+					if (height > max[0])
 					{
-						max = height;
+						max[0] = height;
 					}
-					if (height < min)
+					if (height < min[0])
 					{
-						min = height;
+						min[0] = height;
 					}
 
 					int rgb = toColor(height);
@@ -116,9 +116,9 @@ public class HeightMapDumper
 					drawMapSquare(image, drawX, drawY, rgb);
 				}
 			}
-		}
-		System.out.println("max " + max);
-		System.out.println("min " + min);
+		});
+		System.out.println("max " + max[0]);
+		System.out.println("min " + min[0]);
 	}
 
 	private int toColor(int height)
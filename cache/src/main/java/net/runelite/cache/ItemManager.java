@@ -24,12 +24,16 @@
  */
 package net.runelite.cache;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.exporters.ItemExporter;
 import net.runelite.cache.definitions.loaders.ItemLoader;
@@ -41,6 +45,7 @@ import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
+import net.runelite.cache.util.ParallelLoader;
 
 public class ItemManager implements ItemProvider
 {
@@ -53,6 +58,17 @@ public class ItemManager implements ItemProvider
 	}
 
 	public void load() throws IOException
+	{
+		load(MoreExecutors.directExecutor());
+	}
+
+	/**
+	 * Load the definitions, decoding them concurrently on the executor.
+	 *
+	 * @param executor
+	 * @throws IOException
+	 */
+	public void load(Executor executor) throws IOException
 	{
 		ItemLoader loader = new ItemLoader();
 
@@ -63,10 +79,17 @@ public class ItemManager implements ItemProvider
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
+		List<FSFile> fileList = files.getFiles();
+		List<ParallelLoader.Task<ItemDefinition>> tasks = new ArrayList<>(fileList.size());
+		for (FSFile f : fileList)
+		{
+			tasks.add(() -> loader.load(f.getFileId(), f.getContents()));
+		}
+
+		List<ItemDefinition> defs = ParallelLoader.invokeAll(executor, tasks);
+		for (int i = 0; i < fileList.size(); ++i)
 		{
-			ItemDefinition def = loader.load(f.getFileId(), f.getContents());
-			items.put(f.getFileId(), def);
+			items.put(fileList.get(i).getFileId(), defs.get(i));
 		}
 	}
 
@@ -24,13 +24,30 @@
  */
 package net.runelite.cache;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.cache.definitions.AreaDefinition;
@@ -52,7 +69,7 @@ import net.runelite.cache.item.RSTextureProvider;
 import net.runelite.cache.region.Location;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
-import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.ParallelLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,14 +81,20 @@ public class MapImageDumper
 	private static final int MAPICON_MAX_WIDTH = 5; // scale minimap icons down to this size so they fit..
 	private static final int MAPICON_MAX_HEIGHT = 6;
 	private static final int BLEND = 5; // number of surrounding tiles for ground blending
+	private static final int TILE_SIZE = Region.X * MAP_SCALE; // size of a map tile, one region at zoom 0
+	private static final String TILE_KEYS_FILE = "tiles.json";
+	private static final Type TILE_KEYS_TYPE = new TypeToken<Map<Integer, Integer>>()
+	{
+	}.getType();
 
 	private static int[] colorPalette = new ColorPalette(0.9d, 0, 512).getColorPalette();
 
 	private static int[][] TILE_SHAPE_2D = new int[][]{{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1}, {1, 0, 0, 0, 1, 1, 0, 0, 1, 1, 1, 0, 1, 1, 1, 1}, {1, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0}, {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 0, 0, 0, 1}, {0, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1}, {1, 1, 1, 0, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1}, {1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0}, {0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 1, 1, 0, 0}, {1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 0, 0, 1, 1}, {1, 1, 1, 1, 1, 1, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0}, {0, 0, 0, 0, 0, 0, 1, 1, 0, 1, 1, 1, 0, 1, 1, 1}, {0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 1, 1, 1, 1}};
 	private static int[][] TILE_ROTATION_2D = new int[][]{{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15}, {12, 8, 4, 0, 13, 9, 5, 1, 14, 10, 6, 2, 15, 11, 7, 3}, {15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0}, {3, 7, 11, 15, 2, 6, 10, 14, 1, 5, 9, 13, 0, 4, 8, 12}};
 
-	private final int wallColor = (238 + (int) (Math.random() * 20.0D) - 10 << 16) + (238 + (int) (Math.random() * 20.0D) - 10 << 8) + (238 + (int) (Math.random() * 20.0D) - 10);
-	private final int doorColor = 238 + (int) (Math.random() * 20.0D) - 10 << 16;
+	// the client varies these slightly at random, but tiles drawn by separate runs must match
+	private final int wallColor = (238 << 16) + (238 << 8) + 238;
+	private final int doorColor = 238 << 16;
 
 	private final Store store;
 
@@ -102,18 +125,31 @@ public class MapImageDumper
 	}
 
 	public void load() throws IOException
+	{
+		load(MoreExecutors.directExecutor());
+	}
+
+	/**
+	 * Load the definitions and regions, decoding them concurrently on the
+	 * executor. Every region is kept loaded rather than streamed, since ground
+	 * blending at the edge of a region reads the terrain of its neighbours.
+	 *
+	 * @param executor
+	 * @throws IOException
+	 */
+	public void load(Executor executor) throws IOException
 	{
 		loadUnderlays(store);
 		loadOverlays(store);
-		objectManager.load();
+		objectManager.load(executor);
 
 		TextureManager textureManager = new TextureManager(store);
 		textureManager.load();
 		rsTextureProvider = new RSTextureProvider(textureManager, sprites);
 
-		loadRegions(store);
+		loadRegions(store, executor);
 		areas.load();
-		sprites.load();
+		sprites.load(executor);
 		loadSprites();
 	}
 
@@ -158,6 +194,229 @@ public class MapImageDumper
 		return image;
 	}
 
+	/**
+	 * Draw a plane of the map as a pyramid of PNG tiles, rendering the regions
+	 * concurrently on the executor. Zoom level 0 has one tile per region, and
+	 * each following level halves the resolution. Tiles are written to
+	 * {@code outDir/z/zoom/x_y.png}, with y increasing northwards.
+	 * <p>
+	 * Regions are not rendered again if nothing they are drawn from has changed
+	 * since the previous run into the same directory: the region's map and
+	 * location archives, the map archives of its neighbours, whether its xtea
+	 * keys are known, the definitions used to draw it and the renderer options.
+	 *
+	 * @param z plane to draw
+	 * @param zoomLevels number of zoom levels to write
+	 * @param outDir directory to write the tiles to
+	 * @param executor executor to render tiles on
+	 * @throws IOException
+	 */
+	public void drawMapTiles(int z, int zoomLevels, File outDir, Executor executor) throws IOException
+	{
+		File planeDir = new File(outDir, Integer.toString(z));
+		File keysFile = new File(planeDir, TILE_KEYS_FILE);
+
+		Map<Integer, Integer> previousKeys = readTileKeys(keysFile);
+		Map<Integer, Integer> keys = calculateTileKeys();
+
+		// tiles which have changed at the current zoom level, as (x << 8) | y
+		Set<Integer> changed = new HashSet<>();
+		List<ParallelLoader.Task<Void>> tasks = new ArrayList<>();
+		for (Region region : regionLoader.getRegions())
+		{
+			int regionId = region.getRegionID();
+			File tileFile = tileFile(planeDir, 0, region.getRegionX(), region.getRegionY());
+			if (keys.get(regionId).equals(previousKeys.get(regionId)) && tileFile.exists())
+			{
+				continue;
+			}
+
+			changed.add(regionId);
+			tasks.add(() ->
+			{
+				writeTile(drawRegion(region, z), tileFile);
+				return null;
+			});
+		}
+
+		for (int regionId : previousKeys.keySet())
+		{
+			if (!keys.containsKey(regionId))
+			{
+				// region has been removed
+				tileFile(planeDir, 0, regionId >> 8, regionId & 0xFF).delete();
+				changed.add(regionId);
+			}
+		}
+
+		logger.info("Drawing {} of {} regions on plane {}", tasks.size(), keys.size(), z);
+		ParallelLoader.invokeAll(executor, tasks);
+
+		Set<Integer> tiles = new HashSet<>(keys.keySet());
+		for (int zoom = 1; zoom < zoomLevels; ++zoom)
+		{
+			Set<Integer> parents = new HashSet<>();
+			for (int tile : changed)
+			{
+				parents.add(parentTile(tile));
+			}
+
+			Set<Integer> allParents = new HashSet<>();
+			for (int tile : tiles)
+			{
+				int parent = parentTile(tile);
+				allParents.add(parent);
+
+				// also draw tiles missing from previous runs, eg. if zoomLevels has increased
+				if (!tileFile(planeDir, zoom, parent >> 8, parent & 0xFF).exists())
+				{
+					parents.add(parent);
+				}
+			}
+
+			tasks.clear();
+			for (int tile : parents)
+			{
+				int zoomLevel = zoom;
+				tasks.add(() ->
+				{
+					drawParentTile(planeDir, zoomLevel, tile >> 8, tile & 0xFF);
+					return null;
+				});
+			}
+			ParallelLoader.invokeAll(executor, tasks);
+
+			changed = parents;
+			tiles = allParents;
+		}
+
+		writeTileKeys(keysFile, keys);
+	}
+
+	/**
+	 * Calculate the cache key of each region's tile. A tile depends on the
+	 * renderer options and definitions, on the region's locations, and on the
+	 * terrain of the surrounding regions due to ground blending.
+	 */
+	private Map<Integer, Integer> calculateTileKeys()
+	{
+		int baseKey = (labelRegions ? 1 : 0) | (outlineRegions ? 2 : 0);
+		Index configs = store.getIndex(IndexType.CONFIGS);
+		for (ConfigType type : new ConfigType[]{ConfigType.UNDERLAY, ConfigType.OVERLAY, ConfigType.OBJECT, ConfigType.AREA})
+		{
+			baseKey = 31 * baseKey + crc(configs.getArchive(type.getId()));
+		}
+		baseKey = 31 * baseKey + crc(store.getIndex(IndexType.TEXTURES).getArchive(0));
+		baseKey = 31 * baseKey + crc(store.getIndex(IndexType.SPRITES).findArchiveByName("mapscene"));
+
+		Map<Integer, Integer> mapCrcs = new HashMap<>();
+		for (Region region : regionLoader.getRegions())
+		{
+			mapCrcs.put(region.getRegionID(), crc(regionLoader.findMapArchive(region.getRegionID())));
+		}
+
+		Map<Integer, Integer> keys = new HashMap<>();
+		for (Region region : regionLoader.getRegions())
+		{
+			int regionId = region.getRegionID();
+			int key = 31 * baseKey + crc(regionLoader.findLocationsArchive(regionId));
+			key = 31 * key + (regionLoader.hasKeys(regionId) ? 1 : 0);
+			for (int dx = -1; dx <= 1; ++dx)
+			{
+				for (int dy = -1; dy <= 1; ++dy)
+				{
+					int neighbour = ((region.getRegionX() + dx) << 8) | (region.getRegionY() + dy);
+					key = 31 * key + mapCrcs.getOrDefault(neighbour, 0);
+				}
+			}
+			keys.put(regionId, key);
+		}
+		return keys;
+	}
+
+	private static int crc(Archive archive)
+	{
+		return archive == null ? 0 : archive.getCrc();
+	}
+
+	private void drawParentTile(File planeDir, int zoom, int x, int y) throws IOException
+	{
+		BufferedImage image = null;
+		Graphics2D graphics = null;
+
+		for (int dx = 0; dx <= 1; ++dx)
+		{
+			for (int dy = 0; dy <= 1; ++dy)
+			{
+				File childFile = tileFile(planeDir, zoom - 1, x * 2 + dx, y * 2 + dy);
+				if (!childFile.exists())
+				{
+					continue;
+				}
+
+				if (image == null)
+				{
+					image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+					graphics = image.createGraphics();
+					graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				}
+
+				// the northern tile is on top
+				BufferedImage child = ImageIO.read(childFile);
+				graphics.drawImage(child, dx * TILE_SIZE / 2, (1 - dy) * TILE_SIZE / 2, TILE_SIZE / 2, TILE_SIZE / 2, null);
+			}
+		}
+
+		File tileFile = tileFile(planeDir, zoom, x, y);
+		if (image == null)
+		{
+			tileFile.delete();
+			return;
+		}
+
+		graphics.dispose();
+		writeTile(image, tileFile);
+	}
+
+	private static int parentTile(int tile)
+	{
+		return ((tile >> 9) << 8) | ((tile & 0xFF) >> 1);
+	}
+
+	private static File tileFile(File planeDir, int zoom, int x, int y)
+	{
+		return new File(planeDir, zoom + File.separator + x + "_" + y + ".png");
+	}
+
+	private static void writeTile(BufferedImage image, File file) throws IOException
+	{
+		file.getParentFile().mkdirs();
+		ImageIO.write(image, "png", file);
+	}
+
+	private static Map<Integer, Integer> readTileKeys(File file) throws IOException
+	{
+		if (!file.exists())
+		{
+			return Collections.emptyMap();
+		}
+
+		try (Reader reader = new FileReader(file))
+		{
+			Map<Integer, Integer> keys = new Gson().fromJson(reader, TILE_KEYS_TYPE);
+			return keys == null ? Collections.emptyMap() : keys;
+		}
+	}
+
+	private static void writeTileKeys(File file, Map<Integer, Integer> keys) throws IOException
+	{
+		file.getParentFile().mkdirs();
+		try (Writer writer = new FileWriter(file))
+		{
+			new Gson().toJson(keys, TILE_KEYS_TYPE, writer);
+		}
+	}
+
 	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
 	{
 		int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
@@ -891,10 +1150,10 @@ public class MapImageDumper
 		}
 	}
 
-	private void loadRegions(Store store) throws IOException
+	private void loadRegions(Store store, Executor executor) throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
+		regionLoader.loadRegions(executor);
 		regionLoader.calculateBounds();
 
 		logger.info("North most region: {}", regionLoader.getLowestY().getBaseY());
@@ -953,34 +1212,34 @@ public class MapImageDumper
 	{
 		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.SPRITES);
-		final int mapsceneHash = Djb2.hash("mapscene");
 
-		for (Archive a : index.getArchives())
+		// only the mapscene sprites are drawn, so skip decoding the rest
+		Archive a = index.findArchiveByName("mapscene");
+		if (a == null)
 		{
-			byte[] contents = a.decompress(storage.loadArchive(a));
+			return;
+		}
 
-			SpriteLoader loader = new SpriteLoader();
-			SpriteDefinition[] sprites = loader.load(a.getArchiveId(), contents);
+		byte[] contents = a.decompress(storage.loadArchive(a));
 
-			for (SpriteDefinition sprite : sprites)
+		SpriteLoader loader = new SpriteLoader();
+		SpriteDefinition[] sprites = loader.load(a.getArchiveId(), contents);
+
+		for (SpriteDefinition sprite : sprites)
+		{
+			if (sprite.getHeight() <= 0 || sprite.getWidth() <= 0)
 			{
-				if (sprite.getHeight() <= 0 || sprite.getWidth() <= 0)
-				{
-					continue;
-				}
+				continue;
+			}
 
-				if (a.getNameHash() == mapsceneHash)
-				{
-					BufferedImage spriteImage = new BufferedImage(sprite.getWidth(), sprite.getHeight(), BufferedImage.TYPE_INT_ARGB);
-					spriteImage.setRGB(0, 0, sprite.getWidth(), sprite.getHeight(), sprite.getPixels(), 0, sprite.getWidth());
+			BufferedImage spriteImage = new BufferedImage(sprite.getWidth(), sprite.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			spriteImage.setRGB(0, 0, sprite.getWidth(), sprite.getHeight(), sprite.getPixels(), 0, sprite.getWidth());
 
-					// scale image down so it fits
-					Image scaledImage = spriteImage.getScaledInstance(MAPICON_MAX_WIDTH, MAPICON_MAX_HEIGHT, 0);
+			// scale image down so it fits
+			Image scaledImage = spriteImage.getScaledInstance(MAPICON_MAX_WIDTH, MAPICON_MAX_HEIGHT, 0);
 
-					assert scaledMapIcons.containsKey(sprite.getFrame()) == false;
-					scaledMapIcons.put(sprite.getFrame(), scaledImage);
-				}
-			}
+			assert scaledMapIcons.containsKey(sprite.getFrame()) == false;
+			scaledMapIcons.put(sprite.getFrame(), scaledImage);
 		}
 	}
 
@@ -24,12 +24,16 @@
  */
 package net.runelite.cache;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import net.runelite.cache.definitions.NpcDefinition;
 import net.runelite.cache.definitions.exporters.NpcExporter;
 import net.runelite.cache.definitions.loaders.NpcLoader;
@@ -40,6 +44,7 @@ import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
+import net.runelite.cache.util.ParallelLoader;
 
 public class NpcManager
 {
@@ -52,6 +57,17 @@ public class NpcManager
 	}
 
 	public void load() throws IOException
+	{
+		load(MoreExecutors.directExecutor());
+	}
+
+	/**
+	 * Load the definitions, decoding them concurrently on the executor.
+	 *
+	 * @param executor
+	 * @throws IOException
+	 */
+	public void load(Executor executor) throws IOException
 	{
 		NpcLoader loader = new NpcLoader();
 
@@ -62,10 +78,17 @@ public class NpcManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
+		List<FSFile> fileList = files.getFiles();
+		List<ParallelLoader.Task<NpcDefinition>> tasks = new ArrayList<>(fileList.size());
+		for (FSFile f : fileList)
+		{
+			tasks.add(() -> loader.load(f.getFileId(), f.getContents()));
+		}
+
+		List<NpcDefinition> defs = ParallelLoader.invokeAll(executor, tasks);
+		for (int i = 0; i < fileList.size(); ++i)
 		{
-			NpcDefinition npc = loader.load(f.getFileId(), f.getContents());
-			npcs.put(f.getFileId(), npc);
+			npcs.put(fileList.get(i).getFileId(), defs.get(i));
 		}
 	}
 
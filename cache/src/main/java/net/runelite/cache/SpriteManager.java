@@ -26,11 +26,15 @@ package net.runelite.cache;
 
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 import net.runelite.cache.definitions.SpriteDefinition;
 import net.runelite.cache.definitions.exporters.SpriteExporter;
 import net.runelite.cache.definitions.loaders.SpriteLoader;
@@ -39,6 +43,7 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.ParallelLoader;
 
 public class SpriteManager implements SpriteProvider
 {
@@ -51,17 +56,36 @@ public class SpriteManager implements SpriteProvider
 	}
 
 	public void load() throws IOException
+	{
+		load(MoreExecutors.directExecutor());
+	}
+
+	/**
+	 * Load the sprites, decompressing and decoding each archive concurrently
+	 * on the executor.
+	 *
+	 * @param executor
+	 * @throws IOException
+	 */
+	public void load(Executor executor) throws IOException
 	{
 		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.SPRITES);
 
+		List<ParallelLoader.Task<SpriteDefinition[]>> tasks = new ArrayList<>();
 		for (Archive a : index.getArchives())
 		{
-			byte[] contents = a.decompress(storage.loadArchive(a));
+			tasks.add(() ->
+			{
+				byte[] contents = a.decompress(storage.loadArchive(a));
 
-			SpriteLoader loader = new SpriteLoader();
-			SpriteDefinition[] defs = loader.load(a.getArchiveId(), contents);
+				SpriteLoader loader = new SpriteLoader();
+				return loader.load(a.getArchiveId(), contents);
+			});
+		}
 
+		for (SpriteDefinition[] defs : ParallelLoader.invokeAll(executor, tasks))
+		{
 			for (SpriteDefinition sprite : defs)
 			{
 				sprites.put(sprite.getId(), sprite);
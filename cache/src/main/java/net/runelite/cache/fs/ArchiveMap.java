@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from int keys to archives, using linear
+ * probing, which avoids boxing keys on lookup.
+ */
+class ArchiveMap
+{
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private Archive[] values;
+	private int size;
+
+	ArchiveMap()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	ArchiveMap(int expectedSize)
+	{
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2)
+		{
+			capacity <<= 1;
+		}
+
+		keys = new int[capacity];
+		values = new Archive[capacity];
+	}
+
+	private static int mix(int key)
+	{
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	Archive get(int key)
+	{
+		int mask = keys.length - 1;
+		for (int i = mix(key) & mask; values[i] != null; i = (i + 1) & mask)
+		{
+			if (keys[i] == key)
+			{
+				return values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Associate the archive with the key, if the key is not already
+	 * associated with an archive.
+	 *
+	 * @return the archive already associated with the key, or null
+	 */
+	Archive putIfAbsent(int key, Archive archive)
+	{
+		int mask = keys.length - 1;
+		int i = mix(key) & mask;
+		for (; values[i] != null; i = (i + 1) & mask)
+		{
+			if (keys[i] == key)
+			{
+				return values[i];
+			}
+		}
+
+		keys[i] = key;
+		values[i] = archive;
+
+		if (++size * 2 > keys.length)
+		{
+			resize(keys.length << 1);
+		}
+		return null;
+	}
+
+	Archive remove(int key)
+	{
+		int mask = keys.length - 1;
+		int i = mix(key) & mask;
+		for (; values[i] != null; i = (i + 1) & mask)
+		{
+			if (keys[i] == key)
+			{
+				break;
+			}
+		}
+
+		Archive removed = values[i];
+		if (removed == null)
+		{
+			return null;
+		}
+
+		// shift back the following entries in the probe sequence to fill the gap
+		for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask)
+		{
+			int home = mix(keys[j]) & mask;
+			// move the entry at j into the gap at i if its home slot is not within (i, j]
+			if (i <= j ? (home <= i || home > j) : (home <= i && home > j))
+			{
+				keys[i] = keys[j];
+				values[i] = values[j];
+				i = j;
+			}
+		}
+
+		keys[i] = 0;
+		values[i] = null;
+		--size;
+		return removed;
+	}
+
+	void clear()
+	{
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	private void resize(int capacity)
+	{
+		int[] oldKeys = keys;
+		Archive[] oldValues = values;
+
+		keys = new int[capacity];
+		values = new Archive[capacity];
+		size = 0;
+
+		for (int i = 0; i < oldKeys.length; ++i)
+		{
+			if (oldValues[i] != null)
+			{
+				putIfAbsent(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+}
@@ -27,8 +27,8 @@ package net.runelite.cache.fs;
 import static com.google.common.primitives.Bytes.concat;
 import com.google.common.primitives.Ints;
 import java.io.IOException;
+import java.util.Arrays;
 import net.runelite.cache.fs.jagex.CompressionType;
-import net.runelite.cache.io.InputStream;
 import net.runelite.cache.io.OutputStream;
 import net.runelite.cache.util.BZip2;
 import net.runelite.cache.util.Crc32;
@@ -41,6 +41,13 @@ public class Container
 {
 	private static final Logger logger = LoggerFactory.getLogger(Container.class);
 
+	private static final int HEADER_LENGTH = 5; // compression + compressed length
+
+	/**
+	 * buffer used to decrypt compressed data before decompressing it
+	 */
+	private static final ThreadLocal<byte[]> DECRYPT_BUFFER = new ThreadLocal<>();
+
 	public byte[] data;
 	public int compression; // compression
 	public int revision;
@@ -90,96 +97,68 @@ public class Container
 		this.data = stream.flip();
 	}
 
+	/**
+	 * Decompress a container. The compressed data is read in place, and with
+	 * xtea keys is decrypted into a per thread buffer, so the only array
+	 * allocated is for the decompressed data.
+	 *
+	 * @param b container data
+	 * @param keys xtea keys, or null if the container is not encrypted
+	 * @return the container
+	 * @throws IOException
+	 */
 	public static Container decompress(byte[] b, int[] keys) throws IOException
 	{
-		InputStream stream = new InputStream(b);
-
-		int compression = stream.readUnsignedByte();
-		int compressedLength = stream.readInt();
+		int compression = b[0] & 0xFF;
+		int compressedLength = Ints.fromBytes(b[1], b[2], b[3], b[4]);
 		if (compressedLength < 0 || compressedLength > 1000000)
 		{
 			throw new RuntimeException("Invalid data");
 		}
 
+		// compressed containers are prefixed with their decompressed length
+		int payloadLength = compression == CompressionType.NONE ? compressedLength : compressedLength + 4;
+		if (b.length < HEADER_LENGTH + payloadLength)
+		{
+			throw new IOException("Container data is too short");
+		}
+
 		Crc32 crc32 = new Crc32();
-		crc32.update(b, 0, 5); // compression + length
+		crc32.update(b, 0, HEADER_LENGTH + payloadLength); // compression + length + payload
 
-		byte[] data;
 		int revision = -1;
-		switch (compression)
+		if (b.length - HEADER_LENGTH - payloadLength >= 2)
 		{
-			case CompressionType.NONE:
-			{
-				byte[] encryptedData = new byte[compressedLength];
-				stream.readBytes(encryptedData, 0, compressedLength);
-
-				crc32.update(encryptedData, 0, compressedLength);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
+			int pos = HEADER_LENGTH + payloadLength;
+			revision = ((b[pos] & 0xFF) << 8) | (b[pos + 1] & 0xFF);
+		}
 
-				data = decryptedData;
+		byte[] payload = b;
+		int offset = HEADER_LENGTH;
+		if (keys != null)
+		{
+			payload = compression == CompressionType.NONE ? new byte[payloadLength] : decryptBuffer(payloadLength);
+			offset = 0;
+			System.arraycopy(b, HEADER_LENGTH, payload, 0, payloadLength);
+			Xtea.decrypt(keys, payload, 0, payloadLength);
+		}
 
+		byte[] data;
+		switch (compression)
+		{
+			case CompressionType.NONE:
+				data = keys != null ? payload : Arrays.copyOfRange(b, HEADER_LENGTH, HEADER_LENGTH + compressedLength);
 				break;
-			}
 			case CompressionType.BZ2:
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				stream = new InputStream(decryptedData);
-
-				int decompressedLength = stream.readInt();
-				data = BZip2.decompress(stream.getRemaining(), compressedLength);
-
-				if (data == null)
-				{
-					return null;
-				}
-
-				assert data.length == decompressedLength;
-
+				int decompressedLength = Ints.fromBytes(payload[offset], payload[offset + 1], payload[offset + 2], payload[offset + 3]);
+				data = BZip2.decompress(payload, offset + 4, compressedLength, decompressedLength);
 				break;
 			}
 			case CompressionType.GZ:
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				stream = new InputStream(decryptedData);
-
-				int decompressedLength = stream.readInt();
-				data = GZip.decompress(stream.getRemaining(), compressedLength);
-
-				if (data == null)
-				{
-					return null;
-				}
-
-				assert data.length == decompressedLength;
-
+				int decompressedLength = Ints.fromBytes(payload[offset], payload[offset + 1], payload[offset + 2], payload[offset + 3]);
+				data = GZip.decompress(payload, offset + 4, compressedLength, decompressedLength);
 				break;
 			}
 			default:
@@ -192,15 +171,15 @@ public class Container
 		return container;
 	}
 
-	private static byte[] decrypt(byte[] data, int length, int[] keys)
+	private static byte[] decryptBuffer(int length)
 	{
-		if (keys == null)
+		byte[] buffer = DECRYPT_BUFFER.get();
+		if (buffer == null || buffer.length < length)
 		{
-			return data;
+			buffer = new byte[length];
+			DECRYPT_BUFFER.set(buffer);
 		}
-
-		Xtea xtea = new Xtea(keys);
-		return xtea.decrypt(data, length);
+		return buffer;
 	}
 
 	private static byte[] encrypt(byte[] data, int length, int[] keys)
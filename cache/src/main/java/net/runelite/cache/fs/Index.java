@@ -47,6 +47,12 @@ public class Index
 	private int compression; // compression method of this index's data in 255
 
 	private final List<Archive> archives = new ArrayList<>();
+	// lookup tables over archives, holding the first archive in the list for each key
+	private ArchiveMap archivesById = new ArchiveMap();
+	private ArchiveMap archivesByName = new ArchiveMap();
+	// set when an archive is removed from a lookup table, as another archive
+	// with the same key may need to take its place
+	private volatile boolean lookupDirty;
 
 	public Index(int id)
 	{
@@ -145,6 +151,13 @@ public class Index
 		this.compression = compression;
 	}
 
+	/**
+	 * Get the archives of this index. The list may be reordered, but
+	 * archives must be added and removed with {@link #addArchive(int)} and
+	 * {@link #removeArchive(Archive)}.
+	 *
+	 * @return
+	 */
 	public List<Archive> getArchives()
 	{
 		return archives;
@@ -154,32 +167,84 @@ public class Index
 	{
 		Archive archive = new Archive(this, id);
 		this.archives.add(archive);
+		archivesById.putIfAbsent(id, archive);
+		archivesByName.putIfAbsent(archive.getNameHash(), archive);
 		return archive;
 	}
 
-	public Archive getArchive(int id)
+	public void removeArchive(Archive archive)
+	{
+		if (!archives.remove(archive))
+		{
+			return;
+		}
+
+		if (archivesById.get(archive.getArchiveId()) == archive)
+		{
+			archivesById.remove(archive.getArchiveId());
+			lookupDirty = true;
+		}
+		if (archivesByName.get(archive.getNameHash()) == archive)
+		{
+			archivesByName.remove(archive.getNameHash());
+			lookupDirty = true;
+		}
+	}
+
+	void nameHashChanged(Archive archive, int oldNameHash)
+	{
+		if (archivesByName.get(oldNameHash) == archive)
+		{
+			archivesByName.remove(oldNameHash);
+			lookupDirty = true;
+		}
+		archivesByName.putIfAbsent(archive.getNameHash(), archive);
+	}
+
+	private void rebuildLookup()
 	{
-		for (Archive a : archives)
+		synchronized (this)
 		{
-			if (a.getArchiveId() == id)
+			if (!lookupDirty)
 			{
-				return a;
+				return;
 			}
+
+			ArchiveMap byId = new ArchiveMap(archives.size());
+			ArchiveMap byName = new ArchiveMap(archives.size());
+			for (Archive a : archives)
+			{
+				byId.putIfAbsent(a.getArchiveId(), a);
+				byName.putIfAbsent(a.getNameHash(), a);
+			}
+
+			archivesById = byId;
+			archivesByName = byName;
+			lookupDirty = false;
 		}
-		return null;
+	}
+
+	public Archive getArchive(int id)
+	{
+		if (lookupDirty)
+		{
+			rebuildLookup();
+		}
+		return archivesById.get(id);
 	}
 
 	public Archive findArchiveByName(String name)
 	{
-		int hash = Djb2.hash(name);
-		for (Archive a : archives)
+		return findArchiveByNameHash(Djb2.hash(name));
+	}
+
+	public Archive findArchiveByNameHash(int nameHash)
+	{
+		if (lookupDirty)
 		{
-			if (a.getNameHash() == hash)
-			{
-				return a;
-			}
+			rebuildLookup();
 		}
-		return null;
+		return archivesByName.get(nameHash);
 	}
 
 	public IndexData toIndexData()
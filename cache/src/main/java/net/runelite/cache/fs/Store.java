@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.fs.jagex.DiskStorage;
 import org.slf4j.Logger;
@@ -121,6 +122,18 @@ public final class Store implements Closeable
 		storage.load(this);
 	}
 
+	/**
+	 * Load the store, decoding each index concurrently on the executor.
+	 * This produces the same indexes and archives as {@link #load()}.
+	 *
+	 * @param executor
+	 * @throws IOException
+	 */
+	public void loadParallel(Executor executor) throws IOException
+	{
+		storage.load(this, executor);
+	}
+
 	public void save() throws IOException
 	{
 		storage.save(this);
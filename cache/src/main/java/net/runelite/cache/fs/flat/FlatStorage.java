@@ -24,7 +24,13 @@
  */
 package net.runelite.cache.fs.flat;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -33,8 +39,15 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -49,22 +62,48 @@ import net.runelite.cache.index.FileData;
 /**
  * A Storage that stores the cache as a series of flat files, designed
  * to be git revisioned.
+ * <p>
+ * Indexes may also be stored in a binary format, which has a table of
+ * archive offsets and is kept open after load, so archive contents are
+ * only read when they are requested. Either format is read on load, and
+ * save writes the format the storage was created with, so loading with one
+ * storage and saving with another converts between them.
  */
 public class FlatStorage implements Storage
 {
 	protected static final String EXTENSION = ".flatcache";
+	protected static final String BINARY_EXTENSION = ".flatcachebin";
+
+	private static final int BINARY_MAGIC = 0x464c4342; // FLCB
+	private static final int BINARY_VERSION = 1;
+	// magic, version, protocol, revision, compression, crc, named, archive count
+	private static final int BINARY_HEADER_LENGTH = 4 + 1 + 4 + 4 + 1 + 4 + 1 + 4;
 
 	private final File directory;
+	private final boolean binary;
 	private final Map<Long, byte[]> data = new HashMap<>();
+	private final Map<Integer, BinaryIndex> binaryIndexes = new HashMap<>();
 
 	public FlatStorage(File directory) throws IOException
+	{
+		this(directory, false);
+	}
+
+	/**
+	 * @param directory directory containing the flat files
+	 * @param binary whether to save indexes in the binary format
+	 * @throws IOException
+	 */
+	public FlatStorage(File directory, boolean binary) throws IOException
 	{
 		this.directory = directory;
+		this.binary = binary;
 	}
 
 	protected FlatStorage()
 	{
 		this.directory = null;
+		this.binary = false;
 	}
 
 	protected InputStream openReader(String filename) throws IOException
@@ -79,7 +118,12 @@ public class FlatStorage implements Storage
 
 	protected String[] listFlatcacheFiles() throws IOException
 	{
-		return directory.list((dir, name) -> name.endsWith(EXTENSION));
+		return directory.list((dir, name) -> name.endsWith(EXTENSION) || name.endsWith(BINARY_EXTENSION));
+	}
+
+	private File binaryFile(int indexId)
+	{
+		return directory == null ? null : new File(directory, indexId + BINARY_EXTENSION);
 	}
 
 	@Override
@@ -88,14 +132,23 @@ public class FlatStorage implements Storage
 		String[] idxs = listFlatcacheFiles();
 		for (String idx : idxs)
 		{
-			int id = Integer.parseInt(idx.substring(0, idx.length() - EXTENSION.length()));
-			store.addIndex(id);
+			String extension = idx.endsWith(BINARY_EXTENSION) ? BINARY_EXTENSION : EXTENSION;
+			int id = Integer.parseInt(idx.substring(0, idx.length() - extension.length()));
+			if (store.findIndex(id) == null)
+			{
+				store.addIndex(id);
+			}
 		}
 	}
 
 	@Override
 	public void close() throws IOException
 	{
+		for (BinaryIndex binaryIndex : binaryIndexes.values())
+		{
+			binaryIndex.close();
+		}
+		binaryIndexes.clear();
 	}
 
 	@Override
@@ -103,107 +156,214 @@ public class FlatStorage implements Storage
 	{
 		for (Index idx : store.getIndexes())
 		{
-			String file = idx.getId() + EXTENSION;
-			try (BufferedReader br = new BufferedReader(new InputStreamReader(openReader(file), StandardCharsets.UTF_8)))
+			File binaryFile = binaryFile(idx.getId());
+			if (binaryFile != null && binaryFile.exists())
+			{
+				loadBinary(idx, binaryFile);
+			}
+			else
+			{
+				loadText(idx);
+			}
+		}
+	}
+
+	private void loadText(Index idx) throws IOException
+	{
+		String file = idx.getId() + EXTENSION;
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(openReader(file), StandardCharsets.UTF_8)))
+		{
+			int lineNo = 0;
+			Archive archive = null;
+			List<FileData> fileData = null;
+			for (String line = br.readLine(); line != null; line = br.readLine())
 			{
-				int lineNo = 0;
-				Archive archive = null;
-				List<FileData> fileData = null;
-				for (String line = br.readLine(); line != null; line = br.readLine())
+				lineNo++;
+
+				try
 				{
-					lineNo++;
+					int lidx = line.indexOf('=');
+					String key = line.substring(0, lidx);
+					String value = line.substring(lidx + 1);
 
-					try
+					if ("file".equals(key))
 					{
-						int lidx = line.indexOf('=');
-						String key = line.substring(0, lidx);
-						String value = line.substring(lidx + 1);
-
-						if ("file".equals(key))
+						if (fileData == null)
 						{
-							if (fileData == null)
-							{
-								fileData = new ArrayList<>();
-							}
-
-							int vidx = value.indexOf('=');
-							FileData fd = new FileData();
-							fd.setId(Integer.parseInt(value.substring(0, vidx)));
-							fd.setNameHash(Integer.parseInt(value.substring(vidx + 1)));
-							fileData.add(fd);
-							continue;
-						}
-						else if (fileData != null)
-						{
-							archive.setFileData(fileData.toArray(new FileData[0]));
-							fileData = null;
+							fileData = new ArrayList<>();
 						}
 
-						if ("id".equals(key))
-						{
-							archive = idx.addArchive(Integer.parseInt(value));
-							continue;
-						}
+						int vidx = value.indexOf('=');
+						FileData fd = new FileData();
+						fd.setId(Integer.parseInt(value.substring(0, vidx)));
+						fd.setNameHash(Integer.parseInt(value.substring(vidx + 1)));
+						fileData.add(fd);
+						continue;
+					}
+					else if (fileData != null)
+					{
+						archive.setFileData(fileData.toArray(new FileData[0]));
+						fileData = null;
+					}
 
-						if (archive == null)
-						{
-							switch (key)
-							{
-								case "protocol":
-									idx.setProtocol(Integer.parseInt(value));
-									continue;
-								case "revision":
-									idx.setRevision(Integer.parseInt(value));
-									continue;
-								case "compression":
-									idx.setCompression(Integer.parseInt(value));
-									continue;
-								case "crc":
-									idx.setCrc(Integer.parseInt(value));
-									continue;
-								case "named":
-									idx.setNamed(Boolean.parseBoolean(value));
-									continue;
-							}
-						}
-						else
+					if ("id".equals(key))
+					{
+						archive = idx.addArchive(Integer.parseInt(value));
+						continue;
+					}
+
+					if (archive == null)
+					{
+						switch (key)
 						{
-							switch (key)
-							{
-								case "namehash":
-									archive.setNameHash(Integer.parseInt(value));
-									continue;
-								case "revision":
-									archive.setRevision(Integer.parseInt(value));
-									continue;
-								case "crc":
-									archive.setCrc(Integer.parseInt(value));
-									continue;
-								case "hash":
-									archive.setHash(Base64.getDecoder().decode(value));
-									continue;
-								case "compression":
-									archive.setCompression(Integer.parseInt(value));
-									continue;
-								case "contents":
-									data.put((long) idx.getId() << 32 | archive.getArchiveId(), Base64.getDecoder().decode(value));
-									continue;
-							}
+							case "protocol":
+								idx.setProtocol(Integer.parseInt(value));
+								continue;
+							case "revision":
+								idx.setRevision(Integer.parseInt(value));
+								continue;
+							case "compression":
+								idx.setCompression(Integer.parseInt(value));
+								continue;
+							case "crc":
+								idx.setCrc(Integer.parseInt(value));
+								continue;
+							case "named":
+								idx.setNamed(Boolean.parseBoolean(value));
+								continue;
 						}
-						throw new IOException("unknown key: \"" + key + "\"");
 					}
-					catch (Exception e)
+					else
 					{
-						throw new IOException("error reading flatcache at " + file + ":" + lineNo, e);
+						switch (key)
+						{
+							case "namehash":
+								archive.setNameHash(Integer.parseInt(value));
+								continue;
+							case "revision":
+								archive.setRevision(Integer.parseInt(value));
+								continue;
+							case "crc":
+								archive.setCrc(Integer.parseInt(value));
+								continue;
+							case "hash":
+								archive.setHash(Base64.getDecoder().decode(value));
+								continue;
+							case "compression":
+								archive.setCompression(Integer.parseInt(value));
+								continue;
+							case "contents":
+								data.put((long) idx.getId() << 32 | archive.getArchiveId(), Base64.getDecoder().decode(value));
+								continue;
+						}
 					}
+					throw new IOException("unknown key: \"" + key + "\"");
+				}
+				catch (Exception e)
+				{
+					throw new IOException("error reading flatcache at " + file + ":" + lineNo, e);
 				}
+			}
+
+			if (fileData != null)
+			{
+				archive.setFileData(fileData.toArray(new FileData[0]));
+				fileData = null;
+			}
+		}
+	}
+
+	private void loadBinary(Index idx, File file) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try
+		{
+			// the stream is not closed, as the channel is kept open to read the archive contents
+			DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			if (in.readInt() != BINARY_MAGIC)
+			{
+				throw new IOException("not a binary flatcache");
+			}
+
+			int version = in.readUnsignedByte();
+			if (version != BINARY_VERSION)
+			{
+				throw new IOException("unsupported binary flatcache version " + version);
+			}
+
+			// the index is only updated once the whole table has been read
+			int protocol = in.readInt();
+			int revision = in.readInt();
+			int compression = in.readUnsignedByte();
+			int crc = in.readInt();
+			boolean named = in.readBoolean();
 
-				if (fileData != null)
+			int count = in.readInt();
+			int[] ids = new int[count];
+			int[] offsets = new int[count];
+			int[] lengths = new int[count];
+			Archive[] archives = new Archive[count];
+
+			for (int i = 0; i < count; ++i)
+			{
+				int id = in.readInt();
+				if (i > 0 && id <= ids[i - 1])
 				{
-					archive.setFileData(fileData.toArray(new FileData[0]));
-					fileData = null;
+					throw new IOException("archives are not sorted");
 				}
+
+				Archive archive = archives[i] = new Archive(idx, id);
+				archive.setNameHash(in.readInt());
+				archive.setRevision(in.readInt());
+				archive.setCrc(in.readInt());
+				archive.setCompression(in.readUnsignedByte());
+
+				int hashLength = in.readUnsignedByte();
+				if (hashLength > 0)
+				{
+					byte[] hash = new byte[hashLength];
+					in.readFully(hash);
+					archive.setHash(hash);
+				}
+
+				ids[i] = id;
+				offsets[i] = in.readInt();
+				lengths[i] = in.readInt();
+
+				FileData[] fileData = new FileData[in.readInt()];
+				for (int j = 0; j < fileData.length; ++j)
+				{
+					FileData fd = new FileData();
+					fd.setId(in.readInt());
+					fd.setNameHash(in.readInt());
+					fileData[j] = fd;
+				}
+				archive.setFileData(fileData);
 			}
+
+			idx.setProtocol(protocol);
+			idx.setRevision(revision);
+			idx.setCompression(compression);
+			idx.setCrc(crc);
+			idx.setNamed(named);
+
+			for (Archive parsed : archives)
+			{
+				Archive archive = idx.addArchive(parsed.getArchiveId());
+				archive.setNameHash(parsed.getNameHash());
+				archive.setRevision(parsed.getRevision());
+				archive.setCrc(parsed.getCrc());
+				archive.setCompression(parsed.getCompression());
+				archive.setHash(parsed.getHash());
+				archive.setFileData(parsed.getFileData());
+			}
+
+			binaryIndexes.put(idx.getId(), new BinaryIndex(channel, ids, offsets, lengths));
+		}
+		catch (IOException | NegativeArraySizeException e)
+		{
+			channel.close();
+			throw new IOException("error reading binary flatcache " + file, e);
 		}
 	}
 
@@ -213,52 +373,195 @@ public class FlatStorage implements Storage
 		store.getIndexes().sort(Comparator.comparing(Index::getId));
 		for (Index idx : store.getIndexes())
 		{
-			String file = idx.getId() + EXTENSION;
-			try (PrintStream br = new PrintStream(openWriter(file), false, StandardCharsets.UTF_8.name()))
+			if (binary)
 			{
-				br.printf("protocol=%d\n", idx.getProtocol());
-				br.printf("revision=%d\n", idx.getRevision());
-				br.printf("compression=%d\n", idx.getCompression());
-				br.printf("crc=%d\n", idx.getCrc());
-				br.printf("named=%b\n", idx.isNamed());
-
-				idx.getArchives().sort(Comparator.comparing(Archive::getArchiveId));
-				for (Archive archive : idx.getArchives())
+				saveBinary(store, idx);
+			}
+			else
+			{
+				saveText(store, idx);
+			}
+		}
+	}
+
+	private void saveText(Store store, Index idx) throws IOException
+	{
+		String file = idx.getId() + EXTENSION;
+		try (PrintStream br = new PrintStream(openWriter(file), false, StandardCharsets.UTF_8.name()))
+		{
+			br.printf("protocol=%d\n", idx.getProtocol());
+			br.printf("revision=%d\n", idx.getRevision());
+			br.printf("compression=%d\n", idx.getCompression());
+			br.printf("crc=%d\n", idx.getCrc());
+			br.printf("named=%b\n", idx.isNamed());
+
+			idx.getArchives().sort(Comparator.comparing(Archive::getArchiveId));
+			for (Archive archive : idx.getArchives())
+			{
+				br.printf("id=%d\n", archive.getArchiveId());
+				br.printf("namehash=%d\n", archive.getNameHash());
+				br.printf("revision=%d\n", archive.getRevision());
+				br.printf("crc=%d\n", archive.getCrc());
+
+				if (archive.getHash() != null)
+				{
+					br.append("hash=");
+					br.write(Base64.getEncoder().encode(archive.getHash()));
+					br.append("\n");
+				}
+
+				byte[] contents = store.getStorage().loadArchive(archive);
+				if (contents != null)
 				{
-					br.printf("id=%d\n", archive.getArchiveId());
-					br.printf("namehash=%d\n", archive.getNameHash());
-					br.printf("revision=%d\n", archive.getRevision());
-					br.printf("crc=%d\n", archive.getCrc());
+					br.append("contents=");
+					br.write(Base64.getEncoder().encode(contents));
+					br.append("\n");
+				}
 
-					if (archive.getHash() != null)
-					{
-						br.append("hash=");
-						br.write(Base64.getEncoder().encode(archive.getHash()));
-						br.append("\n");
-					}
+				br.printf("compression=%d\n", archive.getCompression());
+				for (FileData fd : archive.getFileData())
+				{
+					br.printf("file=%d=%d\n", fd.getId(), fd.getNameHash());
+				}
+			}
+		}
+
+		// the binary format takes precedence on load, so remove the stale copy
+		File binaryFile = binaryFile(idx.getId());
+		if (binaryFile != null)
+		{
+			Files.deleteIfExists(binaryFile.toPath());
+		}
+	}
 
-					byte[] contents = store.getStorage().loadArchive(archive);
-					if (contents != null)
+	private void saveBinary(Store store, Index idx) throws IOException
+	{
+		if (directory == null)
+		{
+			throw new IOException("binary flatcaches can only be saved to a directory");
+		}
+
+		idx.getArchives().sort(Comparator.comparing(Archive::getArchiveId));
+		List<Archive> archives = idx.getArchives();
+
+		byte[][] contents = new byte[archives.size()][];
+		int[] ids = new int[archives.size()];
+		int[] offsets = new int[archives.size()];
+		int[] lengths = new int[archives.size()];
+		long offset = BINARY_HEADER_LENGTH;
+		for (int i = 0; i < archives.size(); ++i)
+		{
+			Archive archive = archives.get(i);
+			contents[i] = store.getStorage().loadArchive(archive);
+
+			byte[] hash = archive.getHash();
+			offset += 4 + 4 + 4 + 4 + 1 // id, name hash, revision, crc, compression
+				+ 1 + (hash != null ? hash.length : 0)
+				+ 4 + 4 // contents offset and length
+				+ 4 + archive.getFileData().length * 8;
+		}
+
+		File file = binaryFile(idx.getId());
+		File tmp = new File(directory, file.getName() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))
+		{
+			out.writeInt(BINARY_MAGIC);
+			out.writeByte(BINARY_VERSION);
+			out.writeInt(idx.getProtocol());
+			out.writeInt(idx.getRevision());
+			out.writeByte(idx.getCompression());
+			out.writeInt(idx.getCrc());
+			out.writeBoolean(idx.isNamed());
+			out.writeInt(archives.size());
+
+			for (int i = 0; i < archives.size(); ++i)
+			{
+				Archive archive = archives.get(i);
+				out.writeInt(archive.getArchiveId());
+				out.writeInt(archive.getNameHash());
+				out.writeInt(archive.getRevision());
+				out.writeInt(archive.getCrc());
+				out.writeByte(archive.getCompression());
+
+				byte[] hash = archive.getHash();
+				if (hash != null)
+				{
+					if (hash.length > 255)
 					{
-						br.append("contents=");
-						br.write(Base64.getEncoder().encode(contents));
-						br.append("\n");
+						throw new IOException("archive hash is too long");
 					}
 
-					br.printf("compression=%d\n", archive.getCompression());
-					for (FileData fd : archive.getFileData())
+					out.writeByte(hash.length);
+					out.write(hash);
+				}
+				else
+				{
+					out.writeByte(0);
+				}
+
+				if (contents[i] != null)
+				{
+					if (offset + contents[i].length > Integer.MAX_VALUE)
 					{
-						br.printf("file=%d=%d\n", fd.getId(), fd.getNameHash());
+						throw new IOException("index " + idx.getId() + " is too large for a binary flatcache");
 					}
+
+					offsets[i] = (int) offset;
+					lengths[i] = contents[i].length;
+					offset += contents[i].length;
+				}
+				else
+				{
+					lengths[i] = -1;
+				}
+
+				ids[i] = archive.getArchiveId();
+				out.writeInt(offsets[i]);
+				out.writeInt(lengths[i]);
+
+				out.writeInt(archive.getFileData().length);
+				for (FileData fd : archive.getFileData())
+				{
+					out.writeInt(fd.getId());
+					out.writeInt(fd.getNameHash());
+				}
+			}
+
+			for (byte[] b : contents)
+			{
+				if (b != null)
+				{
+					out.write(b);
 				}
 			}
 		}
+
+		// some platforms can't replace a file which is open, so close the existing one first. The
+		// contents have all been read, and the new file is opened in its place once it is written.
+		BinaryIndex previous = binaryIndexes.remove(idx.getId());
+		if (previous != null)
+		{
+			previous.close();
+		}
+
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		Files.deleteIfExists(new File(directory, idx.getId() + EXTENSION).toPath());
+
+		binaryIndexes.put(idx.getId(), new BinaryIndex(FileChannel.open(file.toPath(), StandardOpenOption.READ), ids, offsets, lengths));
 	}
 
 	@Override
 	public byte[] loadArchive(Archive archive) throws IOException
 	{
-		return data.get((long) archive.getIndex().getId() << 32 | archive.getArchiveId());
+		byte[] contents = data.get((long) archive.getIndex().getId() << 32 | archive.getArchiveId());
+		if (contents != null)
+		{
+			return contents;
+		}
+
+		BinaryIndex binaryIndex = binaryIndexes.get(archive.getIndex().getId());
+		return binaryIndex != null ? binaryIndex.read(archive.getArchiveId()) : null;
 	}
 
 	@Override
@@ -266,4 +569,47 @@ public class FlatStorage implements Storage
 	{
 		data.put((long) archive.getIndex().getId() << 32 | archive.getArchiveId(), bytes);
 	}
+
+	private static class BinaryIndex implements Closeable
+	{
+		private final FileChannel channel;
+		private final int[] ids;
+		private final int[] offsets;
+		private final int[] lengths;
+
+		BinaryIndex(FileChannel channel, int[] ids, int[] offsets, int[] lengths)
+		{
+			this.channel = channel;
+			this.ids = ids;
+			this.offsets = offsets;
+			this.lengths = lengths;
+		}
+
+		byte[] read(int archiveId) throws IOException
+		{
+			int i = Arrays.binarySearch(ids, archiveId);
+			if (i < 0 || lengths[i] < 0)
+			{
+				return null;
+			}
+
+			byte[] b = new byte[lengths[i]];
+			// positional reads don't share the channel position, so concurrent reads are safe
+			ByteBuffer buf = ByteBuffer.wrap(b);
+			while (buf.hasRemaining())
+			{
+				if (channel.read(buf, offsets[i] + buf.position()) == -1)
+				{
+					throw new EOFException("archive " + archiveId + " is truncated");
+				}
+			}
+			return b;
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			channel.close();
+		}
+	}
 }
@@ -24,12 +24,16 @@
  */
 package net.runelite.cache.fs.jagex;
 
+import com.google.common.primitives.Ints;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.BitSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,12 +42,65 @@ public class DataFile implements Closeable
 	private static final Logger logger = LoggerFactory.getLogger(DataFile.class);
 
 	private static final int SECTOR_SIZE = 520;
+	/**
+	 * number of sectors in each mapped chunk, so a sector never spans two chunks
+	 */
+	private static final int SECTORS_PER_CHUNK = Integer.MAX_VALUE / SECTOR_SIZE;
 
 	private final RandomAccessFile dat;
+	/**
+	 * memory mapped chunks of the file, only used when opened read only
+	 */
+	private final ByteBuffer[] chunks;
+	private final long length;
+	/**
+	 * sectors which are no longer used by any archive, and may be reused
+	 */
+	private final BitSet freeSectors = new BitSet();
 
 	public DataFile(File file) throws FileNotFoundException
 	{
 		this.dat = new RandomAccessFile(file, "rw");
+		this.chunks = null;
+		this.length = -1L;
+	}
+
+	/**
+	 * Open a data file. If readOnly is set the file is memory mapped, and
+	 * reads are done directly from the mapping without locking.
+	 *
+	 * @param file
+	 * @param readOnly
+	 * @throws IOException
+	 */
+	public DataFile(File file, boolean readOnly) throws IOException
+	{
+		if (!readOnly)
+		{
+			this.dat = new RandomAccessFile(file, "rw");
+			this.chunks = null;
+			this.length = -1L;
+			return;
+		}
+
+		this.dat = new RandomAccessFile(file, "r");
+		this.length = dat.length();
+
+		long chunkSize = (long) SECTORS_PER_CHUNK * SECTOR_SIZE;
+		int numChunks = (int) ((length + chunkSize - 1) / chunkSize);
+		this.chunks = new ByteBuffer[numChunks];
+
+		FileChannel channel = dat.getChannel();
+		for (int i = 0; i < numChunks; ++i)
+		{
+			long offset = i * chunkSize;
+			chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(chunkSize, length - offset));
+		}
+	}
+
+	public boolean isReadOnly()
+	{
+		return chunks != null;
 	}
 
 	@Override
@@ -52,9 +109,11 @@ public class DataFile implements Closeable
 		dat.close();
 	}
 
-	public void clear() throws IOException
+	public synchronized void clear() throws IOException
 	{
+		checkWritable();
 		dat.setLength(0L);
+		freeSectors.clear();
 	}
 
 	/**
@@ -66,7 +125,17 @@ public class DataFile implements Closeable
 	 * @return
 	 * @throws IOException
 	 */
-	public synchronized byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		if (chunks != null)
+		{
+			return readMapped(indexId, archiveId, sector, size);
+		}
+
+		return readFile(indexId, archiveId, sector, size);
+	}
+
+	private synchronized byte[] readFile(int indexId, int archiveId, int sector, int size) throws IOException
 	{
 		if (sector <= 0L || dat.length() / SECTOR_SIZE < (long) sector)
 		{
@@ -169,33 +238,293 @@ public class DataFile implements Closeable
 		return buffer.array();
 	}
 
+	private byte[] readMapped(int indexId, int archiveId, int sector, int size)
+	{
+		if (sector <= 0L || length / SECTOR_SIZE < (long) sector)
+		{
+			logger.warn("bad read, dat length {}, requested sector {}", length, sector);
+			return null;
+		}
+
+		byte[] data = new byte[size];
+		boolean largeArchive = archiveId > 0xFFFF;
+		int headerSize = largeArchive ? 10 : 8;
+
+		for (int part = 0, readBytesCount = 0, nextSector;
+			size > readBytesCount;
+			sector = nextSector)
+		{
+			if (sector == 0)
+			{
+				logger.warn("Unexpected end of file");
+				return null;
+			}
+
+			int dataBlockSize = Math.min(size - readBytesCount, SECTOR_SIZE - headerSize);
+			if ((long) SECTOR_SIZE * sector + headerSize + dataBlockSize > length)
+			{
+				logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+				return null;
+			}
+
+			ByteBuffer chunk = chunks[sector / SECTORS_PER_CHUNK];
+			int pos = (sector % SECTORS_PER_CHUNK) * SECTOR_SIZE;
+
+			int currentIndex;
+			int currentPart;
+			int currentArchive;
+			if (largeArchive)
+			{
+				currentArchive = chunk.getInt(pos);
+				currentPart = chunk.getShort(pos + 4) & 0xFFFF;
+				nextSector = ((chunk.get(pos + 6) & 0xFF) << 16)
+					| ((chunk.get(pos + 7) & 0xFF) << 8)
+					| (chunk.get(pos + 8) & 0xFF);
+				currentIndex = chunk.get(pos + 9) & 0xFF;
+			}
+			else
+			{
+				currentArchive = chunk.getShort(pos) & 0xFFFF;
+				currentPart = chunk.getShort(pos + 2) & 0xFFFF;
+				nextSector = ((chunk.get(pos + 4) & 0xFF) << 16)
+					| ((chunk.get(pos + 5) & 0xFF) << 8)
+					| (chunk.get(pos + 6) & 0xFF);
+				currentIndex = chunk.get(pos + 7) & 0xFF;
+			}
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
+					archiveId, currentArchive,
+					part, currentPart,
+					indexId, currentIndex);
+				return null;
+			}
+
+			if (nextSector < 0 || length / SECTOR_SIZE < (long) nextSector)
+			{
+				logger.warn("Invalid next sector");
+				return null;
+			}
+
+			// the mapping is shared between threads, so copy using a private view of it
+			ByteBuffer view = chunk.duplicate();
+			view.position(pos + headerSize);
+			view.get(data, readBytesCount, dataBlockSize);
+			readBytesCount += dataBlockSize;
+
+			++part;
+		}
+
+		return data;
+	}
+
+	/**
+	 * Write an archive to the data file. Free sectors are reused if there
+	 * are any, preferring a run of contiguous free sectors, otherwise the
+	 * archive is appended to the end of the file.
+	 *
+	 * @param indexId
+	 * @param archiveId
+	 * @param compressedData
+	 * @return
+	 * @throws IOException
+	 */
 	public synchronized DataFileWriteResult write(int indexId, int archiveId, byte[] compressedData) throws IOException
 	{
-		int sector;
-		int startSector;
+		checkWritable();
 
-		byte[] writeBuffer = new byte[SECTOR_SIZE];
-		ByteBuffer data = ByteBuffer.wrap(compressedData);
+		int[] sectors = allocate(sectorCount(archiveId, compressedData.length));
+		return writeSectors(indexId, archiveId, compressedData, sectors);
+	}
 
-		sector = (int) ((dat.length() + (long) (SECTOR_SIZE - 1)) / (long) SECTOR_SIZE);
+	/**
+	 * Overwrite an archive in place, if it fits within the sectors of the
+	 * existing archive. Any sectors of the existing archive which are no
+	 * longer needed are freed. If the archive does not fit, it is written
+	 * elsewhere and the existing archive is left intact.
+	 * <p>
+	 * The existing archive is unreadable if the write is interrupted.
+	 *
+	 * @param indexId
+	 * @param archiveId
+	 * @param compressedData
+	 * @param sector first sector of the existing archive
+	 * @param size size of the existing archive
+	 * @return
+	 * @throws IOException
+	 */
+	public synchronized DataFileWriteResult overwrite(int indexId, int archiveId, byte[] compressedData, int sector, int size) throws IOException
+	{
+		checkWritable();
+
+		int count = sectorCount(archiveId, compressedData.length);
+		int[] chain = readChain(indexId, archiveId, sector, size);
+		if (chain == null || chain.length < count)
+		{
+			return write(indexId, archiveId, compressedData);
+		}
+
+		DataFileWriteResult res = writeSectors(indexId, archiveId, compressedData, Arrays.copyOf(chain, count));
+		for (int i = count; i < chain.length; ++i)
+		{
+			freeSectors.set(chain[i]);
+		}
+		return res;
+	}
+
+	/**
+	 * Mark the sectors of an archive as free, so they may be reused by
+	 * later writes. The archive must no longer be referenced by an index.
+	 *
+	 * @param indexId
+	 * @param archiveId
+	 * @param sector first sector of the archive
+	 * @param size size of the archive
+	 * @throws IOException
+	 */
+	public synchronized void free(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		checkWritable();
+
+		int[] chain = readChain(indexId, archiveId, sector, size);
+		if (chain == null)
+		{
+			logger.warn("Not freeing invalid sector chain for {}/{} at sector {}", indexId, archiveId, sector);
+			return;
+		}
+
+		for (int s : chain)
+		{
+			freeSectors.set(s);
+		}
+	}
+
+	/**
+	 * @return the number of free sectors available for reuse
+	 */
+	public synchronized int getFreeSectorCount()
+	{
+		return freeSectors.cardinality();
+	}
+
+	private static int sectorCount(int archiveId, int length)
+	{
+		int blockSize = archiveId > 0xFFFF ? SECTOR_SIZE - 10 : SECTOR_SIZE - 8;
+		return (length + blockSize - 1) / blockSize;
+	}
+
+	/**
+	 * Choose sectors to write an archive of the given number of sectors to.
+	 * The first run of enough contiguous free sectors is used, otherwise the
+	 * lowest free sectors are used, followed by sectors appended to the file.
+	 */
+	private int[] allocate(int count) throws IOException
+	{
+		int[] sectors = new int[count];
+
+		for (int start = freeSectors.nextSetBit(0); start != -1 && count > 0; )
+		{
+			int end = freeSectors.nextClearBit(start);
+			if (end - start >= count)
+			{
+				for (int i = 0; i < count; ++i)
+				{
+					sectors[i] = start + i;
+				}
+				freeSectors.clear(start, start + count);
+				return sectors;
+			}
+			start = freeSectors.nextSetBit(end);
+		}
+
+		int i = 0;
+		for (int s = freeSectors.nextSetBit(0); s != -1 && i < count; s = freeSectors.nextSetBit(s + 1))
+		{
+			sectors[i++] = s;
+			freeSectors.clear(s);
+		}
+
+		int sector = (int) ((dat.length() + (long) (SECTOR_SIZE - 1)) / (long) SECTOR_SIZE);
 		if (sector == 0)
 		{
 			sector = 1;
 		}
-		startSector = sector;
+
+		while (i < count)
+		{
+			sectors[i++] = sector++;
+		}
+		return sectors;
+	}
+
+	/**
+	 * Follow the sector chain of an archive, checking each sector belongs to it.
+	 *
+	 * @return the sectors of the archive, or null if the chain is invalid
+	 */
+	private int[] readChain(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		long fileLength = dat.length();
+		boolean largeArchive = archiveId > 0xFFFF;
+		int headerSize = largeArchive ? 10 : 8;
+		byte[] header = new byte[headerSize];
+
+		int[] chain = new int[sectorCount(archiveId, size)];
+		for (int part = 0; part < chain.length; ++part)
+		{
+			// the last sector of the file may be partially written
+			if (sector <= 0 || (long) SECTOR_SIZE * sector + headerSize > fileLength)
+			{
+				return null;
+			}
+
+			dat.seek((long) SECTOR_SIZE * sector);
+			dat.readFully(header);
+
+			int currentArchive;
+			int currentPart;
+			int nextSector;
+			int currentIndex;
+			if (largeArchive)
+			{
+				currentArchive = Ints.fromBytes(header[0], header[1], header[2], header[3]);
+				currentPart = ((header[4] & 0xFF) << 8) | (header[5] & 0xFF);
+				nextSector = ((header[6] & 0xFF) << 16) | ((header[7] & 0xFF) << 8) | (header[8] & 0xFF);
+				currentIndex = header[9] & 0xFF;
+			}
+			else
+			{
+				currentArchive = ((header[0] & 0xFF) << 8) | (header[1] & 0xFF);
+				currentPart = ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+				nextSector = ((header[4] & 0xFF) << 16) | ((header[5] & 0xFF) << 8) | (header[6] & 0xFF);
+				currentIndex = header[7] & 0xFF;
+			}
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				return null;
+			}
+
+			chain[part] = sector;
+			sector = nextSector;
+		}
+		return chain;
+	}
+
+	private DataFileWriteResult writeSectors(int indexId, int archiveId, byte[] compressedData, int[] sectors) throws IOException
+	{
+		byte[] writeBuffer = new byte[SECTOR_SIZE];
+		ByteBuffer data = ByteBuffer.wrap(compressedData);
 
 		for (int part = 0; data.hasRemaining(); ++part)
 		{
-			int nextSector = sector + 1; // we always just append sectors
+			int sector = sectors[part];
+			int nextSector = part + 1 < sectors.length ? sectors[part + 1] : 0;
 			int dataToWrite;
 
 			if (0xFFFF < archiveId)
 			{
-				if (data.remaining() <= 510)
-				{
-					nextSector = 0;
-				}
-
 				writeBuffer[0] = (byte) (archiveId >> 24);
 				writeBuffer[1] = (byte) (archiveId >> 16);
 				writeBuffer[2] = (byte) (archiveId >> 8);
@@ -206,7 +535,7 @@ public class DataFile implements Closeable
 				writeBuffer[7] = (byte) (nextSector >> 8);
 				writeBuffer[8] = (byte) nextSector;
 				writeBuffer[9] = (byte) indexId;
-				dat.seek(SECTOR_SIZE * sector);
+				dat.seek((long) SECTOR_SIZE * sector);
 				dat.write(writeBuffer, 0, 10);
 
 				dataToWrite = data.remaining();
@@ -217,11 +546,6 @@ public class DataFile implements Closeable
 			}
 			else
 			{
-				if (data.remaining() <= 512)
-				{
-					nextSector = 0;
-				}
-
 				writeBuffer[0] = (byte) (archiveId >> 8);
 				writeBuffer[1] = (byte) archiveId;
 				writeBuffer[2] = (byte) (part >> 8);
@@ -230,7 +554,7 @@ public class DataFile implements Closeable
 				writeBuffer[5] = (byte) (nextSector >> 8);
 				writeBuffer[6] = (byte) nextSector;
 				writeBuffer[7] = (byte) indexId;
-				dat.seek(SECTOR_SIZE * sector);
+				dat.seek((long) SECTOR_SIZE * sector);
 				dat.write(writeBuffer, 0, 8);
 
 				dataToWrite = data.remaining();
@@ -242,12 +566,19 @@ public class DataFile implements Closeable
 
 			data.get(writeBuffer, 0, dataToWrite);
 			dat.write(writeBuffer, 0, dataToWrite);
-			sector = nextSector;
 		}
 
 		DataFileWriteResult res = new DataFileWriteResult();
-		res.sector = startSector;
+		res.sector = sectors.length > 0 ? sectors[0] : 0;
 		res.compressedLength = compressedData.length;
 		return res;
 	}
+
+	private void checkWritable() throws IOException
+	{
+		if (chunks != null)
+		{
+			throw new IOException("data file is read only");
+		}
+	}
 }
@@ -25,11 +25,25 @@
 package net.runelite.cache.fs.jagex;
 
 import com.google.common.primitives.Ints;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
@@ -38,6 +52,7 @@ import net.runelite.cache.fs.Store;
 import net.runelite.cache.index.ArchiveData;
 import net.runelite.cache.index.IndexData;
 import net.runelite.cache.util.Crc32;
+import net.runelite.cache.util.ParallelLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,19 +62,78 @@ public class DiskStorage implements Storage
 
 	private static final String MAIN_FILE_CACHE_DAT = "main_file_cache.dat2";
 	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
+	private static final String COMPACT_JOURNAL = "main_file_cache.compact";
 
 	private final File folder;
+	private final boolean readOnly;
 
-	private final DataFile data;
+	private volatile DataFile data;
+	private boolean overwriteInPlace;
 	private final IndexFile index255;
-	private final List<IndexFile> indexFiles = new ArrayList<>();
+	private final List<IndexFile> indexFiles = new CopyOnWriteArrayList<>();
+	// held shared by reads and writes, and exclusively by compaction, which replaces the data file
+	private final ReadWriteLock compactLock = new ReentrantReadWriteLock();
+	// read only storage is never compacted, so its reads don't lock
+	private final Lock readLock;
 
 	public DiskStorage(File folder) throws IOException
+	{
+		this(folder, false);
+	}
+
+	/**
+	 * Create a disk storage. A read only storage memory maps the cache files,
+	 * which allows archives to be loaded concurrently from many threads.
+	 *
+	 * @param folder
+	 * @param readOnly
+	 * @throws IOException
+	 */
+	public DiskStorage(File folder, boolean readOnly) throws IOException
 	{
 		this.folder = folder;
+		this.readOnly = readOnly;
+		this.readLock = readOnly ? NoopLock.INSTANCE : compactLock.readLock();
+
+		File journal = new File(folder, COMPACT_JOURNAL);
+		if (readOnly && journal.exists())
+		{
+			throw new IOException("cache has an unfinished compaction");
+		}
+
+		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"), readOnly);
+
+		if (journal.exists())
+		{
+			logger.info("Finishing interrupted compaction");
+			finishCompaction(readJournal(journal));
+		}
 
-		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
-		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT), readOnly);
+	}
+
+	public boolean isReadOnly()
+	{
+		return readOnly;
+	}
+
+	public boolean isOverwriteInPlace()
+	{
+		return overwriteInPlace;
+	}
+
+	/**
+	 * Set whether archives are overwritten in place when they fit in the
+	 * sectors of the archive they replace. This stops the data file from
+	 * growing, but an archive is lost if it is interrupted while being
+	 * overwritten. Otherwise archives are written to free sectors, and the
+	 * sectors of the replaced archive are freed once the index is updated.
+	 *
+	 * @param overwriteInPlace
+	 */
+	public void setOverwriteInPlace(boolean overwriteInPlace)
+	{
+		this.overwriteInPlace = overwriteInPlace;
 	}
 
 	@Override
@@ -85,7 +159,27 @@ public class DiskStorage implements Storage
 		}
 	}
 
-	private IndexFile getIndex(int i) throws FileNotFoundException
+	private IndexFile getIndex(int i) throws IOException
+	{
+		IndexFile indexFile = findIndexFile(i);
+		if (indexFile != null)
+		{
+			return indexFile;
+		}
+
+		synchronized (indexFiles)
+		{
+			indexFile = findIndexFile(i);
+			if (indexFile == null)
+			{
+				indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i), readOnly);
+				indexFiles.add(indexFile);
+			}
+			return indexFile;
+		}
+	}
+
+	private IndexFile findIndexFile(int i)
 	{
 		for (IndexFile indexFile : indexFiles)
 		{
@@ -94,10 +188,7 @@ public class DiskStorage implements Storage
 				return indexFile;
 			}
 		}
-
-		IndexFile indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i));
-		indexFiles.add(indexFile);
-		return indexFile;
+		return null;
 	}
 
 	@Override
@@ -109,16 +200,39 @@ public class DiskStorage implements Storage
 		}
 	}
 
-	public byte[] readIndex(int indexId) throws IOException
+	@Override
+	public void load(Store store, Executor executor) throws IOException
 	{
-		IndexEntry entry = index255.read(indexId);
-		if (entry == null)
+		List<ParallelLoader.Task<Void>> tasks = new ArrayList<>();
+		for (Index index : store.getIndexes())
 		{
-			return null;
+			tasks.add(() ->
+			{
+				loadIndex(index);
+				return null;
+			});
 		}
+		ParallelLoader.invokeAll(executor, tasks);
+	}
 
-		byte[] indexData = data.read(index255.getIndexFileId(), entry.getId(), entry.getSector(), entry.getLength());
-		return indexData;
+	public byte[] readIndex(int indexId) throws IOException
+	{
+		readLock.lock();
+		try
+		{
+			IndexEntry entry = index255.read(indexId);
+			if (entry == null)
+			{
+				return null;
+			}
+
+			byte[] indexData = data.read(index255.getIndexFileId(), entry.getId(), entry.getSector(), entry.getLength());
+			return indexData;
+		}
+		finally
+		{
+			readLock.unlock();
+		}
 	}
 
 	private void loadIndex(Index index) throws IOException
@@ -165,20 +279,28 @@ public class DiskStorage implements Storage
 
 		assert indexFile.getIndexFileId() == index.getId();
 
-		IndexEntry entry = indexFile.read(archive.getArchiveId());
-		if (entry == null)
+		readLock.lock();
+		try
 		{
-			logger.debug("can't read archive " + archive.getArchiveId() + " from index " + index.getId());
-			return null;
-		}
+			IndexEntry entry = indexFile.read(archive.getArchiveId());
+			if (entry == null)
+			{
+				logger.debug("can't read archive " + archive.getArchiveId() + " from index " + index.getId());
+				return null;
+			}
 
-		assert entry.getId() == archive.getArchiveId();
+			assert entry.getId() == archive.getArchiveId();
 
-		logger.trace("Loading archive {} for index {} from sector {} length {}",
-			archive.getArchiveId(), index.getId(), entry.getSector(), entry.getLength());
+			logger.trace("Loading archive {} for index {} from sector {} length {}",
+				archive.getArchiveId(), index.getId(), entry.getSector(), entry.getLength());
 
-		byte[] archiveData = data.read(index.getId(), entry.getId(), entry.getSector(), entry.getLength());
-		return archiveData;
+			byte[] archiveData = data.read(index.getId(), entry.getId(), entry.getSector(), entry.getLength());
+			return archiveData;
+		}
+		finally
+		{
+			readLock.unlock();
+		}
 	}
 
 	@Override
@@ -200,9 +322,7 @@ public class DiskStorage implements Storage
 		Container container = new Container(index.getCompression(), -1); // index data revision is always -1
 		container.compress(data, null);
 		byte[] compressedData = container.data;
-		DataFileWriteResult res = this.data.write(index255.getIndexFileId(), index.getId(), compressedData);
-
-		index255.write(new IndexEntry(index255, index.getId(), res.sector, res.compressedLength));
+		write(index255, index.getId(), compressedData);
 
 		Crc32 crc = new Crc32();
 		crc.update(compressedData, 0, compressedData.length);
@@ -216,8 +336,7 @@ public class DiskStorage implements Storage
 		IndexFile indexFile = getIndex(index.getId());
 		assert indexFile.getIndexFileId() == index.getId();
 
-		DataFileWriteResult res = data.write(index.getId(), a.getArchiveId(), archiveData);
-		indexFile.write(new IndexEntry(indexFile, a.getArchiveId(), res.sector, res.compressedLength));
+		DataFileWriteResult res = write(indexFile, a.getArchiveId(), archiveData);
 
 		byte compression = archiveData[0];
 		int compressedSize = Ints.fromBytes(archiveData[1], archiveData[2],
@@ -236,4 +355,235 @@ public class DiskStorage implements Storage
 		logger.trace("Saved archive {}/{} at sector {}, compressed length {}",
 			index.getId(), a.getArchiveId(), res.sector, res.compressedLength);
 	}
+
+	private DataFileWriteResult write(IndexFile indexFile, int archiveId, byte[] archiveData) throws IOException
+	{
+		readLock.lock();
+		try
+		{
+			int indexId = indexFile.getIndexFileId();
+			IndexEntry old = indexFile.read(archiveId);
+
+			DataFileWriteResult res;
+			if (old != null && overwriteInPlace)
+			{
+				res = data.overwrite(indexId, archiveId, archiveData, old.getSector(), old.getLength());
+			}
+			else
+			{
+				res = data.write(indexId, archiveId, archiveData);
+			}
+
+			indexFile.write(new IndexEntry(indexFile, archiveId, res.sector, res.compressedLength));
+
+			// the old sectors are only reused once nothing references them
+			if (old != null && old.getSector() != res.sector)
+			{
+				data.free(indexId, archiveId, old.getSector(), old.getLength());
+			}
+			return res;
+		}
+		finally
+		{
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * Rewrite the data file with the archives stored contiguously, in index
+	 * and archive order, removing any unused space. The new index entries are
+	 * journaled before the new data file replaces the old one, and if this is
+	 * interrupted after that point the compaction is finished when the cache
+	 * is next opened. Reads and writes from other threads wait until
+	 * compaction has finished.
+	 *
+	 * @throws IOException
+	 */
+	public void compact() throws IOException
+	{
+		if (readOnly)
+		{
+			throw new IOException("storage is read only");
+		}
+
+		compactLock.writeLock().lock();
+		try
+		{
+			compactDataFile();
+		}
+		finally
+		{
+			compactLock.writeLock().unlock();
+		}
+	}
+
+	private void compactDataFile() throws IOException
+	{
+		File dataFile = new File(folder, MAIN_FILE_CACHE_DAT);
+		long oldLength = dataFile.length();
+
+		List<IndexEntry> entries = prepareCompaction();
+
+		data.close();
+		try
+		{
+			finishCompaction(entries);
+		}
+		finally
+		{
+			data = new DataFile(dataFile);
+		}
+
+		logger.debug("Compacted data file from {} to {} bytes", oldLength, dataFile.length());
+	}
+
+	/**
+	 * Write the compacted data file next to the current one, and journal the
+	 * index entries which point into it.
+	 *
+	 * @return the new index entries
+	 * @throws IOException
+	 */
+	List<IndexEntry> prepareCompaction() throws IOException
+	{
+		List<IndexFile> files = new ArrayList<>();
+		for (int i = 0; i < index255.getIndexCount(); ++i)
+		{
+			files.add(getIndex(i));
+		}
+		files.add(index255);
+
+		File tmp = new File(folder, MAIN_FILE_CACHE_DAT + ".tmp");
+
+		List<IndexEntry> entries = new ArrayList<>();
+		try (DataFile compacted = new DataFile(tmp))
+		{
+			compacted.clear();
+
+			for (IndexFile indexFile : files)
+			{
+				int indexId = indexFile.getIndexFileId();
+				for (int id = 0; id < indexFile.getIndexCount(); ++id)
+				{
+					IndexEntry entry = indexFile.read(id);
+					if (entry == null)
+					{
+						continue;
+					}
+
+					byte[] archiveData = data.read(indexId, id, entry.getSector(), entry.getLength());
+					if (archiveData == null)
+					{
+						// drop the entry rather than point it at sectors of another archive
+						logger.warn("Dropping unreadable archive {}/{}", indexId, id);
+						entries.add(new IndexEntry(indexFile, id, 0, 0));
+						continue;
+					}
+
+					DataFileWriteResult res = compacted.write(indexId, id, archiveData);
+					entries.add(new IndexEntry(indexFile, id, res.sector, res.compressedLength));
+				}
+			}
+		}
+
+		// the compaction is committed once the journal is in place
+		File journal = new File(folder, COMPACT_JOURNAL);
+		File journalTmp = new File(folder, COMPACT_JOURNAL + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalTmp))))
+		{
+			out.writeInt(entries.size());
+			for (IndexEntry entry : entries)
+			{
+				out.writeByte(entry.getIndexFile().getIndexFileId());
+				out.writeInt(entry.getId());
+				out.writeInt(entry.getSector());
+				out.writeInt(entry.getLength());
+			}
+		}
+		Files.move(journalTmp.toPath(), journal.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+		return entries;
+	}
+
+	private List<IndexEntry> readJournal(File journal) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal))))
+		{
+			int count = in.readInt();
+			List<IndexEntry> entries = new ArrayList<>(count);
+			for (int i = 0; i < count; ++i)
+			{
+				int indexId = in.readUnsignedByte();
+				int id = in.readInt();
+				int sector = in.readInt();
+				int length = in.readInt();
+
+				IndexFile indexFile = indexId == index255.getIndexFileId() ? index255 : getIndex(indexId);
+				entries.add(new IndexEntry(indexFile, id, sector, length));
+			}
+			return entries;
+		}
+	}
+
+	/**
+	 * Replace the data file with the compacted one and update the index
+	 * files. This can be repeated until it succeeds. The data file must not
+	 * be open.
+	 *
+	 * @param entries the journaled index entries
+	 * @throws IOException
+	 */
+	private void finishCompaction(List<IndexEntry> entries) throws IOException
+	{
+		File tmp = new File(folder, MAIN_FILE_CACHE_DAT + ".tmp");
+		if (tmp.exists())
+		{
+			Files.move(tmp.toPath(), new File(folder, MAIN_FILE_CACHE_DAT).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		for (IndexEntry entry : entries)
+		{
+			entry.getIndexFile().write(entry);
+		}
+
+		Files.delete(new File(folder, COMPACT_JOURNAL).toPath());
+	}
+
+	private static class NoopLock implements Lock
+	{
+		private static final NoopLock INSTANCE = new NoopLock();
+
+		@Override
+		public void lock()
+		{
+		}
+
+		@Override
+		public void lockInterruptibly()
+		{
+		}
+
+		@Override
+		public boolean tryLock()
+		{
+			return true;
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit)
+		{
+			return true;
+		}
+
+		@Override
+		public void unlock()
+		{
+		}
+
+		@Override
+		public Condition newCondition()
+		{
+			throw new UnsupportedOperationException();
+		}
+	}
 }
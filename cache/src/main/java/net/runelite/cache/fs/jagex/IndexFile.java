@@ -29,6 +29,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,12 +45,42 @@ public class IndexFile implements Closeable
 	private final File file;
 	private final RandomAccessFile idx;
 	private final byte[] buffer = new byte[INDEX_ENTRY_LEN];
+	/**
+	 * memory mapped index file, only used when opened read only
+	 */
+	private final ByteBuffer map;
 
 	public IndexFile(int indexFileId, File file) throws FileNotFoundException
 	{
 		this.indexFileId = indexFileId;
 		this.file = file;
 		this.idx = new RandomAccessFile(file, "rw");
+		this.map = null;
+	}
+
+	/**
+	 * Open an index file. If readOnly is set the file is memory mapped, and
+	 * reads are done directly from the mapping without locking.
+	 *
+	 * @param indexFileId
+	 * @param file
+	 * @param readOnly
+	 * @throws IOException
+	 */
+	public IndexFile(int indexFileId, File file, boolean readOnly) throws IOException
+	{
+		this.indexFileId = indexFileId;
+		this.file = file;
+		if (readOnly)
+		{
+			this.idx = new RandomAccessFile(file, "r");
+			this.map = idx.getChannel().map(FileChannel.MapMode.READ_ONLY, 0L, idx.length());
+		}
+		else
+		{
+			this.idx = new RandomAccessFile(file, "rw");
+			this.map = null;
+		}
 	}
 
 	@Override
@@ -59,6 +91,7 @@ public class IndexFile implements Closeable
 
 	public void clear() throws IOException
 	{
+		checkWritable();
 		idx.setLength(0L);
 	}
 
@@ -94,8 +127,15 @@ public class IndexFile implements Closeable
 		return indexFileId;
 	}
 
+	public boolean isReadOnly()
+	{
+		return map != null;
+	}
+
 	public synchronized void write(IndexEntry entry) throws IOException
 	{
+		checkWritable();
+
 		idx.seek(entry.getId() * INDEX_ENTRY_LEN);
 
 		buffer[0] = (byte) (entry.getLength() >> 16);
@@ -109,7 +149,17 @@ public class IndexFile implements Closeable
 		idx.write(buffer);
 	}
 
-	public synchronized IndexEntry read(int id) throws IOException
+	public IndexEntry read(int id) throws IOException
+	{
+		if (map != null)
+		{
+			return readMapped(id);
+		}
+
+		return readFile(id);
+	}
+
+	private synchronized IndexEntry readFile(int id) throws IOException
 	{
 		idx.seek(id * INDEX_ENTRY_LEN);
 		int i = idx.read(buffer);
@@ -122,6 +172,26 @@ public class IndexFile implements Closeable
 		int length = ((buffer[0] & 0xFF) << 16) | ((buffer[1] & 0xFF) << 8) | (buffer[2] & 0xFF);
 		int sector = ((buffer[3] & 0xFF) << 16) | ((buffer[4] & 0xFF) << 8) | (buffer[5] & 0xFF);
 
+		return createEntry(id, length, sector);
+	}
+
+	private IndexEntry readMapped(int id)
+	{
+		int pos = id * INDEX_ENTRY_LEN;
+		if (pos < 0 || pos + INDEX_ENTRY_LEN > map.limit())
+		{
+			logger.debug("short read for id {} on index {}", id, indexFileId);
+			return null;
+		}
+
+		int length = ((map.get(pos) & 0xFF) << 16) | ((map.get(pos + 1) & 0xFF) << 8) | (map.get(pos + 2) & 0xFF);
+		int sector = ((map.get(pos + 3) & 0xFF) << 16) | ((map.get(pos + 4) & 0xFF) << 8) | (map.get(pos + 5) & 0xFF);
+
+		return createEntry(id, length, sector);
+	}
+
+	private IndexEntry createEntry(int id, int length, int sector)
+	{
 		if (length <= 0 || sector <= 0)
 		{
 			logger.debug("invalid length or sector {}/{}", length, sector);
@@ -131,8 +201,24 @@ public class IndexFile implements Closeable
 		return new IndexEntry(this, id, sector, length);
 	}
 
-	public synchronized int getIndexCount() throws IOException
+	public int getIndexCount() throws IOException
 	{
-		return (int) (idx.length() / INDEX_ENTRY_LEN);
+		if (map != null)
+		{
+			return map.limit() / INDEX_ENTRY_LEN;
+		}
+
+		synchronized (this)
+		{
+			return (int) (idx.length() / INDEX_ENTRY_LEN);
+		}
+	}
+
+	private void checkWritable() throws IOException
+	{
+		if (map != null)
+		{
+			throw new IOException("index file is read only");
+		}
 	}
 }
@@ -25,9 +25,14 @@
 package net.runelite.cache.region;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
@@ -37,6 +42,8 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.ParallelLoader;
 import net.runelite.cache.util.XteaKeyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,12 +53,17 @@ public class RegionLoader
 	private static final Logger logger = LoggerFactory.getLogger(RegionLoader.class);
 
 	private static final int MAX_REGION = 32768;
+	/**
+	 * number of regions loaded at once when streaming regions concurrently
+	 */
+	private static final int STREAM_BATCH_SIZE = 64;
 
 	private final Store store;
 	private final Index index;
 	private final XteaKeyManager keyManager;
 
 	private final Map<Integer, Region> regions = new HashMap<>();
+	private int[] regionIds;
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
@@ -63,9 +75,35 @@ public class RegionLoader
 		keyManager.loadKeys();
 	}
 
-	public void loadRegions() throws IOException
+	/**
+	 * Get the ids of the regions which have a map archive in the maps index.
+	 *
+	 * @return region ids, in ascending order
+	 */
+	public int[] getRegionIds()
 	{
+		if (regionIds != null)
+		{
+			return regionIds;
+		}
+
+		int[] ids = new int[MAX_REGION];
+		int count = 0;
 		for (int i = 0; i < MAX_REGION; ++i)
+		{
+			if (findMapArchive(i) != null)
+			{
+				ids[count++] = i;
+			}
+		}
+
+		regionIds = Arrays.copyOf(ids, count);
+		return regionIds;
+	}
+
+	public void loadRegions() throws IOException
+	{
+		for (int i : getRegionIds())
 		{
 			Region region = this.loadRegionFromArchive(i);
 			if (region != null)
@@ -75,14 +113,142 @@ public class RegionLoader
 		}
 	}
 
+	/**
+	 * Load all regions, decoding them concurrently on the executor.
+	 *
+	 * @param executor
+	 * @throws IOException
+	 */
+	public void loadRegions(Executor executor) throws IOException
+	{
+		int[] ids = getRegionIds();
+		for (Region region : loadRegions(executor, ids, 0, ids.length))
+		{
+			if (region != null)
+			{
+				regions.put(region.getRegionID(), region);
+			}
+		}
+	}
+
+	/**
+	 * Load each region and pass it to the consumer, without retaining
+	 * the regions in this loader.
+	 *
+	 * @param consumer
+	 * @throws IOException
+	 */
+	public void forEachRegion(Consumer<Region> consumer) throws IOException
+	{
+		for (int i : getRegionIds())
+		{
+			Region region = this.loadRegionFromArchive(i);
+			if (region != null)
+			{
+				consumer.accept(region);
+			}
+		}
+	}
+
+	/**
+	 * Load regions concurrently on the executor and pass them to the consumer,
+	 * without retaining the regions in this loader. Regions are loaded in
+	 * small batches to bound memory usage, and the consumer is called on the
+	 * calling thread in region id order.
+	 *
+	 * @param executor
+	 * @param consumer
+	 * @throws IOException
+	 */
+	public void forEachRegion(Executor executor, Consumer<Region> consumer) throws IOException
+	{
+		int[] ids = getRegionIds();
+		for (int start = 0; start < ids.length; start += STREAM_BATCH_SIZE)
+		{
+			int end = Math.min(ids.length, start + STREAM_BATCH_SIZE);
+			for (Region region : loadRegions(executor, ids, start, end))
+			{
+				if (region != null)
+				{
+					consumer.accept(region);
+				}
+			}
+		}
+	}
+
+	private List<Region> loadRegions(Executor executor, int[] ids, int start, int end) throws IOException
+	{
+		List<ParallelLoader.Task<Region>> tasks = new ArrayList<>(end - start);
+		for (int i = start; i < end; ++i)
+		{
+			int id = ids[i];
+			tasks.add(() -> loadRegionFromArchive(id));
+		}
+		return ParallelLoader.invokeAll(executor, tasks);
+	}
+
+	/**
+	 * Find the archive containing the terrain of a region
+	 *
+	 * @param regionId
+	 * @return the archive, or null if the region has no terrain
+	 */
+	public Archive findMapArchive(int regionId)
+	{
+		return index.findArchiveByNameHash(archiveNameHash('m', regionId >> 8, regionId & 0xFF));
+	}
+
+	/**
+	 * Find the archive containing the (encrypted) locations of a region
+	 *
+	 * @param regionId
+	 * @return the archive, or null if the region has no locations
+	 */
+	public Archive findLocationsArchive(int regionId)
+	{
+		return index.findArchiveByNameHash(archiveNameHash('l', regionId >> 8, regionId & 0xFF));
+	}
+
+	/**
+	 * Compute the {@link Djb2} hash of a region archive name, eg. m50_50,
+	 * without building the name.
+	 */
+	private static int archiveNameHash(char type, int x, int y)
+	{
+		int hash = type;
+		hash = hashDigits(hash, x);
+		hash = '_' + ((hash << 5) - hash);
+		return hashDigits(hash, y);
+	}
+
+	private static int hashDigits(int hash, int value)
+	{
+		if (value >= 10)
+		{
+			hash = hashDigits(hash, value / 10);
+		}
+		return '0' + value % 10 + ((hash << 5) - hash);
+	}
+
+	/**
+	 * Check if the xtea keys for the locations of a region are known
+	 *
+	 * @param regionId
+	 * @return true if the region's locations can be loaded
+	 */
+	public boolean hasKeys(int regionId)
+	{
+		return keyManager.getKeys(regionId) != null;
+	}
+
 	public Region loadRegionFromArchive(int i) throws IOException
 	{
 		int x = i >> 8;
 		int y = i & 0xFF;
 
 		Storage storage = store.getStorage();
-		Archive map = index.findArchiveByName("m" + x + "_" + y);
-		Archive land = index.findArchiveByName("l" + x + "_" + y);
+		Archive map = findMapArchive(i);
+		Archive land = findLocationsArchive(i);
 
 		assert (map == null) == (land == null);
 
@@ -116,8 +282,20 @@ public class RegionLoader
 		return region;
 	}
 
+	/**
+	 * Calculate the bounds of the map. If the regions have not been loaded,
+	 * such as when streaming them with {@link #forEachRegion(Consumer)}, the
+	 * bounds are calculated from the map archives present instead, and the
+	 * bounding regions have no terrain or locations loaded.
+	 */
 	public void calculateBounds()
 	{
+		if (regions.isEmpty())
+		{
+			calculateArchiveBounds();
+			return;
+		}
+
 		for (Region region : regions.values())
 		{
 			if (lowestX == null || region.getBaseX() < lowestX.getBaseX())
@@ -142,6 +320,46 @@ public class RegionLoader
 		}
 	}
 
+	private void calculateArchiveBounds()
+	{
+		int lowestXId = -1, lowestYId = -1;
+		int highestXId = -1, highestYId = -1;
+
+		for (int id : getRegionIds())
+		{
+			int x = id >> 8;
+			int y = id & 0xFF;
+
+			if (lowestXId == -1 || x < lowestXId >> 8)
+			{
+				lowestXId = id;
+			}
+
+			if (highestXId == -1 || x > highestXId >> 8)
+			{
+				highestXId = id;
+			}
+
+			if (lowestYId == -1 || y < (lowestYId & 0xFF))
+			{
+				lowestYId = id;
+			}
+
+			if (highestYId == -1 || y > (highestYId & 0xFF))
+			{
+				highestYId = id;
+			}
+		}
+
+		if (lowestXId != -1)
+		{
+			lowestX = new Region(lowestXId);
+			lowestY = new Region(lowestYId);
+			highestX = new Region(highestXId);
+			highestY = new Region(highestYId);
+		}
+	}
+
 	public Collection<Region> getRegions()
 	{
 		return regions.values();
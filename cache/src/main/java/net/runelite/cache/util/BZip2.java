@@ -24,11 +24,13 @@
  */
 package net.runelite.cache.util;
 
+import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.Arrays;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
@@ -40,6 +42,11 @@ public class BZip2
 {
 	private static final Logger logger = LoggerFactory.getLogger(BZip2.class);
 
+	/**
+	 * largest decompressed length accepted, so corrupt data can't cause a huge allocation
+	 */
+	private static final int MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
 	private static final byte[] BZIP_HEADER = new byte[]
 	{
 		'B', 'Z', // magic
@@ -47,6 +54,16 @@ public class BZip2
 		'1'       // block size
 	};
 
+	private static final byte[] BLOCK_MAGIC = new byte[]
+	{
+		0x31, 0x41, 0x59, 0x26, 0x53, 0x59 // pi
+	};
+
+	private static final byte[] EOS_MAGIC = new byte[]
+	{
+		0x17, 0x72, 0x45, 0x38, 0x50, (byte) 0x90 // sqrt(pi)
+	};
+
 	public static byte[] compress(byte[] bytes) throws IOException
 	{
 		InputStream is = new ByteArrayInputStream(bytes);
@@ -66,21 +83,53 @@ public class BZip2
 		return Arrays.copyOfRange(out, BZIP_HEADER.length, out.length); // remove header..
 	}
 
-	public static byte[] decompress(byte[] bytes, int len) throws IOException
+	/**
+	 * Decompress headerless bzip2 data of a known decompressed length. The
+	 * header is streamed in front of the data rather than copied into a new
+	 * array, and only the returned array is allocated for the output.
+	 *
+	 * @param bytes array containing the compressed data, without the bzip2 header
+	 * @param offset offset of the compressed data
+	 * @param len length of the compressed data
+	 * @param decompressedLength expected length of the decompressed data
+	 * @return decompressed data
+	 * @throws IOException if the data is not valid bzip2 data of the expected length
+	 */
+	public static byte[] decompress(byte[] bytes, int offset, int len, int decompressedLength) throws IOException
 	{
-		byte[] data = new byte[len + BZIP_HEADER.length];
-
-		// add header
-		System.arraycopy(BZIP_HEADER, 0, data, 0, BZIP_HEADER.length);
-		System.arraycopy(bytes, 0, data, BZIP_HEADER.length, len);
+		// the data starts with either a block header or the end of stream marker
+		if (len < 6 || !(startsWith(bytes, offset, BLOCK_MAGIC) || startsWith(bytes, offset, EOS_MAGIC)))
+		{
+			throw new IOException("Not in BZip2 format");
+		}
 
-		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		if (decompressedLength < 0 || decompressedLength > MAX_DECOMPRESSED_LENGTH)
+		{
+			throw new IOException("Invalid decompressed length " + decompressedLength);
+		}
 
-		try (InputStream is = new BZip2CompressorInputStream(new ByteArrayInputStream(data)))
+		byte[] out = new byte[decompressedLength];
+		InputStream in = new SequenceInputStream(new ByteArrayInputStream(BZIP_HEADER), new ByteArrayInputStream(bytes, offset, len));
+		try (InputStream is = new BZip2CompressorInputStream(in))
 		{
-			IOUtils.copy(is, os);
+			ByteStreams.readFully(is, out);
+			if (is.read() != -1)
+			{
+				throw new IOException("Decompressed length mismatch");
+			}
 		}
+		return out;
+	}
 
-		return os.toByteArray();
+	private static boolean startsWith(byte[] bytes, int offset, byte[] prefix)
+	{
+		for (int i = 0; i < prefix.length; ++i)
+		{
+			if (bytes[offset + i] != prefix[i])
+			{
+				return false;
+			}
+		}
+		return true;
 	}
 }
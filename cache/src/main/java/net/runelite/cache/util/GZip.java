@@ -25,13 +25,17 @@
 
 package net.runelite.cache.util;
 
+import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 import org.apache.commons.compress.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +44,14 @@ public class GZip
 {
 	private static final Logger logger = LoggerFactory.getLogger(GZip.class);
 
+	private static final int HEADER_LENGTH = 10;
+	private static final int TRAILER_LENGTH = 8;
+	// deflate can't compress data by more than this ratio
+	private static final int MAX_RATIO = 1032;
+
+	private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+	private static final ThreadLocal<CRC32> CRC = ThreadLocal.withInitial(CRC32::new);
+
 	public static byte[] compress(byte[] bytes) throws IOException
 	{
 		InputStream is = new ByteArrayInputStream(bytes);
@@ -53,15 +65,92 @@ public class GZip
 		return bout.toByteArray();
 	}
 
-	public static byte[] decompress(byte[] bytes, int len) throws IOException
+	/**
+	 * Decompress gzip data of a known decompressed length. This reuses a
+	 * per thread inflater, and only allocates the returned array.
+	 *
+	 * @param bytes array containing the compressed data
+	 * @param offset offset of the compressed data
+	 * @param len length of the compressed data
+	 * @param decompressedLength expected length of the decompressed data
+	 * @return decompressed data
+	 * @throws IOException if the data is not valid gzip data of the expected length
+	 */
+	public static byte[] decompress(byte[] bytes, int offset, int len, int decompressedLength) throws IOException
 	{
-		ByteArrayOutputStream os = new ByteArrayOutputStream();
-		
-		try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes, 0, len)))
+		if (len < HEADER_LENGTH + TRAILER_LENGTH
+			|| bytes[offset] != (byte) 0x1f || bytes[offset + 1] != (byte) 0x8b // magic
+			|| bytes[offset + 2] != 8) // deflate
 		{
-			IOUtils.copy(is, os);
+			throw new IOException("Not in GZIP format");
+		}
+
+		int trailer = offset + len - TRAILER_LENGTH;
+		int crc = readIntLE(bytes, trailer);
+		int size = readIntLE(bytes, trailer + 4);
+		if (decompressedLength < 0 || decompressedLength > (long) len * MAX_RATIO)
+		{
+			throw new IOException("Invalid decompressed length " + decompressedLength);
+		}
+
+		if (size != decompressedLength)
+		{
+			throw new IOException("Decompressed length mismatch");
+		}
+
+		byte[] out = new byte[decompressedLength];
+		int flags = bytes[offset + 3] & 0xFF;
+		if (flags != 0 || decompressedLength == 0)
+		{
+			// optional header fields are never present in the cache, but fall back to the stream for them
+			try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes, offset, len)))
+			{
+				ByteStreams.readFully(is, out);
+			}
+			return out;
+		}
+
+		Inflater inflater = INFLATER.get();
+		try
+		{
+			inflater.setInput(bytes, offset + HEADER_LENGTH, len - HEADER_LENGTH - TRAILER_LENGTH);
+
+			int read = 0;
+			while (read < out.length && !inflater.finished() && !inflater.needsInput() && !inflater.needsDictionary())
+			{
+				read += inflater.inflate(out, read, out.length - read);
+			}
+
+			if (read != out.length || !inflater.finished())
+			{
+				throw new IOException("Corrupt GZIP data");
+			}
+		}
+		catch (DataFormatException ex)
+		{
+			throw new IOException(ex);
+		}
+		finally
+		{
+			inflater.reset();
+		}
+
+		CRC32 crc32 = CRC.get();
+		crc32.reset();
+		crc32.update(out, 0, out.length);
+		if ((int) crc32.getValue() != crc)
+		{
+			throw new IOException("Corrupt GZIP trailer");
 		}
 
-		return os.toByteArray();
+		return out;
+	}
+
+	private static int readIntLE(byte[] bytes, int pos)
+	{
+		return (bytes[pos] & 0xFF)
+			| ((bytes[pos + 1] & 0xFF) << 8)
+			| ((bytes[pos + 2] & 0xFF) << 16)
+			| ((bytes[pos + 3] & 0xFF) << 24);
 	}
 }
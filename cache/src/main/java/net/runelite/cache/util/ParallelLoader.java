@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs cache loading tasks on an executor and waits for them to complete,
+ * propagating any IOException thrown by a task.
+ */
+public final class ParallelLoader
+{
+	@FunctionalInterface
+	public interface Task<T>
+	{
+		T call() throws IOException;
+	}
+
+	private ParallelLoader()
+	{
+	}
+
+	/**
+	 * Run all of the tasks on the executor, and wait for them to complete.
+	 *
+	 * @param executor executor to run the tasks on
+	 * @param tasks tasks to run
+	 * @param <T> result type
+	 * @return results of the tasks, in the same order as the tasks
+	 * @throws IOException if any task throws
+	 */
+	public static <T> List<T> invokeAll(Executor executor, List<? extends Task<T>> tasks) throws IOException
+	{
+		List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+		for (Task<T> task : tasks)
+		{
+			futures.add(CompletableFuture.supplyAsync(() ->
+			{
+				try
+				{
+					return task.call();
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			}, executor));
+		}
+
+		List<T> results = new ArrayList<>(futures.size());
+		try
+		{
+			for (CompletableFuture<T> future : futures)
+			{
+				results.add(future.join());
+			}
+		}
+		catch (CompletionException ex)
+		{
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error)
+			{
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+		return results;
+	}
+}
@@ -27,10 +27,14 @@ package net.runelite.cache;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.ImageIO;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -71,6 +75,107 @@ public class MapImageDumperTest
 		}
 	}
 
+	@Test
+	@Ignore
+	public void dumpTiles() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.load(ForkJoinPool.commonPool());
+
+			for (int i = 0; i < Region.Z; ++i)
+			{
+				dumper.drawMapTiles(i, 4, outDir, ForkJoinPool.commonPool());
+			}
+
+			logger.info("Wrote tiles to {}", outDir);
+		}
+	}
+
+	@Test
+	public void testDrawMapTilesIncremental() throws IOException
+	{
+		int[] regions = {(50 << 8) | 50, (51 << 8) | 50, (52 << 8) | 50, (53 << 8) | 50};
+		File outDir = folder.newFolder();
+		Executor executor = ForkJoinPool.commonPool();
+
+		try (Store store = new Store(folder.newFolder()))
+		{
+			SyntheticMaps.addIndexes(store);
+			SyntheticMaps.writeDefinitions(store, 0x3F7F3F);
+			for (int regionId : regions)
+			{
+				SyntheticMaps.writeRegion(store, regionId, 1);
+			}
+
+			drawTiles(store, outDir, executor, false);
+			touchTiles(outDir, regions);
+
+			// nothing has changed, so nothing is drawn
+			drawTiles(store, outDir, executor, false);
+			assertTilesDrawn(outDir, regions, false, false, false, false);
+			assertEquals(0, tile(outDir, 1, 25, 25).lastModified());
+			assertEquals(0, tile(outDir, 1, 26, 25).lastModified());
+
+			// the terrain of a region is blended into its neighbours
+			SyntheticMaps.writeRegion(store, regions[0], 0);
+			drawTiles(store, outDir, executor, false);
+			assertTilesDrawn(outDir, regions, true, true, false, false);
+			assertNotEquals(0, tile(outDir, 1, 25, 25).lastModified());
+			assertEquals(0, tile(outDir, 1, 26, 25).lastModified());
+
+			// definitions and renderer options apply to every region
+			touchTiles(outDir, regions);
+			SyntheticMaps.writeDefinitions(store, 0x7F3F3F);
+			drawTiles(store, outDir, executor, false);
+			assertTilesDrawn(outDir, regions, true, true, true, true);
+
+			touchTiles(outDir, regions);
+			drawTiles(store, outDir, executor, true);
+			assertTilesDrawn(outDir, regions, true, true, true, true);
+		}
+	}
+
+	private static void drawTiles(Store store, File outDir, Executor executor, boolean labelRegions) throws IOException
+	{
+		MapImageDumper dumper = new MapImageDumper(store);
+		dumper.setLabelRegions(labelRegions);
+		dumper.load(executor);
+		dumper.drawMapTiles(0, 2, outDir, executor);
+	}
+
+	private static File tile(File outDir, int zoom, int x, int y)
+	{
+		return new File(outDir, "0" + File.separator + zoom + File.separator + x + "_" + y + ".png");
+	}
+
+	/**
+	 * Reset the modification time of the tiles, to detect which are drawn again
+	 */
+	private static void touchTiles(File outDir, int[] regions)
+	{
+		for (int regionId : regions)
+		{
+			tile(outDir, 0, regionId >> 8, regionId & 0xFF).setLastModified(0);
+			tile(outDir, 1, regionId >> 9, (regionId & 0xFF) >> 1).setLastModified(0);
+		}
+	}
+
+	private static void assertTilesDrawn(File outDir, int[] regions, boolean... drawn)
+	{
+		for (int i = 0; i < regions.length; ++i)
+		{
+			File file = tile(outDir, 0, regions[i] >> 8, regions[i] & 0xFF);
+			assertEquals("region " + regions[i], drawn[i], file.lastModified() != 0);
+		}
+	}
+
 	@Test
 	@Ignore
 	public void dumpRegions() throws Exception
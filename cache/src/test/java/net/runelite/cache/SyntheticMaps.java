@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.io.OutputStream;
+import net.runelite.cache.region.Region;
+import net.runelite.cache.util.Djb2;
+
+/**
+ * Writes map and location archives to a store, so that tests which need
+ * regions can be run without a copy of the real game cache.
+ */
+public class SyntheticMaps
+{
+	private SyntheticMaps()
+	{
+	}
+
+	/**
+	 * Add the indexes up to and including the textures index to the store.
+	 */
+	public static void addIndexes(Store store) throws IOException
+	{
+		for (int i = 0; i <= IndexType.TEXTURES.getNumber(); ++i)
+		{
+			if (store.findIndex(i) == null)
+			{
+				store.addIndex(i);
+			}
+		}
+	}
+
+	/**
+	 * Write the definitions needed to draw the map: a single underlay with
+	 * the given colour, and empty overlay, object, area and texture
+	 * definitions.
+	 */
+	public static void writeDefinitions(Store store, int underlayColor) throws IOException
+	{
+		Index configs = store.getIndex(IndexType.CONFIGS);
+		writeArchive(store, configs, ConfigType.UNDERLAY.getId(), new byte[]{
+			1, (byte) (underlayColor >> 16), (byte) (underlayColor >> 8), (byte) underlayColor, 0
+		});
+		writeArchive(store, configs, ConfigType.OVERLAY.getId(), new byte[]{0});
+		writeArchive(store, configs, ConfigType.OBJECT.getId(), new byte[]{0});
+		writeArchive(store, configs, ConfigType.AREA.getId(), new byte[]{0});
+
+		// a texture with no sprites
+		writeArchive(store, store.getIndex(IndexType.TEXTURES), 0, new byte[6]);
+	}
+
+	/**
+	 * Write the terrain and (empty) locations of a region. Every tile on the
+	 * bottom plane has the given underlay and a height derived from its
+	 * position, and the other planes are empty.
+	 */
+	public static void writeRegion(Store store, int regionId, int underlayId) throws IOException
+	{
+		int x = regionId >> 8;
+		int y = regionId & 0xFF;
+		Index maps = store.getIndex(IndexType.MAPS);
+
+		OutputStream terrain = new OutputStream();
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int tx = 0; tx < Region.X; ++tx)
+			{
+				for (int ty = 0; ty < Region.Y; ++ty)
+				{
+					if (z == 0)
+					{
+						terrain.writeByte(81 + underlayId);
+						terrain.writeByte(1);
+						terrain.writeByte(1 + (tx + ty + regionId) % 32);
+					}
+					else
+					{
+						terrain.writeByte(0);
+					}
+				}
+			}
+		}
+
+		writeArchive(store, maps, "m" + x + "_" + y, terrain.flip());
+		writeArchive(store, maps, "l" + x + "_" + y, new byte[]{0});
+	}
+
+	/**
+	 * Write a single file archive, replacing any archive with the same name.
+	 */
+	public static void writeArchive(Store store, Index index, String name, byte[] data) throws IOException
+	{
+		Archive archive = index.findArchiveByName(name);
+		if (archive == null)
+		{
+			archive = index.addArchive(index.getArchives().size());
+			archive.setNameHash(Djb2.hash(name));
+			archive.setFileData(new FileData[]{new FileData()});
+		}
+
+		writeArchive(store, archive, data);
+	}
+
+	/**
+	 * Write a single file archive, replacing any archive with the same id.
+	 */
+	public static void writeArchive(Store store, Index index, int archiveId, byte[] data) throws IOException
+	{
+		Archive archive = index.getArchive(archiveId);
+		if (archive == null)
+		{
+			archive = index.addArchive(archiveId);
+			archive.setFileData(new FileData[]{new FileData()});
+		}
+
+		writeArchive(store, archive, data);
+	}
+
+	private static void writeArchive(Store store, Archive archive, byte[] data) throws IOException
+	{
+		Container container = new Container(0, -1);
+		container.compress(data, null);
+		store.getStorage().saveArchive(archive, container.data);
+	}
+}
@@ -24,10 +24,15 @@
  */
 package net.runelite.cache.fs;
 
+import com.google.common.primitives.Ints;
 import java.io.IOException;
 import java.util.Random;
+import static net.runelite.cache.fs.jagex.CompressionType.BZ2;
 import static net.runelite.cache.fs.jagex.CompressionType.GZ;
+import static net.runelite.cache.fs.jagex.CompressionType.NONE;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import org.junit.Test;
 
 public class ContainerTest
@@ -52,4 +57,84 @@ public class ContainerTest
 		assertArrayEquals(data, container.data);
 	}
 
+	@Test
+	public void testDecompress() throws IOException
+	{
+		int[] keys = new int[]
+		{
+			4, 8, 15, 16
+		};
+		Random random = new Random(43L);
+		byte[] data = new byte[4096];
+		random.nextBytes(data);
+
+		for (int compression : new int[]{NONE, BZ2, GZ})
+		{
+			for (int[] k : new int[][]{null, keys})
+			{
+				Container container = new Container(compression, 42);
+				container.compress(data, k);
+				byte[] compressedData = container.data;
+
+				container = Container.decompress(compressedData, k);
+				assertArrayEquals(data, container.data);
+				assertEquals(compression, container.compression);
+				assertEquals(42, container.revision);
+			}
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testWrongKeysGz() throws IOException
+	{
+		byte[] data = new byte[1024];
+		new Random(44L).nextBytes(data);
+
+		Container container = new Container(GZ, -1);
+		container.compress(data, new int[]{4, 8, 15, 16});
+
+		Container.decompress(container.data, new int[]{23, 42, 0, 0});
+	}
+
+	@Test(expected = IOException.class)
+	public void testWrongKeysBz2() throws IOException
+	{
+		byte[] data = new byte[1024];
+		new Random(45L).nextBytes(data);
+
+		Container container = new Container(BZ2, -1);
+		container.compress(data, new int[]{4, 8, 15, 16});
+
+		Container.decompress(container.data, new int[]{23, 42, 0, 0});
+	}
+
+	@Test
+	public void testInvalidLength() throws IOException
+	{
+		byte[] data = new byte[1024];
+		new Random(46L).nextBytes(data);
+
+		for (int compression : new int[]{BZ2, GZ})
+		{
+			for (int length : new int[]{-1, data.length - 1, Integer.MAX_VALUE})
+			{
+				Container container = new Container(compression, -1);
+				container.compress(data, null);
+
+				// the decompressed length follows the compression type and compressed length
+				byte[] compressedData = container.data;
+				System.arraycopy(Ints.toByteArray(length), 0, compressedData, 5, 4);
+
+				try
+				{
+					Container.decompress(compressedData, null);
+					fail("decompressed length " + length + " was accepted");
+				}
+				catch (IOException ex)
+				{
+					// expected
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.cache.util.Djb2;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class IndexTest
+{
+	@Test
+	public void testLookup()
+	{
+		Index index = new Index(5);
+		for (int i = 0; i < 1000; ++i)
+		{
+			Archive archive = index.addArchive(i * 3);
+			archive.setNameHash(Djb2.hash("m" + i));
+		}
+
+		for (int i = 0; i < 1000; ++i)
+		{
+			Archive archive = index.getArchive(i * 3);
+			assertEquals(i * 3, archive.getArchiveId());
+			assertSame(archive, index.findArchiveByName("m" + i));
+		}
+
+		assertNull(index.getArchive(1));
+		assertNull(index.findArchiveByName("l0"));
+	}
+
+	@Test
+	public void testRename()
+	{
+		Index index = new Index(5);
+		Archive archive = index.addArchive(0);
+		archive.setNameHash(Djb2.hash("a"));
+		assertSame(archive, index.findArchiveByName("a"));
+
+		archive.setNameHash(Djb2.hash("b"));
+		assertNull(index.findArchiveByName("a"));
+		assertSame(archive, index.findArchiveByName("b"));
+	}
+
+	@Test
+	public void testRemoveDuplicate()
+	{
+		Index index = new Index(5);
+		Archive first = index.addArchive(1);
+		first.setNameHash(Djb2.hash("a"));
+		Archive second = index.addArchive(1);
+		second.setNameHash(Djb2.hash("a"));
+
+		// like a linear scan, the first matching archive is found
+		assertSame(first, index.getArchive(1));
+		assertSame(first, index.findArchiveByName("a"));
+
+		index.removeArchive(first);
+		assertSame(second, index.getArchive(1));
+		assertSame(second, index.findArchiveByName("a"));
+
+		index.removeArchive(second);
+		assertNull(index.getArchive(1));
+		assertNull(index.findArchiveByName("a"));
+	}
+
+	@Test
+	public void testArchiveMap()
+	{
+		Index index = new Index(0);
+		ArchiveMap map = new ArchiveMap();
+		Map<Integer, Archive> expected = new HashMap<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 100000; ++i)
+		{
+			// small key range so keys collide and are removed often
+			int key = random.nextInt(4096) - 2048;
+			if (random.nextInt(3) == 0)
+			{
+				assertSame(expected.remove(key), map.remove(key));
+			}
+			else
+			{
+				Archive archive = new Archive(index, i);
+				assertSame(expected.putIfAbsent(key, archive), map.putIfAbsent(key, archive));
+			}
+		}
+
+		assertEquals(expected.size(), map.size());
+		for (int key = -2048; key < 2048; ++key)
+		{
+			assertSame(expected.get(key), map.get(key));
+		}
+	}
+}
@@ -27,6 +27,7 @@ package net.runelite.cache.fs;
 import java.io.File;
 import java.io.IOException;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.index.FileData;
 import org.junit.Assert;
@@ -148,4 +149,36 @@ public class StoreTest
 			}
 		}
 	}
+
+	@Test
+	public void testLoadParallel() throws IOException
+	{
+		Random random = new Random(44L);
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			for (int i = 0; i < 8; ++i)
+			{
+				Index index = store.addIndex(i);
+				for (int j = 0; j < 16; ++j)
+				{
+					Archive archive = index.addArchive(j);
+					archive.setNameHash(random.nextInt());
+					archive.setFileData(new FileData[1]);
+					FileData file = archive.getFileData()[0] = new FileData();
+					file.setNameHash(random.nextInt());
+				}
+			}
+
+			store.save();
+
+			try (Store store2 = new Store(root))
+			{
+				store2.loadParallel(ForkJoinPool.commonPool());
+
+				Assert.assertEquals(store, store2);
+			}
+		}
+	}
 }
@@ -25,6 +25,9 @@
 package net.runelite.cache.fs.flat;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
@@ -98,4 +101,174 @@ public class FlatStorageTest
 			assertEquals(archive2.getRevision(), archive2_2.getRevision());
 		}
 	}
+
+	@Test
+	public void testBinary() throws Exception
+	{
+		File text = folder.newFolder(), bin = folder.newFolder();
+		try (Store store = new Store(new FlatStorage(text)))
+		{
+			Index index = store.addIndex(2);
+			index.setProtocol(6);
+			index.setRevision(7);
+			index.setNamed(true);
+
+			for (int i = 0; i < 16; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setNameHash(i * 31);
+				archive.setRevision(i);
+				archive.setHash(i % 2 == 0 ? new byte[]{(byte) i, 1, 2} : null);
+
+				FileData[] fileData = new FileData[i % 3 + 1];
+				for (int j = 0; j < fileData.length; ++j)
+				{
+					fileData[j] = new FileData();
+					fileData[j].setId(j);
+					fileData[j].setNameHash(j * 7);
+				}
+				archive.setFileData(fileData);
+
+				if (i != 5)
+				{
+					Container container = new Container(archive.getCompression(), -1);
+					container.compress(("test" + i).getBytes(), null);
+					store.getStorage().saveArchive(archive, container.data);
+				}
+			}
+
+			store.save();
+
+			// convert to binary
+			new FlatStorage(bin, true).save(store);
+		}
+
+		assertTrue(new File(bin, "2.flatcachebin").exists());
+		assertFalse(new File(bin, "2.flatcache").exists());
+
+		FlatStorage storage = new FlatStorage(bin);
+		try (Store textStore = new Store(new FlatStorage(text));
+			Store binStore = new Store(storage))
+		{
+			textStore.load();
+			binStore.load();
+
+			Index textIndex = textStore.findIndex(2);
+			Index binIndex = binStore.findIndex(2);
+			assertEquals(textIndex, binIndex);
+			assertEquals(textIndex.getArchives().size(), binIndex.getArchives().size());
+
+			for (Archive archive : textIndex.getArchives())
+			{
+				Archive binArchive = binIndex.getArchive(archive.getArchiveId());
+				assertEquals(archive, binArchive);
+				assertArrayEquals(archive.getHash(), binArchive.getHash());
+				assertEquals(archive.getFileData().length, binArchive.getFileData().length);
+				for (int j = 0; j < archive.getFileData().length; ++j)
+				{
+					assertEquals(archive.getFileData()[j].getId(), binArchive.getFileData()[j].getId());
+					assertEquals(archive.getFileData()[j].getNameHash(), binArchive.getFileData()[j].getNameHash());
+				}
+				assertArrayEquals(textStore.getStorage().loadArchive(archive), storage.loadArchive(binArchive));
+			}
+			assertNull(storage.loadArchive(binIndex.getArchive(5)));
+
+			// and back to text, in place
+			storage.save(binStore);
+		}
+
+		assertFalse(new File(bin, "2.flatcachebin").exists());
+		assertArrayEquals(Files.readAllBytes(new File(text, "2.flatcache").toPath()),
+			Files.readAllBytes(new File(bin, "2.flatcache").toPath()));
+	}
+
+	@Test
+	public void testBinarySaveInPlace() throws Exception
+	{
+		File bin = folder.newFolder();
+		try (Store store = new Store(new FlatStorage(bin, true)))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 4; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setFileData(new FileData[]{new FileData()});
+
+				Container container = new Container(archive.getCompression(), -1);
+				container.compress(("test" + i).getBytes(), null);
+				store.getStorage().saveArchive(archive, container.data);
+			}
+			store.save();
+		}
+
+		FlatStorage storage = new FlatStorage(bin, true);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Index index = store.findIndex(0);
+
+			Container container = new Container(0, -1);
+			container.compress("changed".getBytes(), null);
+			storage.saveArchive(index.getArchive(2), container.data);
+
+			// replaces the file the storage is reading from, then reads from the new file
+			storage.save(store);
+			storage.save(store);
+
+			for (int i = 0; i < 4; ++i)
+			{
+				Archive archive = index.getArchive(i);
+				assertArrayEquals((i == 2 ? "changed" : "test" + i).getBytes(), Container.decompress(storage.loadArchive(archive), null).data);
+			}
+		}
+
+		try (Store store = new Store(new FlatStorage(bin)))
+		{
+			store.load();
+			Archive archive = store.findIndex(0).getArchive(3);
+			assertArrayEquals("test3".getBytes(), Container.decompress(store.getStorage().loadArchive(archive), null).data);
+		}
+	}
+
+	@Test
+	public void testBinaryTruncated() throws Exception
+	{
+		File bin = folder.newFolder();
+		try (Store store = new Store(new FlatStorage(bin, true)))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 4; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setFileData(new FileData[]{new FileData()});
+
+				Container container = new Container(archive.getCompression(), -1);
+				container.compress(("test" + i).getBytes(), null);
+				store.getStorage().saveArchive(archive, container.data);
+			}
+			store.save();
+		}
+
+		// cut the file off part way through the archive table
+		try (RandomAccessFile file = new RandomAccessFile(new File(bin, "0.flatcachebin"), "rw"))
+		{
+			file.setLength(60);
+		}
+
+		try (Store store = new Store(new FlatStorage(bin, true)))
+		{
+			try
+			{
+				store.load();
+				fail("truncated flatcache was loaded");
+			}
+			catch (IOException ex)
+			{
+				// expected
+			}
+
+			// nothing from the truncated file is left in the index
+			assertTrue(store.findIndex(0).getArchives().isEmpty());
+		}
+	}
 }
@@ -167,4 +167,128 @@ public class DataFileTest
 		Assert.assertEquals("testtesttesttest1", str);
 		Assert.assertEquals(42, res2.revision);
 	}
+
+	@Test
+	public void testReadOnly() throws IOException
+	{
+		byte[] b = new byte[4096];
+		for (int i = 0; i < b.length; ++i)
+		{
+			b[i] = (byte) i;
+		}
+
+		File file = folder.newFile();
+
+		DataFileWriteResult res, res2;
+		try (DataFile df = new DataFile(file))
+		{
+			Container container = new Container(CompressionType.NONE, 0);
+			container.compress(b, null);
+			res = df.write(42, 3, container.data);
+			res2 = df.write(42, 0x1FFFF, container.data);
+		}
+
+		try (DataFile df = new DataFile(file, true))
+		{
+			Assert.assertTrue(df.isReadOnly());
+
+			byte[] compressedData = df.read(42, 3, res.sector, res.compressedLength);
+			Assert.assertArrayEquals(b, Container.decompress(compressedData, null).data);
+
+			compressedData = df.read(42, 0x1FFFF, res2.sector, res2.compressedLength);
+			Assert.assertArrayEquals(b, Container.decompress(compressedData, null).data);
+
+			// wrong archive
+			Assert.assertNull(df.read(42, 4, res.sector, res.compressedLength));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadOnlyWrite() throws IOException
+	{
+		try (DataFile df = new DataFile(folder.newFile(), true))
+		{
+			df.write(42, 3, "test".getBytes());
+		}
+	}
+
+	@Test
+	public void testFreeSectorReuse() throws IOException
+	{
+		byte[] b = new byte[2048]; // 4 sectors
+
+		File file = folder.newFile();
+		try (DataFile df = new DataFile(file))
+		{
+			DataFileWriteResult first = df.write(1, 1, b);
+			DataFileWriteResult second = df.write(1, 2, b);
+			long length = file.length();
+
+			df.free(1, 1, first.sector, first.compressedLength);
+			Assert.assertEquals(4, df.getFreeSectorCount());
+
+			// reuses the freed sectors rather than growing the file
+			b[0] = 1;
+			DataFileWriteResult third = df.write(1, 3, b);
+			Assert.assertEquals(first.sector, third.sector);
+			Assert.assertEquals(0, df.getFreeSectorCount());
+			Assert.assertEquals(length, file.length());
+
+			Assert.assertArrayEquals(b, df.read(1, 3, third.sector, third.compressedLength));
+			b[0] = 0;
+			Assert.assertArrayEquals(b, df.read(1, 2, second.sector, second.compressedLength));
+
+			// too large for the free run, so it uses the free sectors and then appends
+			df.free(1, 3, third.sector, third.compressedLength);
+			byte[] large = new byte[4096];
+			large[4095] = 1;
+			DataFileWriteResult fourth = df.write(1, 4, large);
+			Assert.assertEquals(third.sector, fourth.sector);
+			Assert.assertEquals(0, df.getFreeSectorCount());
+			Assert.assertEquals(length + 4 * 520, file.length());
+			Assert.assertArrayEquals(large, df.read(1, 4, fourth.sector, fourth.compressedLength));
+		}
+	}
+
+	@Test
+	public void testFreeInvalidChain() throws IOException
+	{
+		try (DataFile df = new DataFile(folder.newFile()))
+		{
+			DataFileWriteResult res = df.write(1, 1, new byte[2048]);
+
+			// wrong archive, so nothing is freed
+			df.free(1, 2, res.sector, res.compressedLength);
+			Assert.assertEquals(0, df.getFreeSectorCount());
+		}
+	}
+
+	@Test
+	public void testOverwrite() throws IOException
+	{
+		byte[] b = new byte[2048];
+		byte[] small = new byte[600]; // 2 sectors
+		small[0] = 42;
+
+		File file = folder.newFile();
+		try (DataFile df = new DataFile(file))
+		{
+			DataFileWriteResult res = df.write(1, 0x1FFFF, b);
+			long length = file.length();
+
+			DataFileWriteResult res2 = df.overwrite(1, 0x1FFFF, small, res.sector, res.compressedLength);
+			Assert.assertEquals(res.sector, res2.sector);
+			Assert.assertEquals(length, file.length());
+			// the unused tail of the old chain is freed
+			Assert.assertEquals(3, df.getFreeSectorCount());
+			Assert.assertArrayEquals(small, df.read(1, 0x1FFFF, res2.sector, res2.compressedLength));
+
+			// doesn't fit in the two remaining sectors, so it is written elsewhere
+			DataFileWriteResult res3 = df.overwrite(1, 0x1FFFF, b, res2.sector, res2.compressedLength);
+			Assert.assertNotEquals(res2.sector, res3.sector);
+			Assert.assertArrayEquals(small, df.read(1, 0x1FFFF, res2.sector, res2.compressedLength));
+			Assert.assertArrayEquals(b, df.read(1, 0x1FFFF, res3.sector, res3.compressedLength));
+		}
+	}
+
 }
@@ -25,6 +25,13 @@
 package net.runelite.cache.fs.jagex;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
@@ -99,4 +106,249 @@ public class DiskStorageTest
 		}
 	}
 
+	@Test
+	public void testReadOnly() throws Exception
+	{
+		File file = folder.newFolder();
+		DiskStorage storage = new DiskStorage(file);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 64; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				FileData[] fileData = new FileData[1];
+				fileData[0] = new FileData();
+				archive.setFileData(fileData);
+
+				Container container = new Container(archive.getCompression(), -1);
+				container.compress(("test" + i).getBytes(), null);
+				storage.saveArchive(archive, container.data);
+			}
+
+			store.save();
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		storage = new DiskStorage(file, true);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Index index = store.findIndex(0);
+
+			List<Future<byte[]>> futures = new ArrayList<>();
+			for (Archive archive : index.getArchives())
+			{
+				final DiskStorage s = storage;
+				futures.add(executor.submit(() -> archive.decompress(s.loadArchive(archive))));
+			}
+
+			for (int i = 0; i < futures.size(); ++i)
+			{
+				assertArrayEquals(("test" + i).getBytes(), futures.get(i).get());
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testCompact() throws Exception
+	{
+		File file = folder.newFolder();
+		File dataFile = new File(file, "main_file_cache.dat2");
+		DiskStorage storage = new DiskStorage(file);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 16; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setFileData(new FileData[]{new FileData()});
+			}
+
+			// repeatedly replace the archives with larger versions, leaving free space behind
+			for (int rev = 1; rev <= 4; ++rev)
+			{
+				for (Archive archive : index.getArchives())
+				{
+					Container container = new Container(CompressionType.NONE, rev);
+					container.compress(new byte[rev * 1000 + archive.getArchiveId()], null);
+					storage.saveArchive(archive, container.data);
+				}
+				store.save();
+			}
+
+			long length = dataFile.length();
+			storage.compact();
+			assertTrue(dataFile.length() < length);
+
+			// still usable after compacting
+			Archive archive = index.getArchive(0);
+			Container container = new Container(CompressionType.NONE, 5);
+			container.compress(new byte[10], null);
+			storage.saveArchive(archive, container.data);
+			store.save();
+		}
+
+		storage = new DiskStorage(file, true);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Index index = store.findIndex(0);
+			for (Archive archive : index.getArchives())
+			{
+				Container container = Container.decompress(storage.loadArchive(archive), null);
+				int expectedLength = archive.getArchiveId() == 0 ? 10 : 4000 + archive.getArchiveId();
+				assertEquals(expectedLength, container.data.length);
+			}
+		}
+	}
+
+	@Test
+	public void testCompactInterrupted() throws Exception
+	{
+		File file = folder.newFolder();
+		DiskStorage storage = new DiskStorage(file);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 16; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setFileData(new FileData[]{new FileData()});
+			}
+
+			for (int rev = 1; rev <= 2; ++rev)
+			{
+				for (Archive archive : index.getArchives())
+				{
+					Container container = new Container(CompressionType.NONE, rev);
+					container.compress(new byte[rev * 1000 + archive.getArchiveId()], null);
+					storage.saveArchive(archive, container.data);
+				}
+				store.save();
+			}
+
+			// stop once the compaction is committed, before the data file is replaced
+			storage.prepareCompaction();
+		}
+
+		try
+		{
+			new DiskStorage(file, true);
+			fail("read only storage can't finish the compaction");
+		}
+		catch (IOException ex)
+		{
+			// expected
+		}
+
+		new DiskStorage(file).close();
+		assertFalse(new File(file, "main_file_cache.compact").exists());
+
+		storage = new DiskStorage(file, true);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Index index = store.findIndex(0);
+			for (Archive archive : index.getArchives())
+			{
+				Container container = Container.decompress(storage.loadArchive(archive), null);
+				assertEquals(2000 + archive.getArchiveId(), container.data.length);
+			}
+		}
+	}
+
+	@Test
+	public void testCompactConcurrentReads() throws Exception
+	{
+		File file = folder.newFolder();
+		DiskStorage storage = new DiskStorage(file);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 16; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setFileData(new FileData[]{new FileData()});
+			}
+
+			for (int rev = 1; rev <= 2; ++rev)
+			{
+				for (Archive archive : index.getArchives())
+				{
+					Container container = new Container(CompressionType.NONE, rev);
+					container.compress(new byte[rev * 1000 + archive.getArchiveId()], null);
+					storage.saveArchive(archive, container.data);
+				}
+				store.save();
+			}
+
+			AtomicBoolean done = new AtomicBoolean();
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; ++i)
+			{
+				futures.add(executor.submit(() ->
+				{
+					while (!done.get())
+					{
+						for (Archive archive : index.getArchives())
+						{
+							Container container = Container.decompress(storage.loadArchive(archive), null);
+							assertEquals(2000 + archive.getArchiveId(), container.data.length);
+						}
+					}
+					return null;
+				}));
+			}
+
+			for (int i = 0; i < 16; ++i)
+			{
+				storage.compact();
+			}
+			done.set(true);
+
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testOverwriteInPlace() throws Exception
+	{
+		File file = folder.newFolder();
+		File dataFile = new File(file, "main_file_cache.dat2");
+		DiskStorage storage = new DiskStorage(file);
+		storage.setOverwriteInPlace(true);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			Archive archive = index.addArchive(0);
+			archive.setFileData(new FileData[]{new FileData()});
+
+			Container container = new Container(CompressionType.NONE, -1);
+			container.compress(new byte[4000], null);
+			storage.saveArchive(archive, container.data);
+			long length = dataFile.length();
+
+			for (int i = 0; i < 8; ++i)
+			{
+				container = new Container(CompressionType.NONE, -1);
+				container.compress(new byte[3000 + i], null);
+				storage.saveArchive(archive, container.data);
+				assertEquals(length, dataFile.length());
+				assertEquals(3000 + i, archive.decompress(storage.loadArchive(archive)).length);
+			}
+		}
+	}
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.SyntheticMaps;
+import net.runelite.cache.fs.Store;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RegionLoaderTest
+{
+	private static final int[] REGIONS = {
+		(48 << 8) | 60,
+		(50 << 8) | 50,
+		(50 << 8) | 51,
+		(51 << 8) | 50,
+		(53 << 8) | 47,
+	};
+
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	private Store store;
+	private ExecutorService executor;
+
+	@Before
+	public void before() throws IOException
+	{
+		store = new Store(folder.getRoot());
+		SyntheticMaps.addIndexes(store);
+		for (int i = 0; i < REGIONS.length; ++i)
+		{
+			SyntheticMaps.writeRegion(store, REGIONS[i], 1 + i);
+		}
+
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		executor.shutdown();
+		store.close();
+	}
+
+	@Test
+	public void testGetRegionIds()
+	{
+		RegionLoader loader = new RegionLoader(store);
+		assertArrayEquals(REGIONS, loader.getRegionIds());
+	}
+
+	@Test
+	public void testLoadRegionsExecutor() throws IOException
+	{
+		RegionLoader eager = new RegionLoader(store);
+		eager.loadRegions();
+
+		RegionLoader concurrent = new RegionLoader(store);
+		concurrent.loadRegions(executor);
+
+		assertRegionsEquals(eager.getRegions(), concurrent.getRegions());
+	}
+
+	@Test
+	public void testForEachRegion() throws IOException
+	{
+		RegionLoader eager = new RegionLoader(store);
+		eager.loadRegions();
+
+		RegionLoader streaming = new RegionLoader(store);
+		List<Region> regions = new ArrayList<>();
+		streaming.forEachRegion(regions::add);
+
+		assertRegionsEquals(eager.getRegions(), regions);
+		assertEquals(0, streaming.getRegions().size());
+	}
+
+	@Test
+	public void testForEachRegionExecutor() throws IOException
+	{
+		RegionLoader eager = new RegionLoader(store);
+		eager.loadRegions();
+
+		RegionLoader streaming = new RegionLoader(store);
+		List<Region> regions = new ArrayList<>();
+		streaming.forEachRegion(executor, regions::add);
+
+		// regions are passed to the consumer in region id order
+		for (int i = 0; i < REGIONS.length; ++i)
+		{
+			assertEquals(REGIONS[i], regions.get(i).getRegionID());
+		}
+		assertRegionsEquals(eager.getRegions(), regions);
+		assertEquals(0, streaming.getRegions().size());
+	}
+
+	@Test
+	public void testCalculateArchiveBounds() throws IOException
+	{
+		RegionLoader eager = new RegionLoader(store);
+		eager.loadRegions();
+		eager.calculateBounds();
+
+		// nothing is loaded, so the bounds come from the map archives
+		RegionLoader streaming = new RegionLoader(store);
+		streaming.calculateBounds();
+
+		assertEquals(eager.getLowestX().getRegionID(), streaming.getLowestX().getRegionID());
+		assertEquals(eager.getLowestY().getRegionID(), streaming.getLowestY().getRegionID());
+		assertEquals(eager.getHighestX().getRegionID(), streaming.getHighestX().getRegionID());
+		assertEquals(eager.getHighestY().getRegionID(), streaming.getHighestY().getRegionID());
+	}
+
+	@Test
+	public void testCalculateArchiveBoundsEmpty() throws IOException
+	{
+		try (Store empty = new Store(folder.newFolder()))
+		{
+			SyntheticMaps.addIndexes(empty);
+
+			RegionLoader loader = new RegionLoader(empty);
+			loader.calculateBounds();
+
+			assertEquals(0, loader.getRegionIds().length);
+			assertNull(loader.getLowestX());
+		}
+	}
+
+	private static void assertRegionsEquals(Collection<Region> expected, Collection<Region> actual)
+	{
+		List<Region> e = sorted(expected), a = sorted(actual);
+		assertEquals(e.size(), a.size());
+
+		for (int i = 0; i < e.size(); ++i)
+		{
+			Region r1 = e.get(i), r2 = a.get(i);
+			assertEquals(r1.getRegionID(), r2.getRegionID());
+			assertEquals(r1.getLocations(), r2.getLocations());
+
+			for (int z = 0; z < Region.Z; ++z)
+			{
+				for (int x = 0; x < Region.X; ++x)
+				{
+					for (int y = 0; y < Region.Y; ++y)
+					{
+						assertEquals(r1.getTileHeight(z, x, y), r2.getTileHeight(z, x, y));
+						assertEquals(r1.getUnderlayId(z, x, y), r2.getUnderlayId(z, x, y));
+						assertEquals(r1.getOverlayId(z, x, y), r2.getOverlayId(z, x, y));
+					}
+				}
+			}
+		}
+	}
+
+	private static List<Region> sorted(Collection<Region> regions)
+	{
+		List<Region> list = new ArrayList<>(regions);
+		list.sort(Comparator.comparingInt(Region::getRegionID));
+		return list;
+	}
+}
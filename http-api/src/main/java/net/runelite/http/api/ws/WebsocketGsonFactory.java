@@ -34,6 +34,7 @@ import net.runelite.http.api.ws.messages.Handshake;
 import net.runelite.http.api.ws.messages.LoginResponse;
 import net.runelite.http.api.ws.messages.party.Join;
 import net.runelite.http.api.ws.messages.party.Part;
+import net.runelite.http.api.ws.messages.party.PartyBatch;
 import net.runelite.http.api.ws.messages.party.PartyChatMessage;
 import net.runelite.http.api.ws.messages.party.UserJoin;
 import net.runelite.http.api.ws.messages.party.UserPart;
@@ -54,6 +55,7 @@ public class WebsocketGsonFactory
 		messages.add(UserPart.class);
 		messages.add(UserSync.class);
 		messages.add(PartyChatMessage.class);
+		messages.add(PartyBatch.class);
 		MESSAGES = messages;
 	}
 
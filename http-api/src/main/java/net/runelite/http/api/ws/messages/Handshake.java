@@ -30,6 +30,11 @@ import net.runelite.http.api.ws.WebsocketMessage;
 public class Handshake extends WebsocketMessage
 {
 	private UUID session;
+	/**
+	 * Set by clients which can send and receive {@link net.runelite.http.api.ws.messages.party.PartyBatch}.
+	 * A server which supports batching replies with a handshake which has it set.
+	 */
+	private boolean batching;
 
 	public UUID getSession()
 	{
@@ -40,4 +45,14 @@ public class Handshake extends WebsocketMessage
 	{
 		this.session = session;
 	}
+
+	public boolean isBatching()
+	{
+		return batching;
+	}
+
+	public void setBatching(boolean batching)
+	{
+		this.batching = batching;
+	}
 }
@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.party;
+
+import com.google.common.base.Defaults;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import joptsimple.ArgumentAcceptingOptionSpec;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.party.messages.LocationUpdate;
+import net.runelite.client.plugins.party.messages.SkillUpdate;
+import net.runelite.client.ws.WSClient;
+import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.ws.WebsocketGsonFactory;
+import net.runelite.http.api.ws.messages.party.Join;
+import net.runelite.http.api.ws.messages.party.UserJoin;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+
+/**
+ * Simulates a party of members sending {@link LocationUpdate}s and {@link SkillUpdate}s every game tick,
+ * as seen by one observing client running the real {@link WSClient}. Reports the latency from an update
+ * being sent to it being posted on the observer's event bus, and the CPU time and allocation of the
+ * observer's client, websocket reader and decoder threads.
+ * <p>
+ * The party server is embedded unless {@code --url} is given.
+ */
+@Slf4j
+public class LoadGenerator
+{
+	private static final int TICK_MS = 600;
+
+	private final int members;
+	private final int warmup;
+	private final int duration;
+	private final boolean batch;
+	private final HttpUrl url;
+
+	private final UUID partyId = UUID.randomUUID();
+	private final List<SimulatedMember> simulatedMembers = new ArrayList<>();
+	private final AtomicInteger tick = new AtomicInteger();
+	private final List<Thread> clientThreads = new CopyOnWriteArrayList<>();
+
+	private WSClient wsClient;
+	private final Observer observer = new Observer();
+
+	private LoadGenerator(int members, int warmup, int duration, boolean batch, HttpUrl url)
+	{
+		this.members = members;
+		this.warmup = warmup;
+		this.duration = duration;
+		this.batch = batch;
+		this.url = url;
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		final OptionParser parser = new OptionParser();
+		final ArgumentAcceptingOptionSpec<Integer> members = parser.accepts("members", "Number of party members, including the observing client")
+			.withRequiredArg()
+			.ofType(Integer.class)
+			.defaultsTo(20);
+		final ArgumentAcceptingOptionSpec<Integer> warmup = parser.accepts("warmup", "Seconds to run before measuring")
+			.withRequiredArg()
+			.ofType(Integer.class)
+			.defaultsTo(10);
+		final ArgumentAcceptingOptionSpec<Integer> duration = parser.accepts("duration", "Seconds to measure for")
+			.withRequiredArg()
+			.ofType(Integer.class)
+			.defaultsTo(60);
+		final ArgumentAcceptingOptionSpec<String> url = parser.accepts("url", "Websocket url of a running party server")
+			.withRequiredArg();
+		parser.accepts("no-batch", "Send the simulated members' updates in separate messages");
+		parser.accepts("help", "Show this text").forHelp();
+
+		final OptionSet options = parser.parse(args);
+		if (options.has("help"))
+		{
+			parser.printHelpOn(System.out);
+			return;
+		}
+
+		PartyServer server = null;
+		HttpUrl serverUrl;
+		if (options.has(url))
+		{
+			serverUrl = HttpUrl.parse(options.valueOf(url));
+		}
+		else
+		{
+			server = new PartyServer();
+			server.start(0);
+			serverUrl = server.getUrl();
+		}
+
+		new LoadGenerator(options.valueOf(members), options.valueOf(warmup), options.valueOf(duration), !options.has("no-batch"), serverUrl)
+			.run(server);
+		System.exit(0);
+	}
+
+	private void run(PartyServer server) throws Exception
+	{
+		final ScheduledExecutorService clientExecutor = Executors.newSingleThreadScheduledExecutor(clientThreadFactory("Client"));
+		final ScheduledExecutorService simulationExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("Simulated members")
+			.build());
+
+		startObserver();
+		startSimulatedMembers();
+
+		// the members tick together, and the observer ticks at some other point in the tick
+		simulationExecutor.scheduleAtFixedRate(() ->
+		{
+			int t = tick.getAndIncrement();
+			for (SimulatedMember member : simulatedMembers)
+			{
+				member.tick(t);
+			}
+		}, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+		clientExecutor.scheduleAtFixedRate(observer::tick, TICK_MS + ThreadLocalRandom.current().nextInt(TICK_MS), TICK_MS, TimeUnit.MILLISECONDS);
+
+		log.info("Warming up for {}s with {} members", warmup, members);
+		Thread.sleep(TimeUnit.SECONDS.toMillis(warmup));
+
+		long joined = simulatedMembers.stream().filter(SimulatedMember::isJoined).count();
+		if (joined < simulatedMembers.size())
+		{
+			log.warn("Only {}/{} simulated members joined", joined, simulatedMembers.size());
+		}
+
+		clientExecutor.submit(observer::reset).get();
+		final Map<Long, long[]> usage = threadUsage();
+		final long serverReceived = server != null ? server.getReceived() : 0;
+		final long serverSent = server != null ? server.getSent() : 0;
+		final long start = System.nanoTime();
+
+		log.info("Measuring for {}s", duration);
+		Thread.sleep(TimeUnit.SECONDS.toMillis(duration));
+
+		final Map<Long, long[]> endUsage = threadUsage();
+		final long elapsed = System.nanoTime() - start;
+		final Observer.Result result = clientExecutor.submit(observer::result).get();
+
+		simulationExecutor.shutdownNow();
+		clientExecutor.shutdownNow();
+
+		long cpu = 0, allocated = 0;
+		for (Map.Entry<Long, long[]> entry : endUsage.entrySet())
+		{
+			long[] before = usage.getOrDefault(entry.getKey(), new long[2]);
+			cpu += entry.getValue()[0] - before[0];
+			allocated += entry.getValue()[1] - before[1];
+		}
+
+		final double seconds = elapsed / 1e9;
+		System.out.printf("members: %d, batched: %s, ticks: %d%n", members, batch, Math.round(elapsed / 1e6 / TICK_MS));
+		System.out.printf("observer: %d updates (%.0f/s)%n", result.count, result.count / seconds);
+		System.out.printf("latency ms: p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n",
+			result.percentile(50), result.percentile(90), result.percentile(99), result.percentile(100));
+		System.out.printf("client cpu: %.0f ms (%.1f%% of a core), allocated: %.1f MB (%.0f bytes/update)%n",
+			cpu / 1e6, cpu / 1e7 / seconds, allocated / 1e6, result.count > 0 ? (double) allocated / result.count : 0);
+		if (server != null)
+		{
+			System.out.printf("server: received %d, sent %d messages%n", server.getReceived() - serverReceived, server.getSent() - serverSent);
+		}
+
+		wsClient.changeSession(null);
+		for (SimulatedMember member : simulatedMembers)
+		{
+			member.close();
+		}
+		if (server != null)
+		{
+			server.close();
+		}
+	}
+
+	private void startObserver()
+	{
+		final Client client = (Client) Proxy.newProxyInstance(LoadGenerator.class.getClassLoader(), new Class<?>[]{Client.class}, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getGameState":
+					return GameState.LOGGED_IN;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Client";
+				default:
+					return Defaults.defaultValue(method.getReturnType());
+			}
+		});
+
+		// the websocket reader runs on the dispatcher thread
+		final ExecutorService readerExecutor = Executors.newCachedThreadPool(clientThreadFactory("Client websocket"));
+		final OkHttpClient okHttpClient = RuneLiteAPI.CLIENT.newBuilder()
+			.dispatcher(new Dispatcher(readerExecutor))
+			.build();
+		final EventBus eventBus = new EventBus();
+
+		final Injector injector = Guice.createInjector(binder ->
+		{
+			binder.bind(Client.class).toInstance(client);
+			binder.bind(EventBus.class).toInstance(eventBus);
+			binder.bind(OkHttpClient.class).toInstance(okHttpClient);
+		});
+
+		System.setProperty("runelite.ws.url", url.toString());
+		wsClient = injector.getInstance(WSClient.class);
+		wsClient.registerMessage(LocationUpdate.class);
+		wsClient.registerMessage(SkillUpdate.class);
+		observer.eventBus = eventBus;
+		eventBus.register(observer);
+
+		wsClient.changeSession(UUID.randomUUID());
+		wsClient.send(new Join(partyId, Observer.NAME));
+	}
+
+	private void startSimulatedMembers()
+	{
+		final Gson gson = WebsocketGsonFactory.build(WebsocketGsonFactory.factory(Arrays.asList(LocationUpdate.class, SkillUpdate.class)));
+		final Dispatcher dispatcher = new Dispatcher();
+		// each websocket holds a call open for as long as it is connected
+		dispatcher.setMaxRequests(members);
+		dispatcher.setMaxRequestsPerHost(members);
+		final OkHttpClient okHttpClient = RuneLiteAPI.CLIENT.newBuilder()
+			.dispatcher(dispatcher)
+			.build();
+
+		for (int i = 1; i < members; ++i)
+		{
+			SimulatedMember member = new SimulatedMember(gson, "Member " + i, i, batch);
+			member.connect(okHttpClient, url, partyId);
+			simulatedMembers.add(member);
+			observer.membersByName.put(member.getName(), member);
+		}
+	}
+
+	private ThreadFactory clientThreadFactory(String name)
+	{
+		final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+			.setNameFormat(name + " %d")
+			.setDaemon(true)
+			.build();
+		return r ->
+		{
+			Thread thread = threadFactory.newThread(r);
+			clientThreads.add(thread);
+			return thread;
+		};
+	}
+
+	/**
+	 * @return the cpu time and allocated bytes of each of the client's threads
+	 */
+	private Map<Long, long[]> threadUsage()
+	{
+		final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		final List<Thread> threads = new ArrayList<>(clientThreads);
+		// WSClient creates its own decoder thread
+		for (Thread thread : Thread.getAllStackTraces().keySet())
+		{
+			if (thread.getName().equals("websocket-decoder"))
+			{
+				threads.add(thread);
+			}
+		}
+
+		final Map<Long, long[]> usage = new HashMap<>();
+		for (Thread thread : threads)
+		{
+			long cpu = threadMXBean.getThreadCpuTime(thread.getId());
+			long allocated = threadMXBean.getThreadAllocatedBytes(thread.getId());
+			if (cpu != -1 && allocated != -1)
+			{
+				usage.put(thread.getId(), new long[]{cpu, allocated});
+			}
+		}
+		return usage;
+	}
+
+	/**
+	 * The observing client. Everything but {@link #membersByName} is accessed only from the client thread.
+	 */
+	private class Observer
+	{
+		private static final String NAME = "Observer";
+
+		private final Map<String, SimulatedMember> membersByName = new HashMap<>();
+		private final Map<UUID, SimulatedMember> members = new HashMap<>();
+		private EventBus eventBus;
+		private UUID memberId;
+		private long[] latencies = new long[1024];
+		private int count;
+		private int ticks;
+
+		private void tick()
+		{
+			if (memberId != null)
+			{
+				// the observer's own updates, which WSClient batches at the end of the tick
+				LocationUpdate locationUpdate = new LocationUpdate(new WorldPoint(SimulatedMember.BASE_X, SimulatedMember.BASE_Y, 0));
+				locationUpdate.setMemberId(memberId);
+				wsClient.send(locationUpdate);
+
+				SkillUpdate skillUpdate = new SkillUpdate(Skill.HITPOINTS, ++ticks % 99 + 1, 99);
+				skillUpdate.setMemberId(memberId);
+				wsClient.send(skillUpdate);
+			}
+
+			eventBus.post(new GameTick());
+		}
+
+		@Subscribe
+		public void onUserJoin(UserJoin userJoin)
+		{
+			if (NAME.equals(userJoin.getName()))
+			{
+				memberId = userJoin.getMemberId();
+			}
+
+			SimulatedMember member = membersByName.get(userJoin.getName());
+			if (member != null)
+			{
+				members.put(userJoin.getMemberId(), member);
+			}
+		}
+
+		@Subscribe
+		public void onLocationUpdate(LocationUpdate locationUpdate)
+		{
+			record(locationUpdate.getMemberId(), locationUpdate.getWorldPoint().getX() - SimulatedMember.BASE_X);
+		}
+
+		@Subscribe
+		public void onSkillUpdate(SkillUpdate skillUpdate)
+		{
+			record(skillUpdate.getMemberId(), skillUpdate.getValue());
+		}
+
+		private void record(UUID memberId, int slot)
+		{
+			SimulatedMember member = members.get(memberId);
+			if (member == null)
+			{
+				// our own update
+				return;
+			}
+
+			if (count == latencies.length)
+			{
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = System.nanoTime() - member.getSendTime(slot);
+		}
+
+		private void reset()
+		{
+			count = 0;
+		}
+
+		private Result result()
+		{
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			return new Result(sorted, count);
+		}
+
+		private class Result
+		{
+			private final long[] sorted;
+			private final int count;
+
+			private Result(long[] sorted, int count)
+			{
+				this.sorted = sorted;
+				this.count = count;
+			}
+
+			/**
+			 * @return the latency at the given percentile, in milliseconds
+			 */
+			private double percentile(double percentile)
+			{
+				if (count == 0)
+				{
+					return 0;
+				}
+
+				int index = (int) Math.ceil(percentile / 100 * count) - 1;
+				return sorted[Math.max(0, Math.min(index, count - 1))] / 1e6;
+			}
+		}
+	}
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.party;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.ws.WebsocketGsonFactory;
+import net.runelite.http.api.ws.WebsocketMessage;
+import net.runelite.http.api.ws.messages.Handshake;
+import net.runelite.http.api.ws.messages.party.UserJoin;
+import net.runelite.http.api.ws.messages.party.UserPart;
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * A local stand-in for the party part of the RuneLite websocket service. Members join a party with
+ * {@code Join} and leave with {@code Part}, and are told about each other with {@code UserJoin} and
+ * {@code UserPart}. Any message flagged as a party message, including plugin messages the server
+ * doesn't know, is stamped with the sender's member id and relayed to the whole party.
+ * <p>
+ * Members which ask for batching in their {@code Handshake} are sent one back to acknowledge it. A
+ * {@code PartyBatch} is relayed as-is to those members, and as separate messages to the others.
+ * <p>
+ * Point a client at it with {@code -Drunelite.ws.url=<url>}.
+ */
+@Slf4j
+public class PartyServer implements AutoCloseable
+{
+	private static final Logger MOCK_WEB_SERVER_LOGGER = Logger.getLogger(MockWebServer.class.getName());
+
+	private final MockWebServer server = new MockWebServer();
+	private final Gson gson = WebsocketGsonFactory.build();
+	private final JsonParser parser = new JsonParser();
+	private final Map<UUID, List<Connection>> parties = new ConcurrentHashMap<>();
+
+	private final AtomicLong received = new AtomicLong();
+	private final AtomicLong sent = new AtomicLong();
+
+	public PartyServer()
+	{
+		// MockWebServer logs every request
+		MOCK_WEB_SERVER_LOGGER.setLevel(Level.WARNING);
+		server.setDispatcher(new Dispatcher()
+		{
+			@Override
+			public MockResponse dispatch(RecordedRequest request)
+			{
+				return new MockResponse().withWebSocketUpgrade(new Connection());
+			}
+		});
+	}
+
+	public void start(int port) throws IOException
+	{
+		server.start(port);
+		log.info("Party server listening on {}", getUrl());
+	}
+
+	public HttpUrl getUrl()
+	{
+		return server.url("/ws");
+	}
+
+	/**
+	 * @return the number of messages received from members
+	 */
+	public long getReceived()
+	{
+		return received.get();
+	}
+
+	/**
+	 * @return the number of messages sent to members
+	 */
+	public long getSent()
+	{
+		return sent.get();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		server.shutdown();
+	}
+
+	private class Connection extends WebSocketListener
+	{
+		// these are read by the other members' connections
+		private volatile WebSocket webSocket;
+		private volatile UUID partyId;
+		private volatile UUID memberId;
+		private volatile String name;
+		private volatile boolean batching;
+		private UUID session;
+
+		@Override
+		public void onOpen(WebSocket webSocket, Response response)
+		{
+			this.webSocket = webSocket;
+		}
+
+		@Override
+		public void onMessage(WebSocket webSocket, String text)
+		{
+			received.incrementAndGet();
+
+			final JsonObject message;
+			try
+			{
+				message = parser.parse(text).getAsJsonObject();
+			}
+			catch (JsonParseException | IllegalStateException e)
+			{
+				log.debug("Bad message from {}: {}", session, text);
+				return;
+			}
+
+			final JsonElement type = message.get("type");
+			if (type == null)
+			{
+				return;
+			}
+
+			switch (type.getAsString())
+			{
+				case "Handshake":
+					session = UUID.fromString(message.get("session").getAsString());
+					JsonElement batching = message.get("batching");
+					if (batching != null && batching.getAsBoolean())
+					{
+						this.batching = true;
+						Handshake handshake = new Handshake();
+						handshake.setBatching(true);
+						send(handshake);
+					}
+					break;
+				case "Join":
+					part();
+					join(UUID.fromString(message.get("partyId").getAsString()), message.get("name").getAsString());
+					break;
+				case "Part":
+					part();
+					break;
+				default:
+					JsonElement party = message.get("_party");
+					if (memberId != null && party != null && party.getAsBoolean())
+					{
+						// members can only speak for themselves
+						message.addProperty("memberId", memberId.toString());
+						relay(type.getAsString(), message);
+					}
+					break;
+			}
+		}
+
+		@Override
+		public void onClosing(WebSocket webSocket, int code, String reason)
+		{
+			part();
+			webSocket.close(1000, null);
+		}
+
+		@Override
+		public void onFailure(WebSocket webSocket, Throwable t, Response response)
+		{
+			part();
+		}
+
+		private void join(UUID partyId, String name)
+		{
+			synchronized (parties)
+			{
+				this.partyId = partyId;
+				this.memberId = UUID.randomUUID();
+				this.name = name;
+
+				List<Connection> members = parties.computeIfAbsent(partyId, k -> new CopyOnWriteArrayList<>());
+				for (Connection member : members)
+				{
+					send(new UserJoin(member.memberId, partyId, member.name));
+				}
+
+				members.add(this);
+				broadcast(gson.toJson(new UserJoin(memberId, partyId, name), WebsocketMessage.class));
+			}
+			log.debug("{} joined party {} as {}", name, partyId, memberId);
+		}
+
+		private void part()
+		{
+			// parting races between the reader thread closing and the writer thread failing
+			synchronized (parties)
+			{
+				if (partyId == null)
+				{
+					return;
+				}
+
+				List<Connection> members = parties.get(partyId);
+				if (members != null && members.remove(this))
+				{
+					broadcast(gson.toJson(new UserPart(memberId), WebsocketMessage.class));
+					if (members.isEmpty())
+					{
+						parties.remove(partyId);
+					}
+				}
+
+				partyId = null;
+				memberId = null;
+			}
+		}
+
+		private void broadcast(String text)
+		{
+			final List<Connection> members = members();
+			if (members == null)
+			{
+				return;
+			}
+
+			for (Connection member : members)
+			{
+				member.webSocket.send(text);
+				sent.incrementAndGet();
+			}
+		}
+
+		private void relay(String type, JsonObject message)
+		{
+			if (!"PartyBatch".equals(type))
+			{
+				broadcast(message.toString());
+				return;
+			}
+
+			final List<Connection> members = members();
+			if (members == null)
+			{
+				return;
+			}
+
+			final String text = message.toString();
+			List<String> unbatched = null;
+			for (Connection member : members)
+			{
+				if (member.batching)
+				{
+					member.webSocket.send(text);
+					sent.incrementAndGet();
+					continue;
+				}
+
+				if (unbatched == null)
+				{
+					unbatched = unbatch(message);
+				}
+
+				for (String batched : unbatched)
+				{
+					member.webSocket.send(batched);
+					sent.incrementAndGet();
+				}
+			}
+		}
+
+		/**
+		 * Split a batch into its party messages, each stamped with the member id of the batch
+		 */
+		private List<String> unbatch(JsonObject batch)
+		{
+			final List<String> messages = new ArrayList<>();
+			final JsonElement batched = batch.get("messages");
+			if (batched == null || !batched.isJsonArray())
+			{
+				return messages;
+			}
+
+			for (JsonElement element : batched.getAsJsonArray())
+			{
+				if (!element.isJsonObject())
+				{
+					continue;
+				}
+
+				JsonObject message = element.getAsJsonObject();
+				JsonElement party = message.get("_party");
+				if (party != null && party.getAsBoolean())
+				{
+					message.add("memberId", batch.get("memberId"));
+					messages.add(message.toString());
+				}
+			}
+			return messages;
+		}
+
+		private List<Connection> members()
+		{
+			final UUID partyId = this.partyId;
+			return partyId != null ? parties.get(partyId) : null;
+		}
+
+		private void send(WebsocketMessage message)
+		{
+			webSocket.send(gson.toJson(message, WebsocketMessage.class));
+			sent.incrementAndGet();
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		PartyServer server = new PartyServer();
+		server.start(args.length > 0 ? Integer.parseInt(args[0]) : 0);
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.party;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.Getter;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.party.messages.LocationUpdate;
+import net.runelite.client.plugins.party.messages.SkillUpdate;
+import net.runelite.http.api.ws.WebsocketMessage;
+import net.runelite.http.api.ws.messages.Handshake;
+import net.runelite.http.api.ws.messages.party.Join;
+import net.runelite.http.api.ws.messages.party.PartyBatch;
+import net.runelite.http.api.ws.messages.party.UserJoin;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+/**
+ * A party member which only sends updates, on a raw websocket so that many can be simulated cheaply.
+ * The tick an update was sent on is encoded in it so that the observing client can measure latency.
+ */
+class SimulatedMember extends WebSocketListener
+{
+	/**
+	 * Send times are kept for this many ticks, which bounds the latency which can be measured
+	 */
+	static final int HISTORY = 64;
+	static final int BASE_X = 3200;
+	static final int BASE_Y = 3200;
+
+	private final Gson gson;
+	private final JsonParser parser = new JsonParser();
+	@Getter
+	private final String name;
+	private final int index;
+	private final boolean batch;
+	private final AtomicLongArray sendTimes = new AtomicLongArray(HISTORY);
+
+	private WebSocket webSocket;
+	private volatile UUID memberId;
+	// set once the server acknowledges batching
+	private volatile boolean batching;
+
+	SimulatedMember(Gson gson, String name, int index, boolean batch)
+	{
+		this.gson = gson;
+		this.name = name;
+		this.index = index;
+		this.batch = batch;
+	}
+
+	void connect(OkHttpClient okHttpClient, HttpUrl url, UUID partyId)
+	{
+		Request request = new Request.Builder()
+			.url(url)
+			.build();
+		webSocket = okHttpClient.newWebSocket(request, this);
+
+		Handshake handshake = new Handshake();
+		handshake.setSession(UUID.randomUUID());
+		handshake.setBatching(batch);
+		send(handshake);
+		send(new Join(partyId, name));
+	}
+
+	boolean isJoined()
+	{
+		return memberId != null;
+	}
+
+	void tick(int tick)
+	{
+		if (memberId == null)
+		{
+			return;
+		}
+
+		final int slot = tick % HISTORY;
+		sendTimes.set(slot, System.nanoTime());
+
+		LocationUpdate locationUpdate = new LocationUpdate(new WorldPoint(BASE_X + slot, BASE_Y + index, 0));
+		locationUpdate.setMemberId(memberId);
+		SkillUpdate skillUpdate = new SkillUpdate(Skill.HITPOINTS, slot, 99);
+		skillUpdate.setMemberId(memberId);
+
+		if (batching)
+		{
+			PartyBatch partyBatch = new PartyBatch(Arrays.<WebsocketMessage>asList(locationUpdate, skillUpdate));
+			partyBatch.setMemberId(memberId);
+			send(partyBatch);
+		}
+		else
+		{
+			send(locationUpdate);
+			send(skillUpdate);
+		}
+	}
+
+	/**
+	 * @return the time the update with the given slot was sent, from {@link System#nanoTime()}
+	 */
+	long getSendTime(int slot)
+	{
+		return sendTimes.get(slot);
+	}
+
+	void close()
+	{
+		webSocket.close(1000, null);
+	}
+
+	private void send(WebsocketMessage message)
+	{
+		webSocket.send(gson.toJson(message, WebsocketMessage.class));
+	}
+
+	@Override
+	public void onMessage(WebSocket webSocket, String text)
+	{
+		if (memberId != null)
+		{
+			// the other members' updates are ignored without decoding them
+			return;
+		}
+
+		final JsonObject message;
+		try
+		{
+			message = parser.parse(text).getAsJsonObject();
+		}
+		catch (JsonParseException | IllegalStateException e)
+		{
+			return;
+		}
+
+		final JsonElement type = message.get("type");
+		if (type == null)
+		{
+			return;
+		}
+
+		if ("Handshake".equals(type.getAsString()))
+		{
+			JsonElement batching = message.get("batching");
+			this.batching = batching != null && batching.getAsBoolean();
+		}
+		else if ("UserJoin".equals(type.getAsString()))
+		{
+			UserJoin userJoin = (UserJoin) gson.fromJson(message, WebsocketMessage.class);
+			if (name.equals(userJoin.getName()))
+			{
+				memberId = userJoin.getMemberId();
+			}
+		}
+	}
+
+	@Override
+	public void onFailure(WebSocket webSocket, Throwable t, Response response)
+	{
+		memberId = null;
+	}
+}
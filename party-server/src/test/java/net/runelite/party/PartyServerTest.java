@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.party;
+
+import com.google.gson.Gson;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import net.runelite.http.api.ws.WebsocketGsonFactory;
+import net.runelite.http.api.ws.WebsocketMessage;
+import net.runelite.http.api.ws.messages.Handshake;
+import net.runelite.http.api.ws.messages.party.Join;
+import net.runelite.http.api.ws.messages.party.PartyBatch;
+import net.runelite.http.api.ws.messages.party.PartyChatMessage;
+import net.runelite.http.api.ws.messages.party.UserJoin;
+import net.runelite.http.api.ws.messages.party.UserPart;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PartyServerTest
+{
+	private final Gson gson = WebsocketGsonFactory.build();
+	private final OkHttpClient okHttpClient = new OkHttpClient();
+	private PartyServer server;
+
+	@Before
+	public void before() throws Exception
+	{
+		server = new PartyServer();
+		server.start(0);
+	}
+
+	@After
+	public void after() throws Exception
+	{
+		server.close();
+	}
+
+	@Test
+	public void testParty() throws Exception
+	{
+		final UUID partyId = UUID.randomUUID();
+		final Member zezima = new Member();
+		final Member adam = new Member();
+
+		zezima.send(new Join(partyId, "Zezima"));
+		UserJoin zezimaJoin = zezima.receive(UserJoin.class);
+		assertEquals("Zezima", zezimaJoin.getName());
+
+		// existing members are sent to the new member, followed by the new member itself
+		adam.send(new Join(partyId, "Adam"));
+		assertEquals(zezimaJoin.getMemberId(), adam.receive(UserJoin.class).getMemberId());
+		UserJoin adamJoin = adam.receive(UserJoin.class);
+		assertEquals("Adam", adamJoin.getName());
+		assertEquals(adamJoin.getMemberId(), zezima.receive(UserJoin.class).getMemberId());
+
+		// party messages are relayed with the sender's member id
+		PartyChatMessage chat = new PartyChatMessage("hello");
+		chat.setMemberId(zezimaJoin.getMemberId());
+		adam.send(chat);
+		PartyChatMessage relayed = zezima.receive(PartyChatMessage.class);
+		assertEquals("hello", relayed.getValue());
+		assertEquals(adamJoin.getMemberId(), relayed.getMemberId());
+		assertEquals(adamJoin.getMemberId(), adam.receive(PartyChatMessage.class).getMemberId());
+
+		adam.webSocket.close(1000, null);
+		assertEquals(adamJoin.getMemberId(), zezima.receive(UserPart.class).getMemberId());
+	}
+
+	@Test
+	public void testBatching() throws Exception
+	{
+		final UUID partyId = UUID.randomUUID();
+		final Member zezima = new Member();
+		final Member adam = new Member();
+
+		Handshake handshake = new Handshake();
+		handshake.setSession(UUID.randomUUID());
+		handshake.setBatching(true);
+		adam.send(handshake);
+		assertTrue(adam.receive(Handshake.class).isBatching());
+
+		zezima.send(new Join(partyId, "Zezima"));
+		zezima.receive(UserJoin.class);
+		adam.send(new Join(partyId, "Adam"));
+		adam.receive(UserJoin.class);
+		UserJoin adamJoin = adam.receive(UserJoin.class);
+		zezima.receive(UserJoin.class);
+
+		adam.send(new PartyBatch(Arrays.<WebsocketMessage>asList(new PartyChatMessage("one"), new PartyChatMessage("two"))));
+		PartyBatch batch = adam.receive(PartyBatch.class);
+		assertEquals(2, batch.getMessages().size());
+		assertEquals(adamJoin.getMemberId(), batch.getMemberId());
+
+		// zezima didn't ask for batching, so gets the messages one at a time
+		PartyChatMessage one = zezima.receive(PartyChatMessage.class);
+		assertEquals("one", one.getValue());
+		assertEquals(adamJoin.getMemberId(), one.getMemberId());
+		assertEquals("two", zezima.receive(PartyChatMessage.class).getValue());
+	}
+
+	private class Member extends WebSocketListener
+	{
+		private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+		private final WebSocket webSocket;
+
+		private Member()
+		{
+			Request request = new Request.Builder()
+				.url(server.getUrl())
+				.build();
+			webSocket = okHttpClient.newWebSocket(request, this);
+		}
+
+		private void send(WebsocketMessage message)
+		{
+			webSocket.send(gson.toJson(message, WebsocketMessage.class));
+		}
+
+		private <T extends WebsocketMessage> T receive(Class<T> type) throws InterruptedException
+		{
+			String text = received.poll(5, TimeUnit.SECONDS);
+			assertNotNull("no message received", text);
+			return type.cast(gson.fromJson(text, WebsocketMessage.class));
+		}
+
+		@Override
+		public void onMessage(WebSocket webSocket, String text)
+		{
+			received.add(text);
+		}
+	}
+}
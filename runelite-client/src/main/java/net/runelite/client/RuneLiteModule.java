@@ -49,6 +49,7 @@ import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.menus.MenuManager;
 import net.runelite.client.plugins.PluginManager;
+import net.runelite.client.profiler.Profiler;
 import net.runelite.client.task.Scheduler;
 import net.runelite.client.util.DeferredEventBus;
 import net.runelite.client.util.ExecutorServiceExceptionLogger;
@@ -92,9 +93,6 @@ public class RuneLiteModule extends AbstractModule
 
 		bind(Callbacks.class).to(Hooks.class);
 
-		bind(EventBus.class)
-			.toInstance(new EventBus());
-
 		bind(EventBus.class)
 			.annotatedWith(Names.named("Deferred EventBus"))
 			.to(DeferredEventBus.class);
@@ -107,6 +105,15 @@ public class RuneLiteModule extends AbstractModule
 		return clientLoader.get();
 	}
 
+	@Provides
+	@Singleton
+	EventBus provideEventBus(Profiler profiler)
+	{
+		final EventBus eventBus = new EventBus();
+		eventBus.setProfiler(profiler);
+		return eventBus;
+	}
+
 	@Provides
 	@Singleton
 	Client provideClient(@Nullable Applet applet)
@@ -60,6 +60,8 @@ import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.input.MouseManager;
+import net.runelite.client.profiler.Histogram;
+import net.runelite.client.profiler.Profiler;
 import net.runelite.client.task.Scheduler;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.DrawManager;
@@ -96,6 +98,14 @@ public class Hooks implements Callbacks
 	private final DrawManager drawManager;
 	private final Notifier notifier;
 	private final ClientUI clientUi;
+	private final Profiler profiler;
+
+	private final Histogram deferredReplayTime;
+	private final Histogram gameTickTime;
+	private final Histogram beforeRenderTime;
+	private final Histogram clientThreadTime;
+	private final Histogram schedulerTime;
+	private final Histogram mainLoopTasksTime;
 
 	private Dimension lastStretchedDimensions;
 	private VolatileImage stretchedImage;
@@ -144,7 +154,8 @@ public class Hooks implements Callbacks
 		ClientThread clientThread,
 		DrawManager drawManager,
 		Notifier notifier,
-		ClientUI clientUi
+		ClientUI clientUi,
+		Profiler profiler
 	)
 	{
 		this.client = client;
@@ -160,6 +171,13 @@ public class Hooks implements Callbacks
 		this.drawManager = drawManager;
 		this.notifier = notifier;
 		this.clientUi = clientUi;
+		this.profiler = profiler;
+		this.deferredReplayTime = profiler.getHistogram(Profiler.Category.MAIN_LOOP, "deferred replay");
+		this.gameTickTime = profiler.getHistogram(Profiler.Category.MAIN_LOOP, "GameTick");
+		this.beforeRenderTime = profiler.getHistogram(Profiler.Category.MAIN_LOOP, "BeforeRender");
+		this.clientThreadTime = profiler.getHistogram(Profiler.Category.MAIN_LOOP, "clientThread.invoke");
+		this.schedulerTime = profiler.getHistogram(Profiler.Category.MAIN_LOOP, "scheduler.tick");
+		this.mainLoopTasksTime = profiler.getHistogram(Profiler.Category.MAIN_LOOP, "main loop tasks");
 		eventBus.register(this);
 	}
 
@@ -178,21 +196,27 @@ public class Hooks implements Callbacks
 	@Override
 	public void clientMainLoop()
 	{
+		long time = profiler.start();
+
 		if (shouldProcessGameTick)
 		{
 			shouldProcessGameTick = false;
 
 			deferredEventBus.replay();
+			time = profiler.record(deferredReplayTime, time);
 
 			eventBus.post(GAME_TICK);
+			time = profiler.record(gameTickTime, time);
 
 			int tick = client.getTickCount();
 			client.setTickCount(tick + 1);
 		}
 
 		eventBus.post(BEFORE_RENDER);
+		time = profiler.record(beforeRenderTime, time);
 
 		clientThread.invoke();
+		time = profiler.record(clientThreadTime, time);
 
 		long now = System.nanoTime();
 
@@ -207,6 +231,7 @@ public class Hooks implements Callbacks
 		{
 			// tick pending scheduled tasks
 			scheduler.tick();
+			time = profiler.record(schedulerTime, time);
 
 			// cull infoboxes
 			infoBoxManager.cull();
@@ -214,6 +239,7 @@ public class Hooks implements Callbacks
 			chatMessageManager.process();
 
 			checkWorldMap();
+			profiler.record(mainLoopTasksTime, time);
 		}
 		catch (Exception ex)
 		{
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.annotation.Nullable;
+
+/**
+ * Configuration values, keyed by whole key and partitioned by config group.
+ * <p>
+ * Each group is a concurrent sorted map, so reads never lock, a write only touches the one key,
+ * and keys sharing a prefix are adjacent within their group. Writes are serialized on this object.
+ */
+class ConfigData
+{
+	private volatile ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<>();
+
+	@Nullable
+	String get(String wholeKey)
+	{
+		return get(groupOf(wholeKey), wholeKey);
+	}
+
+	/**
+	 * Get a value
+	 *
+	 * @param group    the group of the key, which is the part of the whole key up to the first period
+	 * @param wholeKey the whole key
+	 * @return the value, or null if it is not set
+	 */
+	@Nullable
+	String get(String group, String wholeKey)
+	{
+		final Group g = groups.get(group);
+		return g == null ? null : g.values.get(wholeKey);
+	}
+
+	/**
+	 * Set a value
+	 *
+	 * @return the previous value
+	 */
+	@Nullable
+	synchronized String put(String group, String wholeKey, String value)
+	{
+		final Group g = groups.computeIfAbsent(group, k -> new Group(new ConcurrentSkipListMap<>()));
+		final String oldValue = g.values.get(wholeKey);
+		if (!value.equals(oldValue))
+		{
+			g.put(wholeKey, value);
+		}
+		return oldValue;
+	}
+
+	/**
+	 * Remove a value
+	 *
+	 * @return the removed value
+	 */
+	@Nullable
+	synchronized String remove(String group, String wholeKey)
+	{
+		final Group g = groups.get(group);
+		final String oldValue = g == null ? null : g.values.get(wholeKey);
+		if (oldValue != null)
+		{
+			g.remove(wholeKey);
+			if (g.values.isEmpty())
+			{
+				groups.remove(group);
+			}
+		}
+		return oldValue;
+	}
+
+	/**
+	 * Replace all values
+	 *
+	 * @param values whole key to value
+	 */
+	synchronized void replace(Map<String, String> values)
+	{
+		final Map<String, TreeMap<String, String>> grouped = new HashMap<>();
+		for (Map.Entry<String, String> entry : values.entrySet())
+		{
+			grouped.computeIfAbsent(groupOf(entry.getKey()), k -> new TreeMap<>())
+				.put(entry.getKey(), entry.getValue());
+		}
+
+		final ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<>(grouped.size());
+		for (Map.Entry<String, TreeMap<String, String>> entry : grouped.entrySet())
+		{
+			groups.put(entry.getKey(), new Group(new ConcurrentSkipListMap<>(entry.getValue())));
+		}
+		this.groups = groups;
+	}
+
+	/**
+	 * Copy all values
+	 *
+	 * @return whole key to value
+	 */
+	Map<String, String> snapshot()
+	{
+		final Map<String, String> values = new HashMap<>();
+		for (Group group : groups.values())
+		{
+			values.putAll(group.values);
+		}
+		return values;
+	}
+
+	/**
+	 * Get all keys starting with a prefix, in sorted order within each group
+	 */
+	List<String> keys(String prefix)
+	{
+		final List<String> keys = new ArrayList<>();
+		final int dot = prefix.indexOf('.');
+		if (dot != -1)
+		{
+			final Group group = groups.get(prefix.substring(0, dot));
+			if (group != null)
+			{
+				group.keys(prefix, keys);
+			}
+			return keys;
+		}
+
+		// the prefix does not span a whole group name, so it may match keys in any number of groups
+		for (Map.Entry<String, Group> entry : groups.entrySet())
+		{
+			if (entry.getKey().startsWith(prefix))
+			{
+				entry.getValue().keys(prefix, keys);
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Write the values in properties file format. Groups which have not changed since
+	 * they were last written reuse their previously encoded text.
+	 */
+	void store(Writer writer, String comment) throws IOException
+	{
+		final String newline = System.lineSeparator();
+		writer.write('#');
+		writer.write(comment);
+		writer.write(newline);
+		writer.write('#');
+		writer.write(new Date().toString());
+		writer.write(newline);
+
+		final SortedMap<String, Group> sorted = new TreeMap<>(groups);
+		for (Group group : sorted.values())
+		{
+			writer.write(group.encode(newline));
+		}
+		writer.flush();
+	}
+
+	static String groupOf(String wholeKey)
+	{
+		final int dot = wholeKey.indexOf('.');
+		return dot == -1 ? wholeKey : wholeKey.substring(0, dot);
+	}
+
+	private static final class Group
+	{
+		private final ConcurrentSkipListMap<String, String> values;
+		// properties file text for this group, encoded on the first save after it last changed.
+		// Changes and encoding are synchronized on the group, so a save can't cache a stale encoding.
+		private String encoded;
+
+		private Group(ConcurrentSkipListMap<String, String> values)
+		{
+			this.values = values;
+		}
+
+		synchronized void put(String wholeKey, String value)
+		{
+			values.put(wholeKey, value);
+			encoded = null;
+		}
+
+		synchronized void remove(String wholeKey)
+		{
+			values.remove(wholeKey);
+			encoded = null;
+		}
+
+		void keys(String prefix, List<String> out)
+		{
+			for (String key : values.tailMap(prefix).keySet())
+			{
+				if (!key.startsWith(prefix))
+				{
+					break;
+				}
+				out.add(key);
+			}
+		}
+
+		synchronized String encode(String newline)
+		{
+			String encoded = this.encoded;
+			if (encoded == null)
+			{
+				final StringBuilder sb = new StringBuilder();
+				for (Map.Entry<String, String> entry : values.entrySet())
+				{
+					escape(sb, entry.getKey(), true);
+					sb.append('=');
+					escape(sb, entry.getValue(), false);
+					sb.append(newline);
+				}
+				this.encoded = encoded = sb.toString();
+			}
+			return encoded;
+		}
+	}
+
+	/**
+	 * Escape a key or value the same as {@link java.util.Properties#store(Writer, String)}
+	 */
+	private static void escape(StringBuilder sb, String s, boolean escapeSpace)
+	{
+		for (int i = 0; i < s.length(); ++i)
+		{
+			final char c = s.charAt(i);
+			switch (c)
+			{
+				case ' ':
+					if (i == 0 || escapeSpace)
+					{
+						sb.append('\\');
+					}
+					sb.append(' ');
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\f':
+					sb.append("\\f");
+					break;
+				case '=':
+				case ':':
+				case '#':
+				case '!':
+				case '\\':
+					sb.append('\\').append(c);
+					break;
+				default:
+					sb.append(c);
+					break;
+			}
+		}
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind log of configuration changes made since the properties file was last written.
+ * <p>
+ * Changes are coalesced per key in memory and appended to the journal file in a single write
+ * by {@link #flush(File)}, so that a burst of updates costs one small append instead of a rewrite
+ * of the whole properties file. The journal is replayed on top of the properties file when it is
+ * loaded, and truncated whenever the properties file is rewritten.
+ * <p>
+ * Each record is one line: {@code S<key>\t<value>} for a set, or {@code U<key>} for an unset, with
+ * backslash, tab, and line breaks escaped. A trailing partial line from an interrupted write is ignored.
+ */
+@Slf4j
+class ConfigJournal
+{
+	private static final char SET = 'S';
+	private static final char UNSET = 'U';
+
+	// whole key -> value, or null for an unset. Guarded by itself, never held during IO
+	private final Map<String, String> pending = new LinkedHashMap<>();
+
+	static File journalFile(File propertiesFile)
+	{
+		return new File(propertiesFile.getParentFile(), propertiesFile.getName() + ".journal");
+	}
+
+	/**
+	 * Record a change
+	 *
+	 * @param value the new value, or null if the key was unset
+	 * @return true if this is the first change since the last flush
+	 */
+	boolean add(String wholeKey, @Nullable String value)
+	{
+		synchronized (pending)
+		{
+			boolean first = pending.isEmpty();
+			pending.put(wholeKey, value);
+			return first;
+		}
+	}
+
+	/**
+	 * Append the pending changes to the journal of the given properties file
+	 *
+	 * @return the number of records written
+	 */
+	synchronized int flush(File propertiesFile) throws IOException
+	{
+		final Map<String, String> changes;
+		synchronized (pending)
+		{
+			if (pending.isEmpty())
+			{
+				return 0;
+			}
+
+			changes = new LinkedHashMap<>(pending);
+			pending.clear();
+		}
+
+		final StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String, String> entry : changes.entrySet())
+		{
+			final String value = entry.getValue();
+			sb.append(value == null ? UNSET : SET);
+			escape(sb, entry.getKey());
+			if (value != null)
+			{
+				sb.append('\t');
+				escape(sb, value);
+			}
+			sb.append('\n');
+		}
+
+		final File file = journalFile(propertiesFile);
+		file.getParentFile().mkdirs();
+		try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)))
+		{
+			out.write(sb.toString());
+		}
+		return changes.size();
+	}
+
+	/**
+	 * Delete the journal of the given properties file. This must be called with the journal
+	 * locked, after the properties file has been written, so that no flush lands in between.
+	 */
+	void truncate(File propertiesFile)
+	{
+		final File file = journalFile(propertiesFile);
+		if (file.exists() && !file.delete())
+		{
+			log.warn("unable to delete config journal {}", file);
+		}
+	}
+
+	/**
+	 * Read the journal of the given properties file
+	 *
+	 * @return the changes in the journal, in order, with null values for unsets
+	 */
+	static Map<String, String> read(File propertiesFile) throws IOException
+	{
+		final Map<String, String> changes = new LinkedHashMap<>();
+		final File file = journalFile(propertiesFile);
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))
+		{
+			final StringBuilder line = new StringBuilder();
+			int c;
+			while ((c = in.read()) != -1)
+			{
+				if (c != '\n')
+				{
+					line.append((char) c);
+					continue;
+				}
+
+				parse(line, changes);
+				line.setLength(0);
+			}
+		}
+		catch (FileNotFoundException ex)
+		{
+			// no journal
+		}
+		return changes;
+	}
+
+	private static void parse(CharSequence line, Map<String, String> changes)
+	{
+		if (line.length() < 2)
+		{
+			return;
+		}
+
+		final char op = line.charAt(0);
+		final String record = line.subSequence(1, line.length()).toString();
+		final int tab = record.indexOf('\t');
+		if (op == SET && tab != -1)
+		{
+			changes.put(unescape(record.substring(0, tab)), unescape(record.substring(tab + 1)));
+		}
+		else if (op == UNSET && tab == -1)
+		{
+			changes.put(unescape(record), null);
+		}
+		else
+		{
+			log.debug("skipping malformed config journal record: {}", record);
+		}
+	}
+
+	private static void escape(StringBuilder sb, String s)
+	{
+		for (int i = 0; i < s.length(); ++i)
+		{
+			final char c = s.charAt(i);
+			switch (c)
+			{
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				default:
+					sb.append(c);
+			}
+		}
+	}
+
+	private static String unescape(String s)
+	{
+		if (s.indexOf('\\') == -1)
+		{
+			return s;
+		}
+
+		final StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); ++i)
+		{
+			char c = s.charAt(i);
+			if (c == '\\' && i + 1 < s.length())
+			{
+				c = s.charAt(++i);
+				switch (c)
+				{
+					case 't':
+						c = '\t';
+						break;
+					case 'n':
+						c = '\n';
+						break;
+					case 'r':
+						c = '\r';
+						break;
+				}
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+}
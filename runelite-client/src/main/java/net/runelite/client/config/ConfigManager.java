@@ -27,13 +27,13 @@ package net.runelite.client.config;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -116,9 +116,12 @@ public class ConfigManager
 	private static final int KEY_SPLITTER_PROFILE = 1;
 	private static final int KEY_SPLITTER_KEY = 2;
 
+	private static final int JOURNAL_DEBOUNCE_MS = 1000;
+
 	private final File settingsFileInput;
 	private final EventBus eventBus;
 	private final OkHttpClient okHttpClient;
+	private final ScheduledExecutorService scheduledExecutorService;
 
 	private AccountSession session;
 	private ConfigClient configClient;
@@ -129,8 +132,9 @@ public class ConfigManager
 
 	private final ConfigInvocationHandler handler = new ConfigInvocationHandler(this);
 	private final Map<String, String> pendingChanges = new HashMap<>();
+	private final ConfigJournal journal = new ConfigJournal();
 
-	private Properties properties = new Properties();
+	private final ConfigData configData = new ConfigData();
 
 	// null => we need to make a new profile
 	@Nullable
@@ -147,6 +151,7 @@ public class ConfigManager
 		this.settingsFileInput = config;
 		this.eventBus = eventBus;
 		this.okHttpClient = okHttpClient;
+		this.scheduledExecutorService = scheduledExecutorService;
 		this.client = client;
 		this.propertiesFile = getPropertiesFile();
 
@@ -234,10 +239,11 @@ public class ConfigManager
 
 		log.debug("Loading in config from server");
 		swapProperties(newProperties, false);
+		replayJournal();
 
 		try
 		{
-			saveToFile(propertiesFile);
+			compact();
 
 			log.debug("Updated configuration on disk with the latest version");
 		}
@@ -249,23 +255,29 @@ public class ConfigManager
 
 	private void swapProperties(Properties newProperties, boolean saveToServer)
 	{
-		Set<Object> allKeys = new HashSet<>(newProperties.keySet());
+		Map<String, String> newValues = new HashMap<>();
+		for (String key : newProperties.stringPropertyNames())
+		{
+			newValues.put(key, newProperties.getProperty(key));
+		}
 
-		Properties oldProperties;
+		Set<String> allKeys = new HashSet<>(newValues.keySet());
+
+		Map<String, String> oldValues;
 		synchronized (this)
 		{
 			handler.invalidate();
-			oldProperties = properties;
-			this.properties = newProperties;
+			oldValues = configData.snapshot();
+			configData.replace(newValues);
 		}
 
 		updateRSProfile();
 
-		allKeys.addAll(oldProperties.keySet());
+		allKeys.addAll(oldValues.keySet());
 
-		for (Object wholeKey : allKeys)
+		for (String wholeKey : allKeys)
 		{
-			String[] split = splitKey((String) wholeKey);
+			String[] split = splitKey(wholeKey);
 			if (split == null)
 			{
 				continue;
@@ -274,8 +286,8 @@ public class ConfigManager
 			String groupName = split[KEY_SPLITTER_GROUP];
 			String profile = split[KEY_SPLITTER_PROFILE];
 			String key = split[KEY_SPLITTER_KEY];
-			String oldValue = (String) oldProperties.get(wholeKey);
-			String newValue = (String) newProperties.get(wholeKey);
+			String oldValue = oldValues.get(wholeKey);
+			String newValue = newValues.get(wholeKey);
 
 			if (Objects.equals(oldValue, newValue))
 			{
@@ -296,8 +308,9 @@ public class ConfigManager
 			{
 				synchronized (pendingChanges)
 				{
-					pendingChanges.put((String) wholeKey, newValue);
+					pendingChanges.put(wholeKey, newValue);
 				}
+				journal(wholeKey, newValue);
 			}
 		}
 
@@ -364,6 +377,101 @@ public class ConfigManager
 
 		log.debug("Loading in config from disk");
 		swapProperties(newProperties, false);
+		replayJournal();
+	}
+
+	/**
+	 * Apply changes which were journaled but not yet written to the properties file, eg. because
+	 * the client crashed. They are reapplied as regular changes so they are also sent to the server,
+	 * and then the properties file is rewritten so the journal doesn't accumulate the same changes
+	 * again on every start.
+	 */
+	private void replayJournal()
+	{
+		Map<String, String> changes;
+		try
+		{
+			changes = ConfigJournal.read(propertiesFile);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to read config journal", ex);
+			return;
+		}
+
+		if (changes.isEmpty())
+		{
+			return;
+		}
+
+		log.info("Replaying {} configuration changes from journal", changes.size());
+
+		for (Map.Entry<String, String> entry : changes.entrySet())
+		{
+			String[] split = splitKey(entry.getKey());
+			if (split == null)
+			{
+				continue;
+			}
+
+			String groupName = split[KEY_SPLITTER_GROUP];
+			String profile = split[KEY_SPLITTER_PROFILE];
+			String key = split[KEY_SPLITTER_KEY];
+			if (entry.getValue() == null)
+			{
+				unsetConfiguration(groupName, profile, key);
+			}
+			else
+			{
+				setConfiguration(groupName, profile, key, entry.getValue());
+			}
+		}
+
+		try
+		{
+			compact();
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to save replayed configuration", ex);
+		}
+	}
+
+	private void journal(String wholeKey, @Nullable String value)
+	{
+		if (journal.add(wholeKey, value))
+		{
+			// first change since the last flush, anything else within the window is coalesced into the same append
+			scheduledExecutorService.schedule(this::flushJournal, JOURNAL_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void flushJournal()
+	{
+		try
+		{
+			int count = journal.flush(propertiesFile);
+			log.trace("Journaled {} configuration changes", count);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to write config journal", ex);
+		}
+	}
+
+	/**
+	 * Rewrite the properties file and discard the journal, whose contents it now includes
+	 */
+	private void compact() throws IOException
+	{
+		final File propertiesFile = this.propertiesFile;
+		synchronized (journal)
+		{
+			// get everything into the journal first, so a failed write below loses nothing
+			journal.flush(propertiesFile);
+			saveToFile(propertiesFile);
+			journal.truncate(propertiesFile);
+		}
 	}
 
 	private void saveToFile(final File propertiesFile) throws IOException
@@ -377,7 +485,7 @@ public class ConfigManager
 		try (FileOutputStream out = new FileOutputStream(tempFile))
 		{
 			out.getChannel().lock();
-			properties.store(new OutputStreamWriter(out, StandardCharsets.UTF_8), "RuneLite configuration");
+			configData.store(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), "RuneLite configuration");
 			// FileOutputStream.close() closes the associated channel, which frees the lock
 		}
 
@@ -409,7 +517,7 @@ public class ConfigManager
 
 	public List<String> getConfigurationKeys(String prefix)
 	{
-		return properties.keySet().stream().filter(v -> ((String) v).startsWith(prefix)).map(String.class::cast).collect(Collectors.toList());
+		return configData.keys(prefix);
 	}
 
 	public static String getWholeKey(String groupName, String profile, String key)
@@ -442,7 +550,7 @@ public class ConfigManager
 
 	public String getConfiguration(String groupName, String profile, String key)
 	{
-		return properties.getProperty(getWholeKey(groupName, profile, key));
+		return configData.get(groupName, getWholeKey(groupName, profile, key));
 	}
 
 	public <T> T getConfiguration(String groupName, String key, Class<T> clazz)
@@ -492,11 +600,7 @@ public class ConfigManager
 
 		assert !key.startsWith(RSPROFILE_GROUP + ".");
 		String wholeKey = getWholeKey(groupName, profile, key);
-		String oldValue;
-		synchronized (this)
-		{
-			oldValue = (String) properties.setProperty(wholeKey, value);
-		}
+		String oldValue = configData.put(groupName, wholeKey, value);
 
 		if (Objects.equals(oldValue, value))
 		{
@@ -510,6 +614,7 @@ public class ConfigManager
 		{
 			pendingChanges.put(wholeKey, value);
 		}
+		journal(wholeKey, value);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -576,11 +681,7 @@ public class ConfigManager
 	{
 		assert !key.startsWith(RSPROFILE_GROUP + ".");
 		String wholeKey = getWholeKey(groupName, profile, key);
-		String oldValue;
-		synchronized (this)
-		{
-			oldValue = (String) properties.remove(wholeKey);
-		}
+		String oldValue = configData.remove(groupName, wholeKey);
 
 		if (oldValue == null)
 		{
@@ -594,6 +695,7 @@ public class ConfigManager
 		{
 			pendingChanges.put(wholeKey, null);
 		}
+		journal(wholeKey, null);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -888,6 +990,7 @@ public class ConfigManager
 	private CompletableFuture<Void> sendConfig()
 	{
 		CompletableFuture<Void> future = null;
+		Configuration patch = null;
 		synchronized (pendingChanges)
 		{
 			if (pendingChanges.isEmpty())
@@ -897,7 +1000,7 @@ public class ConfigManager
 
 			if (configClient != null)
 			{
-				Configuration patch = new Configuration(pendingChanges.entrySet().stream()
+				patch = new Configuration(pendingChanges.entrySet().stream()
 					.map(e -> new ConfigEntry(e.getKey(), e.getValue()))
 					.collect(Collectors.toList()));
 
@@ -907,9 +1010,22 @@ public class ConfigManager
 			pendingChanges.clear();
 		}
 
+		if (future != null)
+		{
+			// attached once the changes are cleared, so a patch which has already failed is still requeued
+			final Configuration sent = patch;
+			future.whenComplete((v, ex) ->
+			{
+				if (ex != null)
+				{
+					requeue(sent);
+				}
+			});
+		}
+
 		try
 		{
-			saveToFile(propertiesFile);
+			compact();
 		}
 		catch (IOException ex)
 		{
@@ -919,18 +1035,32 @@ public class ConfigManager
 		return future;
 	}
 
-	public List<RuneScapeProfile> getRSProfiles()
+	/**
+	 * Queue the entries of a failed patch to be sent again with the next batch, unless they have
+	 * been changed again since
+	 */
+	private void requeue(Configuration patch)
 	{
-		String prefix = RSPROFILE_GROUP + "." + RSPROFILE_GROUP + ".";
-		Set<String> profileKeys = new HashSet<>();
-		for (Object oKey : properties.keySet())
+		log.debug("Requeueing {} configuration changes", patch.getConfig().size());
+		synchronized (pendingChanges)
 		{
-			String key = (String) oKey;
-			if (!key.startsWith(prefix))
+			for (ConfigEntry entry : patch.getConfig())
 			{
-				continue;
+				// an unset is a null value, so putIfAbsent can't be used
+				if (!pendingChanges.containsKey(entry.getKey()))
+				{
+					pendingChanges.put(entry.getKey(), entry.getValue());
+				}
 			}
+		}
+	}
 
+	public List<RuneScapeProfile> getRSProfiles()
+	{
+		String prefix = RSPROFILE_GROUP + "." + RSPROFILE_GROUP + ".";
+		Set<String> profileKeys = new HashSet<>();
+		for (String key : configData.keys(prefix))
+		{
 			String[] split = splitKey(key);
 			if (split == null)
 			{
@@ -1175,7 +1305,7 @@ public class ConfigManager
 			});
 		}
 
-		Set<String> keys = (Set<String>) ImmutableSet.copyOf((Set) properties.keySet());
+		List<String> keys = configData.keys("");
 		keys:
 		for (String key : keys)
 		{
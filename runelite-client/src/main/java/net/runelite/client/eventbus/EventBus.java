@@ -26,8 +26,8 @@
 package net.runelite.client.eventbus;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -35,14 +35,22 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.profiler.Histogram;
+import net.runelite.client.profiler.Profiler;
 import net.runelite.client.util.ReflectUtil;
 
 @Slf4j
@@ -72,10 +80,51 @@ public class EventBus
 		}
 	}
 
+	private static final Subscriber[] EMPTY = new Subscriber[0];
+
+	private static final Comparator<Subscriber> SUBSCRIBER_ORDER = Comparator.comparing(Subscriber::getPriority).reversed()
+		.thenComparing(s -> s.object.getClass().getName());
+
+	/**
+	 * The subscribers of a single event class, sorted in the order they are called
+	 */
+	private static class Slot
+	{
+		private volatile Subscriber[] subscribers = EMPTY;
+		private volatile Timings timings;
+	}
+
+	/**
+	 * Profiler histograms for each subscriber in a slot, valid while the slot still has the same subscribers
+	 */
+	@RequiredArgsConstructor
+	private static class Timings
+	{
+		private final Subscriber[] subscribers;
+		private final Histogram[] histograms;
+	}
+
 	private final Consumer<Throwable> exceptionHandler;
 
-	@Nonnull
-	private ImmutableMultimap<Class<?>, Subscriber> subscribers = ImmutableMultimap.of();
+	private final ClassValue<Slot> slots = new ClassValue<Slot>()
+	{
+		@Override
+		protected Slot computeValue(Class<?> type)
+		{
+			return new Slot();
+		}
+	};
+
+	/**
+	 * Event classes which have at least one subscriber
+	 */
+	private final Set<Class<?>> subscribedClasses = new HashSet<>();
+
+	/**
+	 * Profiler to record subscriber timings to, if any
+	 */
+	@Setter
+	private volatile Profiler profiler;
 
 	/**
 	 * Instantiates EventBus with default exception handler
@@ -94,10 +143,10 @@ public class EventBus
 	 */
 	public synchronized void register(@Nonnull final Object object)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparing(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
+		// the superclass check below is against the subscribers registered before this object
+		final Set<Class<?>> previouslySubscribed = new HashSet<>(subscribedClasses);
+		// validate every method before adding any, so a bad method doesn't leave the object partly registered
+		final Multimap<Class<?>, Subscriber> subscribers = ArrayListMultimap.create();
 
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
@@ -121,7 +170,7 @@ public class EventBus
 
 				for (Class<?> psc = parameterClazz.getSuperclass(); psc != null; psc = psc.getSuperclass())
 				{
-					if (subscribers.containsKey(psc))
+					if (previouslySubscribed.contains(psc))
 					{
 						throw new IllegalArgumentException("@Subscribed method \"" + method + "\" cannot subscribe to class which inherits from subscribed class \"" + psc + "\"");
 					}
@@ -154,28 +203,67 @@ public class EventBus
 					log.warn("Unable to create lambda for method {}", method, e);
 				}
 
-				final Subscriber subscriber = new Subscriber(object, method, sub.priority(), lambda);
-				builder.put(parameterClazz, subscriber);
-				log.debug("Registering {} - {}", parameterClazz, subscriber);
+				subscribers.put(parameterClazz, new Subscriber(object, method, sub.priority(), lambda));
 			}
 		}
 
-		subscribers = builder.build();
+		subscribers.forEach((parameterClazz, subscriber) ->
+		{
+			add(parameterClazz, subscriber);
+			log.debug("Registering {} - {}", parameterClazz, subscriber);
+		});
 	}
 
 	public synchronized <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparing(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
-
 		Subscriber sub = new Subscriber(subFn, null, priority, (Consumer<Object>) subFn);
-		builder.put(clazz, sub);
+		add(clazz, sub);
+		return sub;
+	}
 
-		subscribers = builder.build();
+	private void add(Class<?> clazz, Subscriber subscriber)
+	{
+		final Slot slot = slots.get(clazz);
+		final Subscriber[] subscribers = slot.subscribers;
 
-		return sub;
+		// insert after any subscribers which compare equal, so they keep registration order
+		int idx = 0;
+		while (idx < subscribers.length && SUBSCRIBER_ORDER.compare(subscribers[idx], subscriber) <= 0)
+		{
+			++idx;
+		}
+
+		final Subscriber[] newSubscribers = new Subscriber[subscribers.length + 1];
+		System.arraycopy(subscribers, 0, newSubscribers, 0, idx);
+		newSubscribers[idx] = subscriber;
+		System.arraycopy(subscribers, idx, newSubscribers, idx + 1, subscribers.length - idx);
+
+		slot.subscribers = newSubscribers;
+		subscribedClasses.add(clazz);
+	}
+
+	private void remove(Predicate<Subscriber> filter)
+	{
+		for (final Iterator<Class<?>> it = subscribedClasses.iterator(); it.hasNext(); )
+		{
+			final Slot slot = slots.get(it.next());
+			final Subscriber[] subscribers = slot.subscribers;
+
+			if (Arrays.stream(subscribers).noneMatch(filter))
+			{
+				continue;
+			}
+
+			final Subscriber[] newSubscribers = Arrays.stream(subscribers)
+				.filter(filter.negate())
+				.toArray(Subscriber[]::new);
+
+			slot.subscribers = newSubscribers.length == 0 ? EMPTY : newSubscribers;
+			if (newSubscribers.length == 0)
+			{
+				it.remove();
+			}
+		}
 	}
 
 	/**
@@ -185,10 +273,7 @@ public class EventBus
 	 */
 	public synchronized void unregister(@Nonnull final Object object)
 	{
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> e.getValue().getObject() != object
-		));
+		remove(s -> s.getObject() == object);
 	}
 
 	public synchronized void unregister(Subscriber sub)
@@ -198,10 +283,7 @@ public class EventBus
 			return;
 		}
 
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> sub != e.getValue()
-		));
+		remove(s -> s == sub);
 	}
 
 	/**
@@ -212,8 +294,49 @@ public class EventBus
 	 */
 	public void post(@Nonnull final Object event)
 	{
-		for (final Subscriber subscriber : subscribers.get(event.getClass()))
+		final Slot slot = slots.get(event.getClass());
+		final Subscriber[] subscribers = slot.subscribers;
+
+		final Profiler profiler = this.profiler;
+		if (profiler != null && profiler.isEnabled())
+		{
+			postProfiled(profiler, slot, subscribers, event);
+			return;
+		}
+
+		for (int i = 0; i < subscribers.length; ++i)
+		{
+			final Subscriber subscriber = subscribers[i];
+			try
+			{
+				subscriber.invoke(event);
+			}
+			catch (Exception e)
+			{
+				exceptionHandler.accept(e);
+			}
+		}
+	}
+
+	private void postProfiled(Profiler profiler, Slot slot, Subscriber[] subscribers, Object event)
+	{
+		Timings timings = slot.timings;
+		if (timings == null || timings.subscribers != subscribers)
+		{
+			final Histogram[] histograms = new Histogram[subscribers.length];
+			for (int i = 0; i < subscribers.length; ++i)
+			{
+				histograms[i] = profiler.getHistogram(Profiler.Category.SUBSCRIBER, subscriberName(subscribers[i], event.getClass()));
+			}
+			timings = new Timings(subscribers, histograms);
+			slot.timings = timings;
+		}
+
+		final Histogram[] histograms = timings.histograms;
+		for (int i = 0; i < subscribers.length; ++i)
 		{
+			final Subscriber subscriber = subscribers[i];
+			final long start = System.nanoTime();
 			try
 			{
 				subscriber.invoke(event);
@@ -222,6 +345,21 @@ public class EventBus
 			{
 				exceptionHandler.accept(e);
 			}
+			histograms[i].record(System.nanoTime() - start);
 		}
 	}
+
+	private static String subscriberName(Subscriber subscriber, Class<?> eventClass)
+	{
+		final Method method = subscriber.getMethod();
+		if (method != null)
+		{
+			return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+		}
+
+		// lambda subscribers, named after the class which created them
+		final String className = subscriber.getObject().getClass().getName();
+		final int idx = className.indexOf("$$");
+		return (idx != -1 ? className.substring(className.lastIndexOf('.', idx) + 1, idx) : className) + ".on" + eventClass.getSimpleName();
+	}
 }
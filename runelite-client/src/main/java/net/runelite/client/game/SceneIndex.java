@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Point;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.events.DecorativeObjectChanged;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectChanged;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectChanged;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Index of the game, wall, decorative, and ground objects in the scene, by id, name, region, and tile.
+ * <p>
+ * The index is rebuilt with a single walk of the scene when a scene finishes loading, and is kept up
+ * to date from the object spawn, change, and despawn events after that. Its subscribers run before
+ * plugins, so plugins see an index which already includes the object of the event they are handling.
+ * It must only be used from the client thread.
+ */
+@Singleton
+@Slf4j
+public class SceneIndex
+{
+	// run before plugins
+	private static final float PRIORITY = 1;
+
+	private final Client client;
+
+	private final Map<TileObject, Indexed> objects = new IdentityHashMap<>();
+	private final SetMultimap<Integer, TileObject> byId = HashMultimap.create();
+	private final SetMultimap<Integer, TileObject> byRegion = HashMultimap.create();
+	private final SetMultimap<Integer, TileObject> byTile = HashMultimap.create();
+	// built on first use, since it needs the composition of every object
+	@Nullable
+	private SetMultimap<String, TileObject> byName;
+
+	private boolean loading;
+
+	private static final class Indexed
+	{
+		private final int tileKey;
+		private final int regionId;
+		@Nullable
+		private String[] names;
+
+		private Indexed(int tileKey, int regionId)
+		{
+			this.tileKey = tileKey;
+			this.regionId = regionId;
+		}
+	}
+
+	@Inject
+	private SceneIndex(Client client, ClientThread clientThread, EventBus eventBus)
+	{
+		this.client = client;
+		eventBus.register(this);
+
+		// this is created on demand, so the current scene may already be loaded
+		clientThread.invoke(() ->
+		{
+			if (client.getGameState() == GameState.LOGGED_IN)
+			{
+				rebuild();
+			}
+		});
+	}
+
+	/**
+	 * Get the objects with the given id. This is the base id of the object, and not the id of its impostor.
+	 */
+	public Set<TileObject> getObjects(int id)
+	{
+		return Collections.unmodifiableSet(byId.get(id));
+	}
+
+	/**
+	 * Get the objects with the given name. Objects with impostors are also found by the name of each of
+	 * their impostors, since which impostor is shown can change without an event. Callers which care
+	 * about the current impostor must check it.
+	 */
+	public Set<TileObject> getObjects(String name)
+	{
+		if (byName == null)
+		{
+			byName = HashMultimap.create();
+			for (Map.Entry<TileObject, Indexed> entry : objects.entrySet())
+			{
+				indexNames(entry.getKey(), entry.getValue());
+			}
+		}
+		return Collections.unmodifiableSet(byName.get(name));
+	}
+
+	/**
+	 * Get the objects in the given region
+	 */
+	public Set<TileObject> getObjectsInRegion(int regionId)
+	{
+		return Collections.unmodifiableSet(byRegion.get(regionId));
+	}
+
+	/**
+	 * Get the objects on the given tile. Objects which are larger than one tile are only on the tile
+	 * of their south west corner.
+	 */
+	public Set<TileObject> getObjects(int plane, int sceneX, int sceneY)
+	{
+		return Collections.unmodifiableSet(byTile.get(tileKey(plane, sceneX, sceneY)));
+	}
+
+	/**
+	 * The number of objects in the index
+	 */
+	public int size()
+	{
+		return objects.size();
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		switch (event.getGameState())
+		{
+			case LOADING:
+				// the spawn events during the load are superseded by the rebuild once it is done
+				clear();
+				loading = true;
+				break;
+			case LOGGED_IN:
+				if (loading)
+				{
+					loading = false;
+					rebuild();
+				}
+				break;
+			default:
+				clear();
+				loading = true;
+				break;
+		}
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		add(event.getTile(), event.getGameObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameObjectChanged(GameObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getTile(), event.getGameObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		remove(event.getGameObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		add(event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onWallObjectChanged(WallObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		remove(event.getWallObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		add(event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onDecorativeObjectChanged(DecorativeObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		remove(event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		add(event.getTile(), event.getGroundObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGroundObjectChanged(GroundObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getTile(), event.getGroundObject());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		remove(event.getGroundObject());
+	}
+
+	/**
+	 * Index every object in the scene, walking it the same way
+	 * {@link net.runelite.client.util.GameEventManager} does
+	 */
+	private void rebuild()
+	{
+		clear();
+
+		final Scene scene = client.getScene();
+		final Tile[][][] tiles = scene.getTiles();
+
+		for (int z = 0; z < Constants.MAX_Z; ++z)
+		{
+			for (int x = 0; x < Constants.SCENE_SIZE; ++x)
+			{
+				for (int y = 0; y < Constants.SCENE_SIZE; ++y)
+				{
+					Tile tile = tiles[z][x][y];
+
+					if (tile == null)
+					{
+						continue;
+					}
+
+					add(tile, tile.getWallObject());
+					add(tile, tile.getDecorativeObject());
+					add(tile, tile.getGroundObject());
+
+					for (GameObject object : tile.getGameObjects())
+					{
+						// objects larger than one tile are on each tile they cover
+						if (object != null && object.getSceneMinLocation().equals(tile.getSceneLocation()))
+						{
+							add(tile, object);
+						}
+					}
+				}
+			}
+		}
+
+		log.debug("Indexed {} scene objects", objects.size());
+	}
+
+	private void clear()
+	{
+		objects.clear();
+		byId.clear();
+		byRegion.clear();
+		byTile.clear();
+		byName = null;
+	}
+
+	private void add(Tile tile, @Nullable TileObject object)
+	{
+		if (object == null || loading || objects.containsKey(object))
+		{
+			return;
+		}
+
+		final Point location = tile.getSceneLocation();
+		final Indexed indexed = new Indexed(tileKey(tile.getPlane(), location.getX(), location.getY()),
+			object.getWorldLocation().getRegionID());
+		objects.put(object, indexed);
+		byId.put(object.getId(), object);
+		byRegion.put(indexed.regionId, object);
+		byTile.put(indexed.tileKey, object);
+		if (byName != null)
+		{
+			indexNames(object, indexed);
+		}
+	}
+
+	private void remove(@Nullable TileObject object)
+	{
+		if (object == null)
+		{
+			return;
+		}
+
+		final Indexed indexed = objects.remove(object);
+		if (indexed == null)
+		{
+			return;
+		}
+
+		byId.remove(object.getId(), object);
+		byRegion.remove(indexed.regionId, object);
+		byTile.remove(indexed.tileKey, object);
+		if (byName != null && indexed.names != null)
+		{
+			for (String name : indexed.names)
+			{
+				byName.remove(name, object);
+			}
+		}
+	}
+
+	private void indexNames(TileObject object, Indexed indexed)
+	{
+		final ObjectComposition comp = client.getObjectDefinition(object.getId());
+		if (comp == null)
+		{
+			indexed.names = new String[0];
+			return;
+		}
+
+		final Set<String> names = new LinkedHashSet<>();
+		names.add(comp.getName());
+		if (comp.getImpostorIds() != null)
+		{
+			for (int impostorId : comp.getImpostorIds())
+			{
+				final ObjectComposition impostor = impostorId != -1 ? client.getObjectDefinition(impostorId) : null;
+				if (impostor != null)
+				{
+					names.add(impostor.getName());
+				}
+			}
+		}
+
+		indexed.names = names.toArray(new String[0]);
+		for (String name : indexed.names)
+		{
+			byName.put(name, object);
+		}
+	}
+
+	private static int tileKey(int plane, int sceneX, int sceneY)
+	{
+		return plane << 16 | sceneX << 8 | sceneY;
+	}
+}
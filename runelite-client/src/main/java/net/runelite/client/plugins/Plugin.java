@@ -28,6 +28,12 @@ import com.google.inject.Binder;
 import com.google.inject.Injector;
 import com.google.inject.Module;
 
+/**
+ * A plugin. Plugins are instantiated and injected by {@link PluginManager#loadPlugins}, which may do so
+ * off the client's startup thread and concurrently with other plugins, so constructors and field
+ * initializers must not depend on running on any particular thread. Plugins are started and stopped
+ * on the event dispatch thread.
+ */
 public abstract class Plugin implements Module
 {
 	protected Injector injector;
@@ -25,19 +25,25 @@
 package net.runelite.client.plugins;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -45,15 +51,21 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -86,6 +98,15 @@ public class PluginManager
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 
+	/**
+	 * Plugin classes in {@link #PLUGIN_PACKAGE}, one per line, written by the build-plugin-index goal
+	 */
+	private static final String PLUGIN_INDEX = "runelite/plugin-index";
+	/**
+	 * The number of threads plugins are instantiated on. Setting it to 1 instantiates them on the calling thread.
+	 */
+	private static final String LOADER_THREADS_PROPERTY = "runelite.pluginloader.threads";
+
 	private final boolean developerMode;
 	private final boolean safeMode;
 	private final EventBus eventBus;
@@ -263,16 +284,80 @@ public class PluginManager
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading Plugins");
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+		Stopwatch stopwatch = Stopwatch.createStarted();
 
-		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
-			.map(ClassInfo::load)
-			.collect(Collectors.toList());
+		List<Class<?>> plugins = null;
+		// in developer mode the index may be stale, since IDEs don't run the build goal which writes it
+		if (!developerMode)
+		{
+			plugins = readPluginIndex(getClass().getClassLoader());
+		}
+
+		if (plugins == null)
+		{
+			ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+
+			plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
+				.map(ClassInfo::load)
+				.collect(Collectors.toList());
+		}
+
+		log.info("Found {} plugin classes in {}", plugins.size(), stopwatch);
 
 		loadPlugins(plugins, (loaded, total) ->
 			SplashScreen.stage(.60, .70, null, "Loading Plugins", loaded, total, false));
 	}
 
+	/**
+	 * Load the classes listed in the plugin index written at build time
+	 *
+	 * @return the classes, or null if there is no index
+	 */
+	@Nullable
+	@VisibleForTesting
+	static List<Class<?>> readPluginIndex(ClassLoader classLoader) throws IOException
+	{
+		InputStream in = classLoader.getResourceAsStream(PLUGIN_INDEX);
+		if (in == null)
+		{
+			log.debug("No plugin index, scanning the classpath");
+			return null;
+		}
+
+		List<Class<?>> plugins = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.isEmpty())
+				{
+					continue;
+				}
+
+				try
+				{
+					plugins.add(classLoader.loadClass(line));
+				}
+				catch (ClassNotFoundException ex)
+				{
+					log.warn("Plugin index lists missing class {}", line);
+				}
+			}
+		}
+		return plugins;
+	}
+
+	/**
+	 * Instantiate the given plugin classes. Plugins which don't depend on each other are instantiated
+	 * concurrently on a pool of threads, so their constructors, field initializers and injection, including
+	 * the first construction of any singletons they inject, may run off the calling thread and concurrently
+	 * with other plugins. The {@value #LOADER_THREADS_PROPERTY} system property sets the number of threads.
+	 *
+	 * @param plugins the plugin classes
+	 * @param onPluginLoaded called on the calling thread with the number of plugins loaded so far and the total
+	 * @return the instantiated plugins
+	 */
 	public List<Plugin> loadPlugins(List<Class<?>> plugins, BiConsumer<Integer, Integer> onPluginLoaded) throws PluginInstantiationException
 	{
 		MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
@@ -339,31 +424,72 @@ public class PluginManager
 			throw new PluginInstantiationException("Plugin dependency graph contains a cycle!");
 		}
 
-		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
-		sortedPlugins = Lists.reverse(sortedPlugins);
+		List<List<Class<? extends Plugin>>> levels = topologicalLevels(graph);
+		int total = graph.nodes().size();
+		int threads = Math.min(Math.max(1, Integer.getInteger(LOADER_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors())),
+			levels.stream().mapToInt(List::size).max().orElse(1));
+		Stopwatch stopwatch = Stopwatch.createStarted();
+
+		// Plugins in the same level don't depend on each other, so they can be instantiated in
+		// parallel once all of the plugins in the previous levels are done
+		ExecutorService executor = threads > 1
+			? Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+				.setNameFormat("plugin-loader-%d")
+				.setDaemon(true)
+				.build())
+			: MoreExecutors.newDirectExecutorService();
 
 		int loaded = 0;
 		List<Plugin> newPlugins = new ArrayList<>();
-		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+		try
 		{
-			Plugin plugin;
-			try
+			for (List<Class<? extends Plugin>> level : levels)
 			{
-				plugin = instantiate(this.plugins, (Class<Plugin>) pluginClazz);
-				newPlugins.add(plugin);
-				this.plugins.add(plugin);
-			}
-			catch (PluginInstantiationException ex)
-			{
-				log.warn("Error instantiating plugin!", ex);
-			}
+				List<Future<Plugin>> futures = new ArrayList<>(level.size());
+				for (Class<? extends Plugin> pluginClazz : level)
+				{
+					futures.add(executor.submit(() -> instantiate(this.plugins, (Class<Plugin>) pluginClazz)));
+				}
 
-			loaded++;
-			if (onPluginLoaded != null)
-			{
-				onPluginLoaded.accept(loaded, sortedPlugins.size());
+				// Collect in order so the plugin list doesn't depend on scheduling
+				for (Future<Plugin> future : futures)
+				{
+					try
+					{
+						Plugin plugin = future.get();
+						newPlugins.add(plugin);
+						this.plugins.add(plugin);
+					}
+					catch (ExecutionException ex)
+					{
+						Throwable cause = ex.getCause();
+						if (!(cause instanceof PluginInstantiationException))
+						{
+							Throwables.throwIfUnchecked(cause);
+							throw new PluginInstantiationException(cause);
+						}
+						log.warn("Error instantiating plugin!", cause);
+					}
+					catch (InterruptedException ex)
+					{
+						Thread.currentThread().interrupt();
+						throw new PluginInstantiationException(ex);
+					}
+
+					loaded++;
+					if (onPluginLoaded != null)
+					{
+						onPluginLoaded.accept(loaded, total);
+					}
+				}
 			}
 		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		log.info("Instantiated {} plugins in {} levels on {} threads in {}", newPlugins.size(), levels.size(), threads, stopwatch);
 
 		return newPlugins;
 	}
@@ -605,40 +731,49 @@ public class PluginManager
 	}
 
 	/**
-	 * Topologically sort a graph. Uses Kahn's algorithm.
-	 *
-	 * @param graph
-	 * @param <T>
-	 * @return
+	 * Group the nodes of a dependency graph, in which edges point from a node to the nodes it
+	 * depends on, into levels. Every node comes after all of its dependencies, and the nodes
+	 * within a level do not depend on each other.
 	 */
-	private <T> List<T> topologicalSort(Graph<T> graph)
+	@VisibleForTesting
+	static <T> List<List<T>> topologicalLevels(Graph<T> graph)
 	{
-		MutableGraph<T> graphCopy = Graphs.copyOf(graph);
-		List<T> l = new ArrayList<>();
-		Set<T> s = graphCopy.nodes().stream()
-			.filter(node -> graphCopy.inDegree(node) == 0)
-			.collect(Collectors.toSet());
-		while (!s.isEmpty())
+		Map<T, Integer> unresolved = new HashMap<>();
+		List<T> level = new ArrayList<>();
+		for (T node : graph.nodes())
 		{
-			Iterator<T> it = s.iterator();
-			T n = it.next();
-			it.remove();
+			int dependencies = graph.outDegree(node);
+			unresolved.put(node, dependencies);
+			if (dependencies == 0)
+			{
+				level.add(node);
+			}
+		}
 
-			l.add(n);
+		List<List<T>> levels = new ArrayList<>();
+		int resolved = 0;
+		while (!level.isEmpty())
+		{
+			levels.add(level);
+			resolved += level.size();
 
-			for (T m : graphCopy.successors(n))
+			List<T> next = new ArrayList<>();
+			for (T node : level)
 			{
-				graphCopy.removeEdge(n, m);
-				if (graphCopy.inDegree(m) == 0)
+				for (T dependent : graph.predecessors(node))
 				{
-					s.add(m);
+					if (unresolved.merge(dependent, -1, Integer::sum) == 0)
+					{
+						next.add(dependent);
+					}
 				}
 			}
+			level = next;
 		}
-		if (!graphCopy.edges().isEmpty())
+		if (resolved != graph.nodes().size())
 		{
 			throw new RuntimeException("Graph has at least one cycle");
 		}
-		return l;
+		return levels;
 	}
 }
@@ -30,15 +30,10 @@ import com.google.common.base.CharMatcher;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableSet;
 import com.google.inject.Provides;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 import javax.inject.Inject;
 import net.runelite.api.ChatMessageType;
 import static net.runelite.api.ChatMessageType.ENGINE;
@@ -91,8 +86,8 @@ public class ChatFilterPlugin extends Plugin
 	);
 
 	private final CharMatcher jagexPrintableCharMatcher = Text.JAGEX_PRINTABLE_CHAR_MATCHER;
-	private final List<Pattern> filteredPatterns = new ArrayList<>();
-	private final List<Pattern> filteredNamePatterns = new ArrayList<>();
+	private MessageFilter messageFilter = MessageFilter.EMPTY;
+	private MessageFilter nameFilter = MessageFilter.EMPTY;
 
 	private static class Duplicate
 	{
@@ -136,7 +131,8 @@ public class ChatFilterPlugin extends Plugin
 	@Override
 	protected void shutDown() throws Exception
 	{
-		filteredPatterns.clear();
+		messageFilter = MessageFilter.EMPTY;
+		nameFilter = MessageFilter.EMPTY;
 		duplicateChatCache.clear();
 		client.refreshChat();
 	}
@@ -294,65 +290,24 @@ public class ChatFilterPlugin extends Plugin
 			}
 		}
 
-		boolean filtered = false;
-		for (Pattern pattern : filteredPatterns)
+		switch (config.filterType())
 		{
-			Matcher m = pattern.matcher(strippedMessage);
-
-			StringBuffer sb = new StringBuffer();
-
-			while (m.find())
-			{
-				switch (config.filterType())
-				{
-					case CENSOR_WORDS:
-						m.appendReplacement(sb, StringUtils.repeat('*', m.group(0).length()));
-						filtered = true;
-						break;
-					case CENSOR_MESSAGE:
-						return CENSOR_MESSAGE;
-					case REMOVE_MESSAGE:
-						return null;
-				}
-			}
-			m.appendTail(sb);
-
-			strippedMessage = sb.toString();
+			case CENSOR_WORDS:
+				String censored = messageFilter.censor(strippedMessage);
+				return censored != null ? censored : message;
+			case CENSOR_MESSAGE:
+				return messageFilter.matches(strippedMessage) ? CENSOR_MESSAGE : message;
+			case REMOVE_MESSAGE:
+				return messageFilter.matches(strippedMessage) ? null : message;
 		}
 
-		return filtered ? strippedMessage : message;
+		return message;
 	}
 
 	void updateFilteredPatterns()
 	{
-		filteredPatterns.clear();
-		filteredNamePatterns.clear();
-
-		Text.fromCSV(config.filteredWords()).stream()
-			.map(s -> Pattern.compile(Pattern.quote(s), Pattern.CASE_INSENSITIVE))
-			.forEach(filteredPatterns::add);
-
-		NEWLINE_SPLITTER.splitToList(config.filteredRegex()).stream()
-			.map(ChatFilterPlugin::compilePattern)
-			.filter(Objects::nonNull)
-			.forEach(filteredPatterns::add);
-
-		NEWLINE_SPLITTER.splitToList(config.filteredNames()).stream()
-			.map(ChatFilterPlugin::compilePattern)
-			.filter(Objects::nonNull)
-			.forEach(filteredNamePatterns::add);
-	}
-
-	private static Pattern compilePattern(String pattern)
-	{
-		try
-		{
-			return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
-		}
-		catch (PatternSyntaxException ex)
-		{
-			return null;
-		}
+		messageFilter = new MessageFilter(Text.fromCSV(config.filteredWords()), NEWLINE_SPLITTER.splitToList(config.filteredRegex()));
+		nameFilter = new MessageFilter(Collections.emptyList(), NEWLINE_SPLITTER.splitToList(config.filteredNames()));
 	}
 
 	@Subscribe
@@ -373,14 +328,6 @@ public class ChatFilterPlugin extends Plugin
 	boolean shouldFilterByName(final String playerName)
 	{
 		String sanitizedName = Text.standardize(playerName);
-		for (Pattern pattern : filteredNamePatterns)
-		{
-			Matcher m = pattern.matcher(sanitizedName);
-			if (m.find())
-			{
-				return true;
-			}
-		}
-		return false;
+		return nameFilter.matches(sanitizedName);
 	}
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.chatfilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A set of literal words and regular expressions which are matched against a message in one pass.
+ * Words are matched by an Aho-Corasick automaton, and regular expressions are joined into
+ * a single alternation unless they contain constructs which would change meaning when joined.
+ */
+@Slf4j
+class MessageFilter
+{
+	static final MessageFilter EMPTY = new MessageFilter(Collections.emptyList(), Collections.emptyList());
+
+	/**
+	 * Matches backreferences, named groups, comments mode and \Q quoting, all of which either
+	 * refer to group numbers or can escape the group they are wrapped in.
+	 */
+	private static final Pattern UNJOINABLE = Pattern.compile("\\\\(?:[1-9]|k<|Q)|\\(\\?<[a-zA-Z]|\\(\\?[a-zA-Z]*x");
+
+	private final WordMatcher words;
+	private final Pattern[] patterns;
+
+	MessageFilter(Collection<String> words, Collection<String> regexes)
+	{
+		this.words = new WordMatcher(words);
+
+		List<Pattern> patterns = new ArrayList<>();
+		StringBuilder joined = new StringBuilder();
+		for (String regex : regexes)
+		{
+			Pattern pattern = compile(regex);
+			if (pattern == null)
+			{
+				continue;
+			}
+
+			if (UNJOINABLE.matcher(regex).find())
+			{
+				patterns.add(pattern);
+				continue;
+			}
+
+			if (joined.length() > 0)
+			{
+				joined.append('|');
+			}
+			joined.append("(?:").append(regex).append(')');
+		}
+
+		if (joined.length() > 0)
+		{
+			Pattern pattern = compile(joined.toString());
+			if (pattern != null)
+			{
+				patterns.add(pattern);
+			}
+			else
+			{
+				log.debug("Unable to join filter patterns, falling back to matching them separately");
+				for (String regex : regexes)
+				{
+					if (!UNJOINABLE.matcher(regex).find())
+					{
+						Pattern p = compile(regex);
+						if (p != null)
+						{
+							patterns.add(p);
+						}
+					}
+				}
+			}
+		}
+
+		this.patterns = patterns.toArray(new Pattern[0]);
+	}
+
+	/**
+	 * Test if any word or pattern matches the message
+	 */
+	boolean matches(String message)
+	{
+		if (words.find(message))
+		{
+			return true;
+		}
+
+		for (Pattern pattern : patterns)
+		{
+			if (pattern.matcher(message).find())
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Replace every word and pattern match in the message with asterisks
+	 *
+	 * @return the censored message, or null if nothing matched
+	 */
+	String censor(String message)
+	{
+		final char[] chars = message.toCharArray();
+		boolean matched = words.censor(message, chars);
+
+		for (Pattern pattern : patterns)
+		{
+			Matcher m = pattern.matcher(message);
+			while (m.find())
+			{
+				matched = true;
+				for (int i = m.start(); i < m.end(); ++i)
+				{
+					chars[i] = '*';
+				}
+			}
+		}
+
+		return matched ? new String(chars) : null;
+	}
+
+	private static Pattern compile(String pattern)
+	{
+		try
+		{
+			return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
+		}
+		catch (PatternSyntaxException ex)
+		{
+			return null;
+		}
+	}
+}
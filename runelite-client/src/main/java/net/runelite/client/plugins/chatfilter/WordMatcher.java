@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.chatfilter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton for finding any number of case insensitive words in a single pass over a message
+ */
+class WordMatcher
+{
+	private static final int ROOT = 0;
+
+	// transitions of node n are in [edgeOffsets[n], edgeOffsets[n + 1]), sorted by char
+	private final int[] edgeOffsets;
+	private final char[] edgeChars;
+	private final int[] edgeTargets;
+	private final int[] fail;
+	// length of the longest word ending at each node, including via its fail links, or 0
+	private final int[] matchLength;
+
+	WordMatcher(Collection<String> words)
+	{
+		List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+		List<Integer> wordLength = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		wordLength.add(0);
+
+		for (String word : words)
+		{
+			if (word.isEmpty())
+			{
+				continue;
+			}
+
+			int node = ROOT;
+			for (int i = 0; i < word.length(); ++i)
+			{
+				char c = toLowerCase(word.charAt(i));
+				Integer next = trie.get(node).get(c);
+				if (next == null)
+				{
+					next = trie.size();
+					trie.add(new TreeMap<>());
+					wordLength.add(0);
+					trie.get(node).put(c, next);
+				}
+				node = next;
+			}
+			wordLength.set(node, word.length());
+		}
+
+		final int nodes = trie.size();
+		edgeOffsets = new int[nodes + 1];
+		for (int n = 0; n < nodes; ++n)
+		{
+			edgeOffsets[n + 1] = edgeOffsets[n] + trie.get(n).size();
+		}
+
+		edgeChars = new char[edgeOffsets[nodes]];
+		edgeTargets = new int[edgeOffsets[nodes]];
+		for (int n = 0; n < nodes; ++n)
+		{
+			int i = edgeOffsets[n];
+			for (Map.Entry<Character, Integer> entry : trie.get(n).entrySet())
+			{
+				edgeChars[i] = entry.getKey();
+				edgeTargets[i] = entry.getValue();
+				++i;
+			}
+		}
+
+		fail = new int[nodes];
+		matchLength = new int[nodes];
+
+		// fail links are built breadth first so that the fail link of each parent is already known
+		Deque<Integer> queue = new ArrayDeque<>();
+		queue.add(ROOT);
+		while (!queue.isEmpty())
+		{
+			int node = queue.poll();
+			for (int i = edgeOffsets[node]; i < edgeOffsets[node + 1]; ++i)
+			{
+				int child = edgeTargets[i];
+				if (node == ROOT)
+				{
+					fail[child] = ROOT;
+				}
+				else
+				{
+					fail[child] = step(fail[node], edgeChars[i]);
+				}
+
+				matchLength[child] = Math.max(wordLength.get(child), matchLength[fail[child]]);
+				queue.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Test if any word occurs in the text
+	 */
+	boolean find(CharSequence text)
+	{
+		int state = ROOT;
+		for (int i = 0, len = text.length(); i < len; ++i)
+		{
+			state = step(state, toLowerCase(text.charAt(i)));
+			if (matchLength[state] > 0)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Replace every occurrence of a word in the text with asterisks
+	 *
+	 * @param text text to search
+	 * @param chars the characters of the text, which are censored in place
+	 * @return whether any word was found
+	 */
+	boolean censor(CharSequence text, char[] chars)
+	{
+		boolean found = false;
+		int state = ROOT;
+		for (int i = 0, len = text.length(); i < len; ++i)
+		{
+			state = step(state, toLowerCase(text.charAt(i)));
+			// shorter words ending here are suffixes of this one, so censoring the longest covers them
+			for (int j = i + 1 - matchLength[state]; j <= i; ++j)
+			{
+				chars[j] = '*';
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	private int step(int state, char c)
+	{
+		while (true)
+		{
+			int next = transition(state, c);
+			if (next != -1)
+			{
+				return next;
+			}
+			if (state == ROOT)
+			{
+				return ROOT;
+			}
+			state = fail[state];
+		}
+	}
+
+	private int transition(int node, char c)
+	{
+		int lo = edgeOffsets[node];
+		int hi = edgeOffsets[node + 1] - 1;
+		while (lo <= hi)
+		{
+			int mid = (lo + hi) >>> 1;
+			char m = edgeChars[mid];
+			if (m < c)
+			{
+				lo = mid + 1;
+			}
+			else if (m > c)
+			{
+				hi = mid - 1;
+			}
+			else
+			{
+				return edgeTargets[mid];
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * Case folding is ascii only, which matches Pattern.CASE_INSENSITIVE
+	 * without UNICODE_CASE.
+	 */
+	private static char toLowerCase(char c)
+	{
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+}
@@ -36,6 +36,7 @@ import java.awt.Rectangle;
 import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -95,6 +96,7 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.events.OverlayMenuClicked;
 import net.runelite.client.game.ItemManager;
+import net.runelite.client.game.SceneIndex;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDependency;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -176,6 +178,9 @@ public class ClueScrollPlugin extends Plugin
 	@Inject
 	private ItemManager itemManager;
 
+	@Inject
+	private SceneIndex sceneIndex;
+
 	@Inject
 	private OverlayManager overlayManager;
 
@@ -936,9 +941,9 @@ public class ClueScrollPlugin extends Plugin
 	}
 
 	/**
-	 * Scans all of the current plane's loaded tiles for {@link TileObject}s and passes any found objects to
-	 * {@link ClueScrollPlugin#checkClueNamedObject(ClueScroll, TileObject)} for storing in the cache of discovered
-	 * named objects.
+	 * Looks up the {@link TileObject}s on the current plane which may have the clue's object names, or in its
+	 * regions, and passes any found objects to {@link ClueScrollPlugin#checkClueNamedObject(ClueScroll, TileObject)},
+	 * which checks their current impostor, for storing in the cache of discovered named objects.
 	 *
 	 * @param clue The active clue scroll
 	 */
@@ -949,25 +954,33 @@ public class ClueScrollPlugin extends Plugin
 			return;
 		}
 
-		// Search loaded tiles for objects
-		for (final Tile[] tiles : client.getScene().getTiles()[client.getPlane()])
+		final NamedObjectClueScroll namedObjectClue = (NamedObjectClueScroll) clue;
+		final int[] regionIds = namedObjectClue.getObjectRegions();
+		final int plane = client.getPlane();
+
+		if (regionIds != null)
 		{
-			for (final Tile tile : tiles)
+			for (final int regionId : regionIds)
 			{
-				if (tile == null)
-				{
-					continue;
-				}
-
-				for (final GameObject object : tile.getGameObjects())
-				{
-					if (object == null)
-					{
-						continue;
-					}
+				checkClueNamedObjects(clue, sceneIndex.getObjectsInRegion(regionId), plane);
+			}
+		}
+		else if (namedObjectClue.getObjectNames() != null)
+		{
+			for (final String name : namedObjectClue.getObjectNames())
+			{
+				checkClueNamedObjects(clue, sceneIndex.getObjects(name), plane);
+			}
+		}
+	}
 
-					checkClueNamedObject(clue, object);
-				}
+	private void checkClueNamedObjects(final ClueScroll clue, final Collection<TileObject> objects, final int plane)
+	{
+		for (final TileObject object : objects)
+		{
+			if (object instanceof GameObject && object.getPlane() == plane)
+			{
+				checkClueNamedObject(clue, object);
 			}
 		}
 	}
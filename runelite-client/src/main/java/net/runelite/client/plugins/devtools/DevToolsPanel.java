@@ -58,6 +58,7 @@ class DevToolsPanel extends PluginPanel
 	private final VarInspector varInspector;
 	private final ScriptInspector scriptInspector;
 	private final InventoryInspector inventoryInspector;
+	private final ProfilerInspector profilerInspector;
 	private final InfoBoxManager infoBoxManager;
 	private final ScheduledExecutorService scheduledExecutorService;
 
@@ -70,6 +71,7 @@ class DevToolsPanel extends PluginPanel
 		VarInspector varInspector,
 		ScriptInspector scriptInspector,
 		InventoryInspector inventoryInspector,
+		ProfilerInspector profilerInspector,
 		Notifier notifier,
 		InfoBoxManager infoBoxManager,
 		ScheduledExecutorService scheduledExecutorService)
@@ -81,6 +83,7 @@ class DevToolsPanel extends PluginPanel
 		this.widgetInspector = widgetInspector;
 		this.varInspector = varInspector;
 		this.inventoryInspector = inventoryInspector;
+		this.profilerInspector = profilerInspector;
 		this.scriptInspector = scriptInspector;
 		this.notifier = notifier;
 		this.infoBoxManager = infoBoxManager;
@@ -173,6 +176,9 @@ class DevToolsPanel extends PluginPanel
 		container.add(plugin.getInventoryInspector());
 		plugin.getInventoryInspector().addFrame(inventoryInspector);
 
+		container.add(plugin.getProfiler());
+		plugin.getProfiler().addFrame(profilerInspector);
+
 		final JButton disconnectBtn = new JButton("Disconnect");
 		disconnectBtn.addActionListener(e -> clientThread.invoke(() -> client.setGameState(GameState.CONNECTION_LOST)));
 		container.add(disconnectBtn);
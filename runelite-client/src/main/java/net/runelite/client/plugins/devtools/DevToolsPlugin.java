@@ -143,6 +143,7 @@ public class DevToolsPlugin extends Plugin
 	private DevToolsButton soundEffects;
 	private DevToolsButton scriptInspector;
 	private DevToolsButton inventoryInspector;
+	private DevToolsButton profiler;
 	private DevToolsButton shell;
 	private NavigationButton navButton;
 
@@ -188,6 +189,7 @@ public class DevToolsPlugin extends Plugin
 		soundEffects = new DevToolsButton("Sound Effects");
 		scriptInspector = new DevToolsButton("Script Inspector");
 		inventoryInspector = new DevToolsButton("Inventory Inspector");
+		profiler = new DevToolsButton("Profiler");
 		shell = new DevToolsButton("Shell");
 
 		overlayManager.add(overlay);
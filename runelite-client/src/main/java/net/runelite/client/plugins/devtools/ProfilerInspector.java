@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.devtools;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.profiler.Histogram;
+import net.runelite.client.profiler.Profiler;
+
+@Slf4j
+class ProfilerInspector extends DevToolsFrame
+{
+	private static final int REFRESH_INTERVAL = 1000;
+	private static final String[] COLUMNS = {
+		"Category", "Name", "Count", "Mean (us)", "p50 (us)", "p90 (us)", "p99 (us)", "Max (us)", "Total (ms)"
+	};
+
+	private final Profiler profiler;
+	private final ProfilerTableModel model = new ProfilerTableModel();
+	private final Timer refreshTimer = new Timer(REFRESH_INTERVAL, e -> refresh());
+
+	@Inject
+	ProfilerInspector(Profiler profiler)
+	{
+		this.profiler = profiler;
+
+		setTitle("RuneLite Profiler");
+		setLayout(new BorderLayout());
+
+		final JTable table = new JTable(model);
+		table.setAutoCreateRowSorter(true);
+		final JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(800, 400));
+		add(scrollPane, BorderLayout.CENTER);
+
+		final JPanel buttons = new JPanel();
+
+		final JCheckBox enabled = new JCheckBox("Enabled", profiler.isEnabled());
+		enabled.addActionListener(e -> profiler.setEnabled(enabled.isSelected()));
+		buttons.add(enabled);
+
+		final JButton reset = new JButton("Reset");
+		reset.addActionListener(e ->
+		{
+			profiler.reset();
+			refresh();
+		});
+		buttons.add(reset);
+
+		final JButton dump = new JButton("Dump");
+		dump.addActionListener(e ->
+		{
+			try
+			{
+				File file = profiler.dump();
+				JOptionPane.showMessageDialog(this, "Wrote profile to " + file, "Profiler", JOptionPane.INFORMATION_MESSAGE);
+			}
+			catch (IOException ex)
+			{
+				log.warn("Unable to write profile", ex);
+				JOptionPane.showMessageDialog(this, "Unable to write profile: " + ex.getMessage(), "Profiler", JOptionPane.ERROR_MESSAGE);
+			}
+		});
+		buttons.add(dump);
+
+		add(buttons, BorderLayout.SOUTH);
+
+		pack();
+	}
+
+	@Override
+	public void open()
+	{
+		refresh();
+		refreshTimer.start();
+		super.open();
+	}
+
+	@Override
+	public void close()
+	{
+		refreshTimer.stop();
+		super.close();
+	}
+
+	private void refresh()
+	{
+		final List<Row> rows = new ArrayList<>();
+		for (Profiler.Category category : Profiler.Category.values())
+		{
+			for (Histogram.Snapshot snapshot : profiler.snapshot(category))
+			{
+				if (snapshot.getCount() > 0)
+				{
+					rows.add(new Row(category, snapshot));
+				}
+			}
+		}
+		model.setRows(rows);
+	}
+
+	private static class Row
+	{
+		private final Profiler.Category category;
+		private final Histogram.Snapshot snapshot;
+
+		Row(Profiler.Category category, Histogram.Snapshot snapshot)
+		{
+			this.category = category;
+			this.snapshot = snapshot;
+		}
+	}
+
+	private static class ProfilerTableModel extends AbstractTableModel
+	{
+		private List<Row> rows = new ArrayList<>();
+
+		void setRows(List<Row> rows)
+		{
+			this.rows = rows;
+			fireTableDataChanged();
+		}
+
+		@Override
+		public String getColumnName(int col)
+		{
+			return COLUMNS[col];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int col)
+		{
+			return col < 2 ? String.class : Long.class;
+		}
+
+		@Override
+		public int getRowCount()
+		{
+			return rows.size();
+		}
+
+		@Override
+		public int getColumnCount()
+		{
+			return COLUMNS.length;
+		}
+
+		@Override
+		public Object getValueAt(int rowIndex, int columnIndex)
+		{
+			final Row row = rows.get(rowIndex);
+			final Histogram.Snapshot s = row.snapshot;
+			switch (columnIndex)
+			{
+				case 0:
+					return row.category.name();
+				case 1:
+					return s.getName();
+				case 2:
+					return s.getCount();
+				case 3:
+					return s.getMean() / 1000;
+				case 4:
+					return s.getP50() / 1000;
+				case 5:
+					return s.getP90() / 1000;
+				case 6:
+					return s.getP99() / 1000;
+				case 7:
+					return s.getMax() / 1000;
+				case 8:
+					return s.getTotal() / 1_000_000;
+				default:
+					return null;
+			}
+		}
+	}
+}
@@ -35,6 +35,7 @@ import net.runelite.client.util.WildcardMatcher;
 class WildcardMatchLoader extends CacheLoader<NamedQuantity, Boolean>
 {
 	private final List<ItemThreshold> itemThresholds;
+	private final WildcardMatcher matcher;
 
 	WildcardMatchLoader(List<String> configEntries)
 	{
@@ -42,6 +43,9 @@ class WildcardMatchLoader extends CacheLoader<NamedQuantity, Boolean>
 			.map(ItemThreshold::fromConfigEntry)
 			.filter(Objects::nonNull)
 			.collect(Collectors.toList());
+		this.matcher = WildcardMatcher.compile(itemThresholds.stream()
+			.map(ItemThreshold::getItemName)
+			.collect(Collectors.toList()));
 	}
 
 	@Override
@@ -54,10 +58,9 @@ class WildcardMatchLoader extends CacheLoader<NamedQuantity, Boolean>
 
 		final String filteredName = key.getName().trim();
 
-		for (final ItemThreshold entry : itemThresholds)
+		for (int i = matcher.indexOf(filteredName, 0); i != -1; i = matcher.indexOf(filteredName, i + 1))
 		{
-			if (WildcardMatcher.matches(entry.getItemName(), filteredName)
-				&& entry.quantityHolds(key.getQuantity()))
+			if (itemThresholds.get(i).quantityHolds(key.getQuantity()))
 			{
 				return true;
 			}
@@ -29,15 +29,16 @@ package net.runelite.client.plugins.menuentryswapper;
 import com.google.common.annotations.VisibleForTesting;
 import static com.google.common.base.Predicates.alwaysTrue;
 import static com.google.common.base.Predicates.equalTo;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.inject.Provides;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -105,6 +106,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 	private static final WidgetMenuOption RESIZABLE_BOTTOM_LINE_INVENTORY_TAB_SAVE = new WidgetMenuOption(SAVE,
 		MENU_TARGET, WidgetInfo.RESIZABLE_VIEWPORT_BOTTOM_LINE_INVENTORY_TAB);
 
+	private static final int MENU_TEXT_CACHE_SIZE = 4096;
+
 	private static final Set<MenuAction> ITEM_MENU_TYPES = ImmutableSet.of(
 		MenuAction.ITEM_FIRST_OPTION,
 		MenuAction.ITEM_SECOND_OPTION,
@@ -153,7 +156,19 @@ public class MenuEntrySwapperPlugin extends Plugin
 	private boolean configuringShiftClick = false;
 
 	private final Multimap<String, Swap> swaps = LinkedHashMultimap.create();
-	private final ArrayListMultimap<String, Integer> optionIndexes = ArrayListMultimap.create();
+	// swaps keyed by the id of their option, compiled from swaps
+	private Swap[][] swapTable = new Swap[0][];
+	private final Map<String, Integer> optionIds = new HashMap<>();
+	// indexes of the menu entries with each option id, in ascending order
+	private final List<List<Integer>> optionIndexes = new ArrayList<>();
+	// raw menu text -> normalized text, shared between ticks since most menus are the same as the last
+	private final Map<String, MenuText> menuText = new HashMap<>();
+	// normalized options and targets of the menu entries in their order at the start of the tick
+	private MenuText[] entryOptions = new MenuText[0];
+	private MenuText[] entryTargets = new MenuText[0];
+	// normalized options and targets of the menu entries at their current position, which follows swaps
+	private MenuText[] options = new MenuText[0];
+	private MenuText[] targets = new MenuText[0];
 
 	@Provides
 	MenuEntrySwapperConfig provideConfig(ConfigManager configManager)
@@ -178,6 +193,7 @@ public class MenuEntrySwapperPlugin extends Plugin
 		disableCustomization();
 
 		swaps.clear();
+		compileSwaps();
 	}
 
 	@VisibleForTesting
@@ -375,6 +391,71 @@ public class MenuEntrySwapperPlugin extends Plugin
 		swap("eat", "guzzle", config::swapRockCake);
 
 		swap("travel", "dive", config::swapRowboatDive);
+
+		compileSwaps();
+	}
+
+	/**
+	 * Assign an id to each option which is swapped from or to, and build the swap table from the swaps
+	 */
+	private void compileSwaps()
+	{
+		optionIds.clear();
+		menuText.clear();
+		// used by the shift click customization
+		optionId("use");
+
+		for (Swap swap : swaps.values())
+		{
+			optionId(swap.getSwappedOption());
+		}
+
+		for (String option : swaps.keySet())
+		{
+			optionId(option);
+		}
+
+		swapTable = new Swap[optionIds.size()][];
+		Arrays.fill(swapTable, new Swap[0]);
+		for (String option : swaps.keySet())
+		{
+			swapTable[optionIds.get(option)] = swaps.get(option).toArray(new Swap[0]);
+		}
+
+		optionIndexes.clear();
+		for (int i = 0; i < optionIds.size(); ++i)
+		{
+			optionIndexes.add(new ArrayList<>());
+		}
+	}
+
+	private int optionId(String option)
+	{
+		Integer id = optionIds.get(option);
+		if (id == null)
+		{
+			id = optionIds.size();
+			optionIds.put(option, id);
+		}
+		return id;
+	}
+
+	private MenuText normalize(String text)
+	{
+		MenuText normalized = menuText.get(text);
+		if (normalized == null)
+		{
+			if (menuText.size() >= MENU_TEXT_CACHE_SIZE)
+			{
+				menuText.clear();
+			}
+
+			String stripped = Text.removeTags(text).toLowerCase();
+			Integer optionId = optionIds.get(stripped);
+			normalized = new MenuText(stripped, optionId == null ? -1 : optionId);
+			menuText.put(text, normalized);
+		}
+		return normalized;
 	}
 
 	private void swap(String option, String swappedOption, Supplier<Boolean> enabled)
@@ -663,8 +744,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 	{
 		final int eventId = menuEntry.getIdentifier();
 		final MenuAction menuAction = MenuAction.of(menuEntry.getType());
-		final String option = Text.removeTags(menuEntry.getOption()).toLowerCase();
-		final String target = Text.removeTags(menuEntry.getTarget()).toLowerCase();
+		final MenuText option = entryOptions[index];
+		final String target = entryTargets[index].getText();
 		final NPC hintArrowNpc = client.getHintArrowNpc();
 
 		if (hintArrowNpc != null
@@ -683,7 +764,7 @@ public class MenuEntrySwapperPlugin extends Plugin
 		{
 			// Special case use shift click due to items not actually containing a "Use" option, making
 			// the client unable to perform the swap itself.
-			if (config.shiftClickCustomization() && !option.equals("use"))
+			if (config.shiftClickCustomization() && !option.getText().equals("use"))
 			{
 				Integer customOption = getSwapConfig(eventId);
 
@@ -698,8 +779,12 @@ public class MenuEntrySwapperPlugin extends Plugin
 			return;
 		}
 
-		Collection<Swap> swaps = this.swaps.get(option);
-		for (Swap swap : swaps)
+		if (option.getOptionId() == -1)
+		{
+			return;
+		}
+
+		for (Swap swap : swapTable[option.getOptionId()])
 		{
 			if (swap.getTargetPredicate().test(target) && swap.getEnabled().get())
 			{
@@ -722,22 +807,47 @@ public class MenuEntrySwapperPlugin extends Plugin
 		}
 
 		MenuEntry[] menuEntries = client.getMenuEntries();
+		normalizeMenu(menuEntries);
 
-		// Build option map for quick lookup in findIndex
-		int idx = 0;
-		optionIndexes.clear();
-		for (MenuEntry entry : menuEntries)
+		// Perform swaps
+		for (int idx = 0; idx < menuEntries.length; ++idx)
 		{
-			String option = Text.removeTags(entry.getOption()).toLowerCase();
-			optionIndexes.put(option, idx++);
+			swapMenuEntry(idx, menuEntries[idx]);
 		}
+	}
 
-		// Perform swaps
-		idx = 0;
-		for (MenuEntry entry : menuEntries)
+	/**
+	 * Normalize the options and targets of the menu, and build the option indexes for quick lookup in findIndex
+	 */
+	private void normalizeMenu(MenuEntry[] menuEntries)
+	{
+		final int count = menuEntries.length;
+		if (entryOptions.length < count)
 		{
-			swapMenuEntry(idx++, entry);
+			entryOptions = new MenuText[count];
+			entryTargets = new MenuText[count];
+			options = new MenuText[count];
+			targets = new MenuText[count];
 		}
+
+		for (List<Integer> indexes : optionIndexes)
+		{
+			indexes.clear();
+		}
+
+		for (int idx = 0; idx < count; ++idx)
+		{
+			MenuEntry entry = menuEntries[idx];
+			MenuText option = entryOptions[idx] = normalize(entry.getOption());
+			entryTargets[idx] = normalize(entry.getTarget());
+			if (option.getOptionId() != -1)
+			{
+				optionIndexes.get(option.getOptionId()).add(idx);
+			}
+		}
+
+		System.arraycopy(entryOptions, 0, options, 0, count);
+		System.arraycopy(entryTargets, 0, targets, 0, count);
 	}
 
 	@Subscribe
@@ -764,33 +874,37 @@ public class MenuEntrySwapperPlugin extends Plugin
 		MenuEntry[] menuEntries = client.getMenuEntries();
 
 		// find option to swap with
-		int optionIdx = findIndex(menuEntries, index, option, target, strict);
+		int optionIdx = findIndex(index, option, target, strict);
 
 		if (optionIdx >= 0)
 		{
-			swap(optionIndexes, menuEntries, optionIdx, index);
+			swap(menuEntries, optionIdx, index);
 			return true;
 		}
 
 		return false;
 	}
 
-	private int findIndex(MenuEntry[] entries, int limit, String option, String target, boolean strict)
+	private int findIndex(int limit, String option, String target, boolean strict)
 	{
 		if (strict)
 		{
-			List<Integer> indexes = optionIndexes.get(option);
+			Integer optionId = optionIds.get(option);
+			if (optionId == null)
+			{
+				return -1;
+			}
+
+			List<Integer> indexes = optionIndexes.get(optionId);
 
 			// We want the last index which matches the target, as that is what is top-most
 			// on the menu
 			for (int i = indexes.size() - 1; i >= 0; --i)
 			{
 				int idx = indexes.get(i);
-				MenuEntry entry = entries[idx];
-				String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
 
 				// Limit to the last index which is prior to the current entry
-				if (idx < limit && entryTarget.equals(target))
+				if (idx < limit && targets[idx].getText().equals(target))
 				{
 					return idx;
 				}
@@ -801,11 +915,7 @@ public class MenuEntrySwapperPlugin extends Plugin
 			// Without strict matching we have to iterate all entries up to the current limit...
 			for (int i = limit - 1; i >= 0; i--)
 			{
-				MenuEntry entry = entries[i];
-				String entryOption = Text.removeTags(entry.getOption()).toLowerCase();
-				String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
-
-				if (entryOption.contains(option.toLowerCase()) && entryTarget.equals(target))
+				if (options[i].getText().contains(option.toLowerCase()) && targets[i].getText().equals(target))
 				{
 					return i;
 				}
@@ -816,7 +926,7 @@ public class MenuEntrySwapperPlugin extends Plugin
 		return -1;
 	}
 
-	private void swap(ArrayListMultimap<String, Integer> optionIndexes, MenuEntry[] entries, int index1, int index2)
+	private void swap(MenuEntry[] entries, int index1, int index2)
 	{
 		MenuEntry entry1 = entries[index1],
 			entry2 = entries[index2];
@@ -826,19 +936,30 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 		client.setMenuEntries(entries);
 
-		// Update optionIndexes
-		String option1 = Text.removeTags(entry1.getOption()).toLowerCase(),
-			option2 = Text.removeTags(entry2.getOption()).toLowerCase();
+		MenuText option1 = options[index1],
+			option2 = options[index2];
 
-		List<Integer> list1 = optionIndexes.get(option1),
-			list2 = optionIndexes.get(option2);
+		options[index1] = option2;
+		options[index2] = option1;
 
-		// call remove(Object) instead of remove(int)
-		list1.remove((Integer) index1);
-		list2.remove((Integer) index2);
+		MenuText target1 = targets[index1];
+		targets[index1] = targets[index2];
+		targets[index2] = target1;
 
-		sortedInsert(list1, index2);
-		sortedInsert(list2, index1);
+		// Update optionIndexes; call remove(Object) instead of remove(int)
+		if (option1.getOptionId() != -1)
+		{
+			List<Integer> list1 = optionIndexes.get(option1.getOptionId());
+			list1.remove((Integer) index1);
+			sortedInsert(list1, index2);
+		}
+
+		if (option2.getOptionId() != -1)
+		{
+			List<Integer> list2 = optionIndexes.get(option2.getOptionId());
+			list2.remove((Integer) index2);
+			sortedInsert(list2, index1);
+		}
 	}
 
 	private static <T extends Comparable<? super T>> void sortedInsert(List<T> list, T value) // NOPMD: UnusedPrivateMethod: false positive
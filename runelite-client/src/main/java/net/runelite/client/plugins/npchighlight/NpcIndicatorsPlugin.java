@@ -38,6 +38,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -139,6 +140,16 @@ public class NpcIndicatorsPlugin extends Plugin
 	 */
 	private List<String> highlights = new ArrayList<>();
 
+	/**
+	 * Matcher for all highlight strings
+	 */
+	private WildcardMatcher highlightMatcher = WildcardMatcher.compile(Collections.emptyList());
+
+	/**
+	 * Matcher for only the highlight strings which contain a wildcard
+	 */
+	private WildcardMatcher wildcardHighlightMatcher = highlightMatcher;
+
 	/**
 	 * NPC ids marked with the Tag option
 	 */
@@ -282,9 +293,7 @@ public class NpcIndicatorsPlugin extends Plugin
 			}
 
 			final String npcName = npc.getName();
-			boolean matchesList = highlights.stream()
-				.filter(highlight -> !highlight.equalsIgnoreCase(npcName))
-				.anyMatch(highlight -> WildcardMatcher.matches(highlight, npcName));
+			boolean matchesList = wildcardHighlightMatcher.matches(npcName);
 
 			MenuEntry[] menuEntries = client.getMenuEntries();
 
@@ -538,6 +547,10 @@ public class NpcIndicatorsPlugin extends Plugin
 	void rebuildAllNpcs()
 	{
 		highlights = getHighlights();
+		highlightMatcher = WildcardMatcher.compile(highlights);
+		wildcardHighlightMatcher = WildcardMatcher.compile(highlights.stream()
+			.filter(highlight -> highlight.indexOf('*') != -1)
+			.collect(Collectors.toList()));
 		highlightedNpcs.clear();
 
 		if (client.getGameState() != GameState.LOGGED_IN &&
@@ -580,15 +593,7 @@ public class NpcIndicatorsPlugin extends Plugin
 
 	private boolean highlightMatchesNPCName(String npcName)
 	{
-		for (String highlight : highlights)
-		{
-			if (WildcardMatcher.matches(highlight, npcName))
-			{
-				return true;
-			}
-		}
-
-		return false;
+		return highlightMatcher.matches(npcName);
 	}
 
 	private void validateSpawnedNpcs()
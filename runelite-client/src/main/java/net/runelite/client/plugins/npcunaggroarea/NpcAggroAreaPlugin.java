@@ -35,7 +35,6 @@ import java.awt.image.BufferedImage;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
-import java.util.List;
 import javax.inject.Inject;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -131,7 +130,7 @@ public class NpcAggroAreaPlugin extends Plugin
 	private boolean loggingIn;
 	private boolean notifyOnce;
 
-	private List<String> npcNamePatterns;
+	private WildcardMatcher npcNameMatcher;
 
 	@Provides
 	NpcAggroAreaConfig provideConfig(ConfigManager configManager)
@@ -144,7 +143,7 @@ public class NpcAggroAreaPlugin extends Plugin
 	{
 		overlayManager.add(overlay);
 		overlayManager.add(notWorkingOverlay);
-		npcNamePatterns = NAME_SPLITTER.splitToList(config.npcNamePatterns());
+		npcNameMatcher = WildcardMatcher.compile(NAME_SPLITTER.splitToList(config.npcNamePatterns()));
 		recheckActive();
 	}
 
@@ -158,7 +157,7 @@ public class NpcAggroAreaPlugin extends Plugin
 		lastPlayerLocation = null;
 		currentTimer = null;
 		loggingIn = false;
-		npcNamePatterns = null;
+		npcNameMatcher = null;
 		active = false;
 
 		Arrays.fill(linesToDisplay, null);
@@ -268,21 +267,13 @@ public class NpcAggroAreaPlugin extends Plugin
 		// its combat level.
 		int playerLvl = client.getLocalPlayer().getCombatLevel();
 		int npcLvl = composition.getCombatLevel();
-		String npcName = composition.getName().toLowerCase();
+		String npcName = composition.getName();
 		if (npcLvl > 0 && playerLvl > npcLvl * 2 && !isInWilderness(npc.getWorldLocation()))
 		{
 			return false;
 		}
 
-		for (String pattern : npcNamePatterns)
-		{
-			if (WildcardMatcher.matches(pattern, npcName))
-			{
-				return true;
-			}
-		}
-
-		return false;
+		return npcNameMatcher.matches(npcName);
 	}
 
 	private void checkAreaNpcs(final NPC... npcs)
@@ -398,7 +389,7 @@ public class NpcAggroAreaPlugin extends Plugin
 				calculateLinesToDisplay();
 				break;
 			case "npcUnaggroNames":
-				npcNamePatterns = NAME_SPLITTER.splitToList(config.npcNamePatterns());
+				npcNameMatcher = WildcardMatcher.compile(NAME_SPLITTER.splitToList(config.npcNamePatterns()));
 				recheckActive();
 				break;
 		}
@@ -59,8 +59,11 @@ import static net.runelite.api.Perspective.SCENE_SIZE;
 import net.runelite.api.Point;
 import static net.runelite.api.SpriteID.TAB_QUESTS_BROWN_RAIDING_PARTY;
 import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
 import net.runelite.api.VarPlayer;
 import net.runelite.api.Varbits;
+import net.runelite.api.WallObject;
+import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
@@ -79,6 +82,7 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ChatInput;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.events.OverlayMenuClicked;
+import net.runelite.client.game.SceneIndex;
 import net.runelite.client.game.SpriteManager;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.plugins.Plugin;
@@ -153,6 +157,9 @@ public class RaidsPlugin extends Plugin
 	@Inject
 	private ClientThread clientThread;
 
+	@Inject
+	private SceneIndex sceneIndex;
+
 	@Inject
 	private PartyService party;
 
@@ -552,21 +559,12 @@ public class RaidsPlugin extends Plugin
 
 	private Point findLobbyBase()
 	{
-		Tile[][] tiles = client.getScene().getTiles()[LOBBY_PLANE];
-
-		for (int x = 0; x < SCENE_SIZE; x++)
+		for (TileObject object : sceneIndex.getObjects(NullObjectID.NULL_12231))
 		{
-			for (int y = 0; y < SCENE_SIZE; y++)
+			if (object instanceof WallObject && object.getPlane() == LOBBY_PLANE)
 			{
-				if (tiles[x][y] == null || tiles[x][y].getWallObject() == null)
-				{
-					continue;
-				}
-
-				if (tiles[x][y].getWallObject().getId() == NullObjectID.NULL_12231)
-				{
-					return tiles[x][y].getSceneLocation();
-				}
+				LocalPoint localPoint = object.getLocalLocation();
+				return new Point(localPoint.getSceneX(), localPoint.getSceneY());
 			}
 		}
 
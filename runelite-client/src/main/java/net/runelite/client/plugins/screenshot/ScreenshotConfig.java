@@ -29,6 +29,7 @@ import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
 import net.runelite.client.config.Keybind;
+import net.runelite.client.config.Range;
 import net.runelite.client.util.ImageUploadStyle;
 
 @ConfigGroup("screenshot")
@@ -263,4 +264,18 @@ public interface ScreenshotConfig extends Config
 	{
 		return Keybind.NOT_SET;
 	}
+
+	@Range(
+		max = 9
+	)
+	@ConfigItem(
+		keyName = "compressionLevel",
+		name = "PNG Compression",
+		description = "Configures how much screenshots are compressed, from 0 (fastest, largest files) to 9 (slowest, smallest files)",
+		position = 19
+	)
+	default int compressionLevel()
+	{
+		return 4;
+	}
 }
@@ -31,10 +31,8 @@ import com.google.inject.Provides;
 import java.awt.Graphics;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
-import java.lang.reflect.InvocationTargetException;
 import java.time.LocalDate;
 import java.util.Map;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -145,9 +143,6 @@ public class ScreenshotPlugin extends Plugin
 	@Inject
 	private DrawManager drawManager;
 
-	@Inject
-	private ScheduledExecutorService executor;
-
 	@Inject
 	private KeyManager keyManager;
 
@@ -685,8 +680,16 @@ public class ScreenshotPlugin extends Plugin
 
 		Consumer<Image> imageCallback = (img) ->
 		{
-			// This callback is on the game thread, move to executor thread
-			executor.submit(() -> takeScreenshot(fileName, subDir, img));
+			// This callback is on the game thread. The client frame has to be painted on the event dispatch
+			// thread, otherwise the frame image is only handed off to be encoded in the background.
+			if (config.includeFrame())
+			{
+				SwingUtilities.invokeLater(() -> takeScreenshot(fileName, subDir, img));
+			}
+			else
+			{
+				takeScreenshot(fileName, subDir, img);
+			}
 		};
 
 		if (config.displayDate())
@@ -701,36 +704,35 @@ public class ScreenshotPlugin extends Plugin
 
 	private void takeScreenshot(String fileName, String subDir, Image image)
 	{
-		BufferedImage screenshot = config.includeFrame()
-			? new BufferedImage(clientUi.getWidth(), clientUi.getHeight(), BufferedImage.TYPE_INT_ARGB)
-			: new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-
-		Graphics graphics = screenshot.getGraphics();
-
-		int gameOffsetX = 0;
-		int gameOffsetY = 0;
+		final BufferedImage screenshot;
 
 		if (config.includeFrame())
 		{
+			screenshot = imageCapture.createScreenshotImage(clientUi.getWidth(), clientUi.getHeight());
+			final Graphics graphics = screenshot.getGraphics();
+
 			// Draw the client frame onto the screenshot
-			try
-			{
-				SwingUtilities.invokeAndWait(() -> clientUi.paint(graphics));
-			}
-			catch (InterruptedException | InvocationTargetException e)
-			{
-				log.warn("unable to paint client UI on screenshot", e);
-			}
+			clientUi.paint(graphics);
 
-			// Evaluate the position of the game inside the frame
+			// Draw the game onto the screenshot, at the position of the game inside the frame
 			final Point canvasOffset = clientUi.getCanvasOffset();
-			gameOffsetX = canvasOffset.getX();
-			gameOffsetY = canvasOffset.getY();
+			graphics.drawImage(image, canvasOffset.getX(), canvasOffset.getY(), null);
+			graphics.dispose();
+		}
+		else if (image instanceof BufferedImage)
+		{
+			// The frame image is already a copy of the game buffer
+			screenshot = (BufferedImage) image;
+		}
+		else
+		{
+			screenshot = imageCapture.createScreenshotImage(image.getWidth(null), image.getHeight(null));
+			final Graphics graphics = screenshot.getGraphics();
+			graphics.drawImage(image, 0, 0, null);
+			graphics.dispose();
 		}
 
-		// Draw the game onto the screenshot
-		graphics.drawImage(image, gameOffsetX, gameOffsetY, null);
-		imageCapture.takeScreenshot(screenshot, fileName, subDir, config.notifyWhenTaken(), config.uploadScreenshot());
+		imageCapture.takeScreenshot(screenshot, fileName, subDir, config.notifyWhenTaken(), config.uploadScreenshot(), config.compressionLevel());
 	}
 
 	private boolean isInsideGauntlet()
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.profiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * A lock free histogram of durations in nanoseconds. Durations are counted in buckets which are
+ * split into four per power of two, so quantiles are accurate to within 25%.
+ */
+public class Histogram
+{
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+	@Getter
+	private final String name;
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder total = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	Histogram(String name)
+	{
+		this.name = name;
+	}
+
+	public void record(long nanos)
+	{
+		if (nanos < 0)
+		{
+			nanos = 0;
+		}
+
+		counts.incrementAndGet(bucket(nanos));
+		total.add(nanos);
+
+		long prev;
+		while (nanos > (prev = max.get()))
+		{
+			if (max.compareAndSet(prev, nanos))
+			{
+				break;
+			}
+		}
+	}
+
+	public void reset()
+	{
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			counts.set(i, 0);
+		}
+		total.reset();
+		max.set(0);
+	}
+
+	public Snapshot snapshot()
+	{
+		final long[] snapshot = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			snapshot[i] = counts.get(i);
+			count += snapshot[i];
+		}
+
+		final long max = this.max.get();
+		return new Snapshot(name, count, total.sum(),
+			quantile(snapshot, count, max, 0.5),
+			quantile(snapshot, count, max, 0.9),
+			quantile(snapshot, count, max, 0.99),
+			max);
+	}
+
+	private static long quantile(long[] counts, long count, long max, double quantile)
+	{
+		if (count == 0)
+		{
+			return 0;
+		}
+
+		final long target = (long) Math.ceil(count * quantile);
+		long seen = 0;
+		for (int i = 0; i < counts.length; ++i)
+		{
+			seen += counts[i];
+			if (seen >= target)
+			{
+				// report the top of the bucket, since that is the value the quantile is known to be below
+				return Math.min(lowerBound(i + 1) - 1, max);
+			}
+		}
+		return max;
+	}
+
+	static int bucket(long value)
+	{
+		if (value < SUB_BUCKETS)
+		{
+			return (int) value;
+		}
+
+		final int exp = 63 - Long.numberOfLeadingZeros(value);
+		final int sub = (int) (value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return ((exp - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) | sub;
+	}
+
+	static long lowerBound(int bucket)
+	{
+		if (bucket < SUB_BUCKETS)
+		{
+			return bucket;
+		}
+
+		final int exp = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+		final long sub = bucket & (SUB_BUCKETS - 1);
+		if (exp >= 63)
+		{
+			return Long.MAX_VALUE;
+		}
+		return (SUB_BUCKETS | sub) << (exp - SUB_BUCKET_BITS);
+	}
+
+	@Value
+	public static class Snapshot
+	{
+		private final String name;
+		private final long count;
+		private final long total;
+		private final long p50;
+		private final long p90;
+		private final long p99;
+		private final long max;
+
+		public long getMean()
+		{
+			return count == 0 ? 0 : total / count;
+		}
+	}
+}
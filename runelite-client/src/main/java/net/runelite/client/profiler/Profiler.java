@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.profiler;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+/**
+ * Records how long overlays, event subscribers and the phases of the client main loop take.
+ * Profiling is off by default, and when off each instrumented call site only reads a volatile.
+ */
+@Singleton
+@Slf4j
+public class Profiler
+{
+	public enum Category
+	{
+		MAIN_LOOP,
+		SUBSCRIBER,
+		OVERLAY,
+	}
+
+	@Getter
+	@Setter
+	private volatile boolean enabled;
+
+	private final Map<Category, Map<String, Histogram>> histograms = new EnumMap<>(Category.class);
+
+	public Profiler()
+	{
+		for (Category category : Category.values())
+		{
+			histograms.put(category, new ConcurrentHashMap<>());
+		}
+	}
+
+	/**
+	 * Get the histogram for the given name, creating it if required. Histograms are never removed,
+	 * so callers may hold on to them.
+	 */
+	public Histogram getHistogram(Category category, String name)
+	{
+		return histograms.get(category).computeIfAbsent(name, Histogram::new);
+	}
+
+	/**
+	 * Start timing a section
+	 *
+	 * @return the start time, or 0 if profiling is disabled
+	 */
+	public long start()
+	{
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Record the time since {@code start} into the histogram
+	 *
+	 * @param histogram histogram to record into
+	 * @param start time returned from {@link #start()} or a previous call to this method
+	 * @return the current time, for timing the next section, or 0 if profiling was disabled at the start
+	 */
+	public long record(Histogram histogram, long start)
+	{
+		if (start == 0L)
+		{
+			return 0L;
+		}
+
+		final long now = System.nanoTime();
+		histogram.record(now - start);
+		return now;
+	}
+
+	public long record(Category category, String name, long start)
+	{
+		if (start == 0L)
+		{
+			return 0L;
+		}
+
+		return record(getHistogram(category, name), start);
+	}
+
+	public List<Histogram.Snapshot> snapshot(Category category)
+	{
+		final List<Histogram.Snapshot> snapshots = new ArrayList<>();
+		for (Histogram histogram : histograms.get(category).values())
+		{
+			snapshots.add(histogram.snapshot());
+		}
+		snapshots.sort(Comparator.comparingLong(Histogram.Snapshot::getTotal).reversed());
+		return snapshots;
+	}
+
+	public void reset()
+	{
+		for (Map<String, Histogram> map : histograms.values())
+		{
+			map.values().forEach(Histogram::reset);
+		}
+	}
+
+	/**
+	 * Write all histograms to a file in the logs directory
+	 *
+	 * @return the file written
+	 */
+	public File dump() throws IOException
+	{
+		RuneLite.LOGS_DIR.mkdirs();
+		final File file = new File(RuneLite.LOGS_DIR, "frame-profile-" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".tsv");
+		dump(file);
+		log.info("Wrote profile to {}", file);
+		return file;
+	}
+
+	void dump(File file) throws IOException
+	{
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+		{
+			writer.write("category\tname\tcount\ttotal_ns\tmean_ns\tp50_ns\tp90_ns\tp99_ns\tmax_ns");
+			writer.newLine();
+
+			for (Category category : Category.values())
+			{
+				for (Histogram.Snapshot s : snapshot(category))
+				{
+					writer.write(category + "\t" + s.getName() + "\t" + s.getCount() + "\t" + s.getTotal() + "\t" + s.getMean()
+						+ "\t" + s.getP50() + "\t" + s.getP90() + "\t" + s.getP99() + "\t" + s.getMax());
+					writer.newLine();
+				}
+			}
+		}
+	}
+}
@@ -39,7 +39,6 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
@@ -47,10 +46,13 @@ import java.nio.file.StandardOpenOption;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -82,6 +84,7 @@ public class ClientLoader implements Supplier<Applet>
 	private static File LOCK_FILE = new File(RuneLite.CACHE_DIR, "cache.lock");
 	private static File VANILLA_CACHE = new File(RuneLite.CACHE_DIR, "vanilla.cache");
 	private static File PATCHED_CACHE = new File(RuneLite.CACHE_DIR, "patched.cache");
+	private static File VANILLA_MANIFEST = new File(RuneLite.CACHE_DIR, "vanilla.manifest");
 
 	private final OkHttpClient okHttpClient;
 	private final ClientConfigLoader clientConfigLoader;
@@ -161,8 +164,8 @@ public class ClientLoader implements Supplier<Applet>
 
 				SplashScreen.stage(.40, null, "Loading client");
 				File jarFile = updateCheckMode == AUTO ? PATCHED_CACHE : VANILLA_CACHE;
-				// create the classloader for the jar while we hold the lock, and eagerly load and link all classes
-				// in the jar. Otherwise the jar can change on disk and can break future classloads.
+				// create the classloader for the jar while we hold the lock, and read all classes in the jar
+				// into memory. Otherwise the jar can change on disk and can break future classloads.
 				classLoader = createJarClassLoader(jarFile);
 			}
 
@@ -268,7 +271,7 @@ public class ClientLoader implements Supplier<Applet>
 				JarEntry je = vanillaCacheTest.getNextJarEntry();
 				if (je != null)
 				{
-					verifyJarEntry(je, jagexCertificateChain);
+					JarManifest.verifyEntry(je, jagexCertificateChain);
 					vanillaCacheMTime = je.getLastModifiedTime().toMillis();
 				}
 				else
@@ -346,8 +349,7 @@ public class ClientLoader implements Supplier<Applet>
 							throw new IOException("unable to peek first jar entry");
 						}
 
-						networkJIS.skip(Long.MAX_VALUE);
-						verifyJarEntry(je, jagexCertificateChain);
+						JarManifest.verify(je, networkJIS, jagexCertificateChain);
 						long vanillaClientMTime = je.getLastModifiedTime().toMillis();
 						if (!vanillaCacheIsInvalid && vanillaClientMTime != vanillaCacheMTime)
 						{
@@ -357,14 +359,21 @@ public class ClientLoader implements Supplier<Applet>
 					}
 
 					// the mtime matches so the cache is probably up to date, but just make sure its fully
-					// intact before closing the server connection
+					// intact before closing the server connection. The signatures aren't verified again if
+					// the file still hashes to what it did when the cache was last verified.
 					if (!vanillaCacheIsInvalid)
 					{
 						try
 						{
-							// as with the request stream, its important to not early close vanilla too
-							JarInputStream vanillaCacheTest = new JarInputStream(Channels.newInputStream(vanilla));
-							verifyWholeJar(vanillaCacheTest, jagexCertificateChain);
+							JarManifest manifest = JarManifest.read(VANILLA_MANIFEST);
+							if (manifest != null && manifest.check(VANILLA_CACHE))
+							{
+								log.debug("Vanilla cache is unchanged since it was verified");
+							}
+							else
+							{
+								JarManifest.verify(VANILLA_CACHE, jagexCertificateChain).write(VANILLA_MANIFEST);
+							}
 						}
 						catch (Exception e)
 						{
@@ -376,14 +385,25 @@ public class ClientLoader implements Supplier<Applet>
 					if (vanillaCacheIsInvalid)
 					{
 						// the cache is not up to date, commit our peek to the file and write the rest of it, while verifying
+						VANILLA_MANIFEST.delete();
 						vanilla.position(0);
-						OutputStream out = Channels.newOutputStream(vanilla);
+						HashingOutputStream out = new HashingOutputStream(Hashing.sha256(), Channels.newOutputStream(vanilla));
 						out.write(preRead.toByteArray());
 						copyStream.setOut(out);
-						verifyWholeJar(networkJIS, jagexCertificateChain);
+						JarManifest.verify(networkJIS, jagexCertificateChain);
 						copyStream.skip(Long.MAX_VALUE); // write the trailer to the file too
 						out.flush();
 						vanilla.truncate(vanilla.position());
+						vanilla.force(false);
+
+						try
+						{
+							new JarManifest(VANILLA_CACHE, out.hash().asBytes()).write(VANILLA_MANIFEST);
+						}
+						catch (IOException e)
+						{
+							log.warn("Unable to write the vanilla cache manifest", e);
+						}
 					}
 					else
 					{
@@ -471,66 +491,68 @@ public class ClientLoader implements Supplier<Applet>
 		}
 	}
 
-	private ClassLoader createJarClassLoader(File jar) throws IOException, ClassNotFoundException
+	private ClassLoader createJarClassLoader(File jar) throws IOException
 	{
+		// read all of the classes in the jar up front; after the jar is closed it may change on disk
+		Map<String, byte[]> classes = new ConcurrentHashMap<>();
 		try (JarFile jarFile = new JarFile(jar))
 		{
-			ClassLoader classLoader = new ClassLoader(ClientLoader.class.getClassLoader())
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements())
 			{
-				@Override
-				protected Class<?> findClass(String name) throws ClassNotFoundException
+				JarEntry jarEntry = entries.nextElement();
+				String name = jarEntry.getName();
+				if (name.endsWith(".class"))
 				{
-					String entryName = name.replace('.', '/').concat(".class");
-					JarEntry jarEntry;
-
-					try
-					{
-						jarEntry = jarFile.getJarEntry(entryName);
-					}
-					catch (IllegalStateException ex)
+					name = name.substring(0, name.length() - 6).replace('/', '.');
+					try (InputStream in = jarFile.getInputStream(jarEntry))
 					{
-						throw new ClassNotFoundException(name, ex);
+						classes.put(name, ByteStreams.toByteArray(in));
 					}
+				}
+			}
+		}
 
-					if (jarEntry == null)
-					{
-						throw new ClassNotFoundException(name);
-					}
-
-					try
-					{
-						InputStream inputStream = jarFile.getInputStream(jarEntry);
-						if (inputStream == null)
-						{
-							throw new ClassNotFoundException(name);
-						}
-
-						byte[] bytes = ByteStreams.toByteArray(inputStream);
-						return defineClass(name, bytes, 0, bytes.length);
-					}
-					catch (IOException e)
-					{
-						throw new ClassNotFoundException(null, e);
-					}
+		ClassLoader classLoader = new ClassLoader(ClientLoader.class.getClassLoader())
+		{
+			@Override
+			protected Class<?> findClass(String name) throws ClassNotFoundException
+			{
+				// loadClass holds the lock of the classloader, so each class is only defined once
+				byte[] bytes = classes.get(name);
+				if (bytes == null)
+				{
+					throw new ClassNotFoundException(name);
 				}
-			};
 
-			// load all of the classes in this jar; after the jar is closed the classloader
-			// will no longer be able to look up classes
-			Enumeration<JarEntry> entries = jarFile.entries();
-			while (entries.hasMoreElements())
+				Class<?> clazz = defineClass(name, bytes, 0, bytes.length);
+				// the bytes are kept if defining the class fails, so the error is repeated
+				classes.remove(name);
+				return clazz;
+			}
+		};
+
+		// eagerly load the rest of the classes off of the startup path
+		List<String> names = new ArrayList<>(classes.keySet());
+		Thread thread = new Thread(() ->
+		{
+			for (String name : names)
 			{
-				JarEntry jarEntry = entries.nextElement();
-				String name = jarEntry.getName();
-				if (name.endsWith(".class"))
+				try
 				{
-					name = name.substring(0, name.length() - 6);
 					classLoader.loadClass(name);
 				}
+				catch (ClassNotFoundException | LinkageError ex)
+				{
+					log.warn("Unable to load client class {}", name, ex);
+				}
 			}
+			log.debug("Loaded {} client classes", names.size());
+		}, "Client class loader");
+		thread.setDaemon(true);
+		thread.start();
 
-			return classLoader;
-		}
+		return classLoader;
 	}
 
 	private Applet loadClient(RSConfig config, ClassLoader classLoader) throws ClassNotFoundException, IllegalAccessException, InstantiationException
@@ -562,29 +584,4 @@ public class ClientLoader implements Supplier<Applet>
 			throw new RuntimeException("Unable to parse pinned certificates", e);
 		}
 	}
-
-	private void verifyJarEntry(JarEntry je, Certificate[] certs) throws VerificationException
-	{
-		switch (je.getName())
-		{
-			case "META-INF/JAGEXLTD.SF":
-			case "META-INF/JAGEXLTD.RSA":
-				// You can't sign the signing files
-				return;
-			default:
-				if (!Arrays.equals(je.getCertificates(), certs))
-				{
-					throw new VerificationException("Unable to verify jar entry: " + je.getName());
-				}
-		}
-	}
-
-	private void verifyWholeJar(JarInputStream jis, Certificate[] certs) throws IOException, VerificationException
-	{
-		for (JarEntry je; (je = jis.getNextJarEntry()) != null; )
-		{
-			jis.skip(Long.MAX_VALUE);
-			verifyJarEntry(je, certs);
-		}
-	}
 }
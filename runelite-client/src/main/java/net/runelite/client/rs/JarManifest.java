@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.util.VerificationException;
+
+/**
+ * A record that a jar had all of its signatures verified: the SHA-256 of the jar file, along with
+ * its size and modification time. A jar which still hashes to the same value does not need its
+ * signatures verified again. Hashing the file is a single pass over its raw bytes, without
+ * inflating any entries.
+ */
+@Slf4j
+class JarManifest
+{
+	private static final int VERSION = 2;
+	private static final int MAX_THREADS = 4;
+
+	private final long size;
+	private final long lastModified;
+	private final byte[] sha256;
+
+	/**
+	 * @param jar a jar which has been verified
+	 * @param sha256 the SHA-256 of the jar file
+	 */
+	JarManifest(File jar, byte[] sha256)
+	{
+		this(jar.length(), jar.lastModified(), sha256);
+	}
+
+	private JarManifest(long size, long lastModified, byte[] sha256)
+	{
+		this.size = size;
+		this.lastModified = lastModified;
+		this.sha256 = sha256;
+	}
+
+	/**
+	 * Check if the jar has the same size and modification time as when this manifest was made
+	 */
+	boolean matches(File jar)
+	{
+		return jar.length() == size && jar.lastModified() == lastModified;
+	}
+
+	/**
+	 * Check if the jar is unchanged since it was verified, by hashing it and comparing it to the manifest
+	 */
+	boolean check(File jar) throws IOException
+	{
+		return matches(jar) && Arrays.equals(hash(jar), sha256);
+	}
+
+	/**
+	 * Read a manifest
+	 *
+	 * @return the manifest, or null if it doesn't exist or is unreadable
+	 */
+	@Nullable
+	static JarManifest read(File file)
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != VERSION)
+			{
+				return null;
+			}
+
+			long size = in.readLong();
+			long lastModified = in.readLong();
+			byte[] sha256 = new byte[32];
+			in.readFully(sha256);
+			return new JarManifest(size, lastModified, sha256);
+		}
+		catch (FileNotFoundException ex)
+		{
+			return null;
+		}
+		catch (IOException ex)
+		{
+			log.debug("Unable to read jar manifest {}", file, ex);
+			return null;
+		}
+	}
+
+	void write(File file) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+		{
+			out.writeInt(VERSION);
+			out.writeLong(size);
+			out.writeLong(lastModified);
+			out.write(sha256);
+		}
+	}
+
+	static byte[] hash(File jar) throws IOException
+	{
+		return Files.asByteSource(jar).hash(Hashing.sha256()).asBytes();
+	}
+
+	/**
+	 * Verify every entry of a jar on disk. The entries are split between several threads, each
+	 * with its own {@link JarFile}, since the verifier of a jar file is not safe for concurrent use.
+	 *
+	 * @return the manifest of the verified jar
+	 */
+	static JarManifest verify(File jar, Certificate[] certs) throws IOException, VerificationException
+	{
+		final List<String> names = new ArrayList<>();
+		try (JarFile jarFile = new JarFile(jar))
+		{
+			for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); )
+			{
+				names.add(e.nextElement().getName());
+			}
+		}
+
+		final int threads = Math.max(1, Math.min(MAX_THREADS, Math.min(names.size(), Runtime.getRuntime().availableProcessors())));
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			List<Future<Void>> futures = new ArrayList<>(threads);
+			for (int t = 0; t < threads; ++t)
+			{
+				final int start = t;
+				futures.add(executor.submit(() ->
+				{
+					try (JarFile jarFile = new JarFile(jar, true))
+					{
+						for (int i = start; i < names.size(); i += threads)
+						{
+							JarEntry je = jarFile.getJarEntry(names.get(i));
+							try (InputStream in = jarFile.getInputStream(je))
+							{
+								verify(je, in, certs);
+							}
+						}
+					}
+					return null;
+				}));
+			}
+
+			for (Future<Void> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch (ExecutionException ex)
+		{
+			Throwable cause = ex.getCause();
+			if (cause instanceof VerificationException)
+			{
+				throw (VerificationException) cause;
+			}
+			if (cause instanceof IOException)
+			{
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException(ex);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		return new JarManifest(jar, hash(jar));
+	}
+
+	/**
+	 * Verify the remaining entries of a jar stream
+	 */
+	static void verify(JarInputStream jis, Certificate[] certs) throws IOException, VerificationException
+	{
+		for (JarEntry je; (je = jis.getNextJarEntry()) != null; )
+		{
+			verify(je, jis, certs);
+		}
+	}
+
+	/**
+	 * Read the remaining contents of an entry, and then verify it. The certificates of an entry are
+	 * only known after all of it has been read.
+	 */
+	static void verify(JarEntry je, InputStream in, Certificate[] certs) throws IOException, VerificationException
+	{
+		ByteStreams.exhaust(in);
+		verifyEntry(je, certs);
+	}
+
+	/**
+	 * Check that a fully read entry is signed by the given certificates
+	 */
+	static void verifyEntry(JarEntry je, Certificate[] certs) throws VerificationException
+	{
+		switch (je.getName())
+		{
+			case "META-INF/":
+			case JarFile.MANIFEST_NAME:
+			case "META-INF/JAGEXLTD.SF":
+			case "META-INF/JAGEXLTD.RSA":
+				// You can't sign the signing files
+				return;
+			default:
+				if (!Arrays.equals(je.getCertificates(), certs))
+				{
+					throw new VerificationException("Unable to verify jar entry: " + je.getName());
+				}
+		}
+	}
+}
@@ -63,6 +63,9 @@ public abstract class Overlay implements LayoutableRenderableEntity
 	@Setter(AccessLevel.PROTECTED)
 	private boolean dragTargetable;
 
+	@Getter(AccessLevel.PACKAGE)
+	private final OverlayLayout layout = new OverlayLayout();
+
 	protected Overlay()
 	{
 		plugin = null;
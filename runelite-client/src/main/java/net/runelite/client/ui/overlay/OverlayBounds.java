@@ -54,6 +54,17 @@ class OverlayBounds
 		canvasTopRight = new Rectangle(other.canvasTopRight);
 	}
 
+	void copyFrom(OverlayBounds other)
+	{
+		topLeft.setBounds(other.topLeft);
+		topCenter.setBounds(other.topCenter);
+		topRight.setBounds(other.topRight);
+		bottomLeft.setBounds(other.bottomLeft);
+		bottomRight.setBounds(other.bottomRight);
+		aboveChatboxRight.setBounds(other.aboveChatboxRight);
+		canvasTopRight.setBounds(other.canvasTopRight);
+	}
+
 	OverlayBounds translated(final int x, final int y)
 	{
 		final OverlayBounds translated = new OverlayBounds(this);
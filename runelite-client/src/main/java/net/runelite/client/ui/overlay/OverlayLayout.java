@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay;
+
+import com.google.common.primitives.Ints;
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * Cached snap corner layout of a single overlay. The location is only recomputed when one of
+ * its inputs (layout version, position, corner, size or parent bounds) differs from the last frame.
+ */
+class OverlayLayout
+{
+	private int version = -1;
+	private OverlayPosition position;
+	private int cornerX;
+	private int cornerY;
+	private int width;
+	private int height;
+	private final Rectangle parentBounds = new Rectangle();
+
+	private final Point location = new Point();
+	private int cornerDX;
+	private int cornerDY;
+
+	/**
+	 * Lay out an overlay at the given snap corner, and advance the corner past it
+	 *
+	 * @param version      layout version, changed whenever all cached layouts should be discarded
+	 * @param position     overlay position
+	 * @param snapCorner   snap corner for the position, translated for the overlay size and padding
+	 * @param width        overlay width
+	 * @param height       overlay height
+	 * @param parentBounds bounds the overlay is clamped to
+	 * @param padding      padding between overlays in the same corner
+	 * @return the overlay location, owned by this layout
+	 */
+	Point layout(int version, OverlayPosition position, Rectangle snapCorner, int width, int height, Rectangle parentBounds, int padding)
+	{
+		if (this.version != version
+			|| this.position != position
+			|| cornerX != snapCorner.x
+			|| cornerY != snapCorner.y
+			|| this.width != width
+			|| this.height != height
+			|| !this.parentBounds.equals(parentBounds))
+		{
+			this.version = version;
+			this.position = position;
+			cornerX = snapCorner.x;
+			cornerY = snapCorner.y;
+			this.width = width;
+			this.height = height;
+			this.parentBounds.setBounds(parentBounds);
+
+			// Target x/y to draw the overlay, offset from the corner
+			final int destX = snapCorner.x + offsetX(position, width);
+			final int destY = snapCorner.y + offsetY(position, height);
+			// Clamp the target position to ensure it is on screen or within parent bounds
+			clamp(destX, destY, width, height, parentBounds, location);
+			// The overlay effectively takes up the difference of (clamped location - target location)
+			// in addition to its normal dimensions and the fixed padding
+			cornerDX = padX(position, width, padding) + location.x - destX;
+			cornerDY = padY(position, height, padding) + location.y - destY;
+		}
+
+		snapCorner.translate(cornerDX, cornerDY);
+		return location;
+	}
+
+	/**
+	 * Constrain an overlay location to be within its parent bounds
+	 *
+	 * @param x            overlay x
+	 * @param y            overlay y
+	 * @param width        overlay width
+	 * @param height       overlay height
+	 * @param parentBounds parent bounds
+	 * @param out          point to store the clamped location in
+	 * @return out
+	 */
+	static Point clamp(int x, int y, int width, int height, Rectangle parentBounds, Point out)
+	{
+		out.x = Ints.constrainToRange(x, parentBounds.x,
+			Math.max(parentBounds.x, parentBounds.width - width));
+		out.y = Ints.constrainToRange(y, parentBounds.y,
+			Math.max(parentBounds.y, parentBounds.height - height));
+		return out;
+	}
+
+	// These mirror OverlayUtil.transformPosition and OverlayUtil.padPosition without allocating
+
+	private static int offsetX(OverlayPosition position, int width)
+	{
+		switch (position)
+		{
+			case TOP_CENTER:
+				return -width / 2;
+			case BOTTOM_RIGHT:
+			case ABOVE_CHATBOX_RIGHT:
+			case CANVAS_TOP_RIGHT:
+			case TOP_RIGHT:
+				return -width;
+			default:
+				return 0;
+		}
+	}
+
+	private static int offsetY(OverlayPosition position, int height)
+	{
+		switch (position)
+		{
+			case BOTTOM_LEFT:
+			case BOTTOM_RIGHT:
+			case ABOVE_CHATBOX_RIGHT:
+				return -height;
+			default:
+				return 0;
+		}
+	}
+
+	private static int padX(OverlayPosition position, int width, int padding)
+	{
+		switch (position)
+		{
+			case BOTTOM_LEFT:
+				return width + (width == 0 ? 0 : padding);
+			case BOTTOM_RIGHT:
+				return -(width + (width == 0 ? 0 : padding));
+			default:
+				return 0;
+		}
+	}
+
+	private static int padY(OverlayPosition position, int height, int padding)
+	{
+		switch (position)
+		{
+			case TOP_LEFT:
+			case TOP_CENTER:
+			case CANVAS_TOP_RIGHT:
+			case TOP_RIGHT:
+				return height + (height == 0 ? 0 : padding);
+			case ABOVE_CHATBOX_RIGHT:
+				return -(height + (height == 0 ? 0 : padding));
+			default:
+				return 0;
+		}
+	}
+}
@@ -107,6 +107,12 @@ public class OverlayManager
 	 */
 	private ArrayListMultimap<Object, Overlay> overlayMap = ArrayListMultimap.create();
 
+	/**
+	 * Incremented each time the overlay layers are rebuilt
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private volatile int layersVersion;
+
 	private final ConfigManager configManager;
 	private final EventBus eventBus;
 	private final RuneLiteConfig runeLiteConfig;
@@ -339,6 +345,7 @@ public class OverlayManager
 		}
 
 		this.overlayMap = overlayMap;
+		layersVersion++;
 	}
 
 	private void loadOverlay(final Overlay overlay)
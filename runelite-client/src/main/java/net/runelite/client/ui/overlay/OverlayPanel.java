@@ -55,6 +55,13 @@ public abstract class OverlayPanel extends Overlay
 	 */
 	private Color preferredColor = null;
 
+	/**
+	 * Enables/disables drawing the panel from an image of a previous frame while its content is unchanged.
+	 *
+	 * @see PanelComponent#renderCached(Graphics2D)
+	 */
+	private boolean renderCache = false;
+
 	protected OverlayPanel()
 	{
 		super();
@@ -96,7 +103,7 @@ public abstract class OverlayPanel extends Overlay
 			panelComponent.setBackgroundColor(getPreferredColor());
 		}
 
-		final Dimension dimension = panelComponent.render(graphics);
+		final Dimension dimension = renderCache ? panelComponent.renderCached(graphics) : panelComponent.render(graphics);
 
 		if (clearChildren)
 		{
@@ -24,8 +24,6 @@
  */
 package net.runelite.client.ui.overlay;
 
-import com.google.common.base.MoreObjects;
-import com.google.common.primitives.Ints;
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Cursor;
@@ -64,6 +62,7 @@ import net.runelite.client.input.KeyListener;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.input.MouseAdapter;
 import net.runelite.client.input.MouseManager;
+import net.runelite.client.profiler.Profiler;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.JagexColors;
 import net.runelite.client.util.ColorUtil;
@@ -83,10 +82,24 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	private static final Color MOVING_OVERLAY_ACTIVE_COLOR = new Color(255, 255, 0, 200);
 	private static final Color MOVING_OVERLAY_TARGET_COLOR = Color.RED;
 	private static final Color MOVING_OVERLAY_RESIZING_COLOR = new Color(255, 0, 255, 200);
+	private static final Point ORIGIN = new Point();
+	private static final RenderingHints.Key[] RENDERING_HINT_KEYS = {
+		RenderingHints.KEY_ALPHA_INTERPOLATION,
+		RenderingHints.KEY_ANTIALIASING,
+		RenderingHints.KEY_COLOR_RENDERING,
+		RenderingHints.KEY_DITHERING,
+		RenderingHints.KEY_FRACTIONALMETRICS,
+		RenderingHints.KEY_INTERPOLATION,
+		RenderingHints.KEY_RENDERING,
+		RenderingHints.KEY_STROKE_CONTROL,
+		RenderingHints.KEY_TEXT_ANTIALIASING,
+		RenderingHints.KEY_TEXT_LCD_CONTRAST,
+	};
 	private final Client client;
 	private final OverlayManager overlayManager;
 	private final RuneLiteConfig runeLiteConfig;
 	private final ClientUI clientUI;
+	private final Profiler profiler;
 
 	// Overlay movement variables
 	private final Point overlayOffset = new Point();
@@ -106,6 +119,14 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	private boolean chatboxHidden;
 	private boolean isResizeable;
 	private OverlayBounds emptySnapCorners, snapCorners;
+	private final Rectangle canvasBounds = new Rectangle();
+	private int overlayLayersVersion;
+	private int layoutVersion;
+
+	// Reused across frames to avoid per-frame allocation
+	private final Point mouse = new Point();
+	private final Point clampedLocation = new Point();
+	private final Object[] renderingHintValues = new Object[RENDERING_HINT_KEYS.length];
 
 	@Inject
 	private OverlayRenderer(
@@ -115,12 +136,14 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		final MouseManager mouseManager,
 		final KeyManager keyManager,
 		final ClientUI clientUI,
-		final EventBus eventBus)
+		final EventBus eventBus,
+		final Profiler profiler)
 	{
 		this.client = client;
 		this.overlayManager = overlayManager;
 		this.runeLiteConfig = runeLiteConfig;
 		this.clientUI = clientUI;
+		this.profiler = profiler;
 		keyManager.registerKeyListener(this);
 		mouseManager.registerMouseListener(this);
 		eventBus.register(this);
@@ -180,10 +203,24 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 			if (shouldInvalidateBounds())
 			{
 				emptySnapCorners = buildSnapCorners();
+				// Create copy of snap corners because overlays will modify them
+				snapCorners = new OverlayBounds(emptySnapCorners);
+				layoutVersion++;
+			}
+			else
+			{
+				snapCorners.copyFrom(emptySnapCorners);
+			}
+
+			final int layersVersion = overlayManager.getLayersVersion();
+			if (layersVersion != overlayLayersVersion)
+			{
+				overlayLayersVersion = layersVersion;
+				layoutVersion++;
 			}
 
-			// Create copy of snap corners because overlays will modify them
-			snapCorners = new OverlayBounds(emptySnapCorners);
+			final Dimension realDimensions = client.getRealDimensions();
+			canvasBounds.setBounds(0, 0, realDimensions.width, realDimensions.height);
 		}
 	}
 
@@ -240,15 +277,18 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 
 		// Get mouse position
 		final net.runelite.api.Point mouseCanvasPosition = client.getMouseCanvasPosition();
-		final Point mouse = new Point(mouseCanvasPosition.getX(), mouseCanvasPosition.getY());
+		mouse.setLocation(mouseCanvasPosition.getX(), mouseCanvasPosition.getY());
 
 		// Save graphics2d properties so we can restore them later
 		final AffineTransform transform = graphics.getTransform();
 		final Stroke stroke = graphics.getStroke();
 		final Composite composite = graphics.getComposite();
 		final Paint paint = graphics.getPaint();
-		final RenderingHints renderingHints = graphics.getRenderingHints();
 		final Color background = graphics.getBackground();
+		for (int i = 0; i < RENDERING_HINT_KEYS.length; ++i)
+		{
+			renderingHintValues[i] = graphics.getRenderingHint(RENDERING_HINT_KEYS[i]);
+		}
 
 		for (Overlay overlay : overlays)
 		{
@@ -256,48 +296,33 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 
 			if (overlayPosition == OverlayPosition.DYNAMIC || overlayPosition == OverlayPosition.TOOLTIP)
 			{
-				safeRender(client, overlay, layer, graphics, new Point());
+				safeRender(client, overlay, layer, graphics, ORIGIN);
 
 				// Restore graphics2d properties
-				graphics.setTransform(transform);
-				graphics.setStroke(stroke);
-				graphics.setComposite(composite);
-				graphics.setPaint(paint);
-				graphics.setRenderingHints(renderingHints);
-				graphics.setBackground(background);
+				restoreGraphics(graphics, transform, stroke, composite, paint, background);
 			}
 			else
 			{
 				final Rectangle bounds = overlay.getBounds();
-				final Dimension dimension = bounds.getSize();
 				final Point preferredLocation = overlay.getPreferredLocation();
-				Point location;
+				final Point location;
 
 				// If the final position is not modified, layout it
 				if (overlayPosition != OverlayPosition.DETACHED && (preferredLocation == null || overlay.getPreferredPosition() != null))
 				{
+					// The layout is reused until the corner, size, or parent bounds of the overlay change,
+					// and translates the snap corner past the overlay
 					final Rectangle snapCorner = snapCorners.forPosition(overlayPosition);
-					final Point translation = OverlayUtil.transformPosition(overlayPosition, dimension); // offset from corner
-					// Target x/y to draw the overlay
-					int destX = (int) snapCorner.getX() + translation.x;
-					int destY = (int) snapCorner.getY() + translation.y;
-					// Clamp the target position to ensure it is on screen or within parent bounds
-					location = clampOverlayLocation(destX, destY, dimension.width, dimension.height, overlay);
-					// Diff final position to target position in order to add it to the snap corner padding. The
-					// overlay effectively takes up the difference of (clamped location - target location) in
-					// addition to its normal dimensions.
-					int dX = location.x - destX;
-					int dY = location.y - destY;
-					final Point padding = OverlayUtil.padPosition(overlayPosition, dimension, PADDING); // overlay size + fixed padding
-					// translate corner for padding and any difference due to the position clamping
-					snapCorner.translate(padding.x + dX, padding.y + dY);
+					location = overlay.getLayout().layout(layoutVersion, overlayPosition, snapCorner,
+						bounds.width, bounds.height, getParentBounds(overlay), PADDING);
 				}
 				else
 				{
-					location = preferredLocation != null ? preferredLocation : bounds.getLocation();
+					final int x = preferredLocation != null ? preferredLocation.x : bounds.x;
+					final int y = preferredLocation != null ? preferredLocation.y : bounds.y;
 
 					// Clamp the overlay position to ensure it is on screen or within parent bounds
-					location = clampOverlayLocation(location.x, location.y, dimension.width, dimension.height, overlay);
+					location = OverlayLayout.clamp(x, y, bounds.width, bounds.height, getParentBounds(overlay), clampedLocation);
 				}
 
 				if (overlay.getPreferredSize() != null)
@@ -308,12 +333,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 				safeRender(client, overlay, layer, graphics, location);
 
 				// Restore graphics2d properties prior to drawing bounds
-				graphics.setTransform(transform);
-				graphics.setStroke(stroke);
-				graphics.setComposite(composite);
-				graphics.setPaint(paint);
-				graphics.setRenderingHints(renderingHints);
-				graphics.setBackground(background);
+				restoreGraphics(graphics, transform, stroke, composite, paint, background);
 
 				if (!bounds.isEmpty())
 				{
@@ -742,6 +762,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		overlay.getBounds().setLocation(point);
 
 		final Dimension overlayDimension;
+		final long start = profiler.start();
 		try
 		{
 			overlayDimension = overlay.render(graphics);
@@ -751,9 +772,58 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 			log.warn("Error during overlay rendering", ex);
 			return;
 		}
+		finally
+		{
+			profiler.record(Profiler.Category.OVERLAY, overlay.getName(), start);
+		}
 
-		final Dimension dimension = MoreObjects.firstNonNull(overlayDimension, new Dimension());
-		overlay.getBounds().setSize(dimension);
+		if (overlayDimension != null)
+		{
+			overlay.getBounds().setSize(overlayDimension);
+		}
+		else
+		{
+			overlay.getBounds().setSize(0, 0);
+		}
+	}
+
+	/**
+	 * Restore the graphics properties saved prior to rendering overlays. Properties are compared first
+	 * as most overlays leave them untouched, and restoring the rendering hints in particular is costly.
+	 */
+	private void restoreGraphics(Graphics2D graphics, AffineTransform transform, Stroke stroke, Composite composite, Paint paint, Color background)
+	{
+		graphics.setTransform(transform);
+
+		if (graphics.getStroke() != stroke)
+		{
+			graphics.setStroke(stroke);
+		}
+
+		if (graphics.getComposite() != composite)
+		{
+			graphics.setComposite(composite);
+		}
+
+		if (graphics.getPaint() != paint)
+		{
+			graphics.setPaint(paint);
+		}
+
+		if (graphics.getBackground() != background)
+		{
+			graphics.setBackground(background);
+		}
+
+		for (int i = 0; i < RENDERING_HINT_KEYS.length; ++i)
+		{
+			final RenderingHints.Key key = RENDERING_HINT_KEYS[i];
+			final Object value = renderingHintValues[i];
+			if (value != null && graphics.getRenderingHint(key) != value)
+			{
+				graphics.setRenderingHint(key, value);
+			}
+		}
 	}
 
 	private OverlayPosition getCorrectedOverlayPosition(final Overlay overlay)
@@ -947,11 +1017,20 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		}
 
 		// Constrain overlay position to be within the parent bounds
-		return new Point(
-			Ints.constrainToRange(overlayX, parentBounds.x,
-				Math.max(parentBounds.x, parentBounds.width - overlayWidth)),
-			Ints.constrainToRange(overlayY, parentBounds.y,
-				Math.max(parentBounds.y, parentBounds.height - overlayHeight))
-		);
+		return OverlayLayout.clamp(overlayX, overlayY, overlayWidth, overlayHeight, parentBounds, new Point());
+	}
+
+	/**
+	 * Get the bounds to clamp an overlay to while rendering, falling back to the
+	 * client bounds as of the last {@link BeforeRender}.
+	 */
+	private Rectangle getParentBounds(Overlay overlay)
+	{
+		final Rectangle parentBounds = overlay.getParentBounds();
+		if (parentBounds == null || parentBounds.isEmpty())
+		{
+			return canvasBounds;
+		}
+		return parentBounds;
 	}
 }
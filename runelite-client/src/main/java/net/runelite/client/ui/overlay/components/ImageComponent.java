@@ -64,4 +64,10 @@ public class ImageComponent implements LayoutableRenderableEntity
 	{
 		// Just use image dimensions for now
 	}
+
+	void describe(RenderKey key)
+	{
+		key.add(ImageComponent.class);
+		key.add(image);
+	}
 }
\ No newline at end of file
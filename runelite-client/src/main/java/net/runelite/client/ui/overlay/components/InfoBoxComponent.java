@@ -105,6 +105,18 @@ public class InfoBoxComponent implements LayoutableRenderableEntity
 		return bounds.getSize();
 	}
 
+	void describe(RenderKey key)
+	{
+		key.add(InfoBoxComponent.class);
+		key.add(text);
+		key.add(color);
+		key.add(outline);
+		key.add(backgroundColor);
+		key.add(image);
+		key.add(preferredSize.width);
+		key.add(preferredSize.height);
+	}
+
 	private int getSize()
 	{
 		return Math.max(preferredSize.width, preferredSize.height);
@@ -157,6 +157,19 @@ public class LineComponent implements LayoutableRenderableEntity
 		return dimension;
 	}
 
+	void describe(RenderKey key)
+	{
+		key.add(LineComponent.class);
+		key.add(left);
+		key.add(right);
+		key.add(leftColor);
+		key.add(rightColor);
+		key.add(leftFont);
+		key.add(rightFont);
+		key.add(preferredSize.width);
+		key.add(preferredSize.height);
+	}
+
 	private static int getLineWidth(final String line, final FontMetrics metrics)
 	{
 		return metrics.stringWidth(Text.removeTags(line));
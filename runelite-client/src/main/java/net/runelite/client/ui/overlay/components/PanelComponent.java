@@ -29,8 +29,10 @@ import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.util.ArrayList;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -40,6 +42,7 @@ public class PanelComponent implements LayoutableRenderableEntity
 	private final Rectangle bounds = new Rectangle();
 
 	@Setter
+	@Getter(AccessLevel.PACKAGE)
 	private Point preferredLocation = new Point();
 
 	@Setter
@@ -71,6 +74,8 @@ public class PanelComponent implements LayoutableRenderableEntity
 
 	private final Dimension childDimensions = new Dimension();
 
+	private PanelRenderCache renderCache;
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
@@ -202,4 +207,71 @@ public class PanelComponent implements LayoutableRenderableEntity
 		bounds.setSize(dimension);
 		return dimension;
 	}
+
+	/**
+	 * Render the panel, drawing an image of a previous frame instead if nothing in the panel has changed since.
+	 * Only panels made up of {@link LineComponent}, {@link TitleComponent}, {@link ImageComponent} and
+	 * {@link InfoBoxComponent} children are cached, other panels are rendered as normal.
+	 *
+	 * @param graphics graphics to render to
+	 * @return the panel dimension
+	 */
+	public Dimension renderCached(Graphics2D graphics)
+	{
+		if (renderCache == null)
+		{
+			renderCache = new PanelRenderCache();
+		}
+
+		return renderCache.render(this, graphics);
+	}
+
+	boolean describe(RenderKey key, Graphics2D graphics)
+	{
+		key.add(graphics.getFont());
+		key.add(graphics.getColor());
+		key.add(graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+		key.add(graphics.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING));
+
+		key.add(preferredSize.width);
+		key.add(preferredSize.height);
+		key.add(backgroundColor);
+		key.add(orientation);
+		key.add(wrap);
+		key.add(border.x);
+		key.add(border.y);
+		key.add(border.width);
+		key.add(border.height);
+		key.add(gap.x);
+		key.add(gap.y);
+		key.add(childDimensions.width);
+		key.add(childDimensions.height);
+		key.add(children.size());
+
+		for (final LayoutableRenderableEntity child : children)
+		{
+			if (child instanceof LineComponent)
+			{
+				((LineComponent) child).describe(key);
+			}
+			else if (child instanceof TitleComponent)
+			{
+				((TitleComponent) child).describe(key);
+			}
+			else if (child instanceof ImageComponent)
+			{
+				((ImageComponent) child).describe(key);
+			}
+			else if (child instanceof InfoBoxComponent)
+			{
+				((InfoBoxComponent) child).describe(key);
+			}
+			else
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.components;
+
+import java.awt.AlphaComposite;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Retains the rendered image of a {@link PanelComponent}. Once the panel content has been
+ * unchanged for a frame, it is rendered once more into an image, which is then drawn in
+ * place of the panel until its content changes again.
+ */
+class PanelRenderCache
+{
+	private RenderKey key = new RenderKey();
+	private RenderKey lastKey = new RenderKey();
+
+	private final Dimension dimension = new Dimension();
+	private boolean hasDimension;
+	// x, y, width, height of each child relative to the panel
+	private int[] childBounds = new int[0];
+
+	private BufferedImage image;
+	private boolean imageValid;
+
+	Dimension render(PanelComponent panel, Graphics2D graphics)
+	{
+		final RenderKey key = this.key;
+		key.clear();
+
+		if (!panel.describe(key, graphics))
+		{
+			hasDimension = imageValid = false;
+			return panel.render(graphics);
+		}
+
+		final boolean unchanged = key.matches(lastKey);
+		this.key = lastKey;
+		lastKey = key;
+
+		if (!unchanged || !hasDimension)
+		{
+			imageValid = false;
+			return remember(panel, panel.render(graphics));
+		}
+
+		if (!imageValid)
+		{
+			if (!renderImage(panel, graphics))
+			{
+				// The layout changed while rendering, so the image can't be used
+				return remember(panel, panel.render(graphics));
+			}
+
+			imageValid = true;
+		}
+
+		final Point location = panel.getPreferredLocation();
+		final int width = dimension.width;
+		final int height = dimension.height;
+		graphics.drawImage(image, location.x, location.y, location.x + width, location.y + height, 0, 0, width, height, null);
+
+		// Restore the bounds the panel and its children would have had after rendering
+		panel.getBounds().setBounds(location.x, location.y, width, height);
+		final List<LayoutableRenderableEntity> children = panel.getChildren();
+		for (int i = 0, j = 0; i < children.size(); ++i, j += 4)
+		{
+			children.get(i).getBounds().setBounds(location.x + childBounds[j], location.y + childBounds[j + 1],
+				childBounds[j + 2], childBounds[j + 3]);
+		}
+
+		return new Dimension(dimension);
+	}
+
+	private boolean renderImage(PanelComponent panel, Graphics2D graphics)
+	{
+		final int width = dimension.width;
+		final int height = dimension.height;
+
+		if (image == null || image.getWidth() < width || image.getHeight() < height)
+		{
+			image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+
+		final Graphics2D g = image.createGraphics();
+		try
+		{
+			g.setComposite(AlphaComposite.Clear);
+			g.fillRect(0, 0, width, height);
+			g.setComposite(AlphaComposite.SrcOver);
+			g.setRenderingHints(graphics.getRenderingHints());
+			g.setFont(graphics.getFont());
+			g.setColor(graphics.getColor());
+
+			final Point location = panel.getPreferredLocation();
+			g.translate(-location.x, -location.y);
+			final Dimension rendered = panel.render(g);
+			if (rendered == null || !rendered.equals(dimension))
+			{
+				return false;
+			}
+
+			remember(panel, rendered);
+			return true;
+		}
+		finally
+		{
+			g.dispose();
+		}
+	}
+
+	private Dimension remember(PanelComponent panel, Dimension rendered)
+	{
+		if (rendered == null || rendered.width <= 0 || rendered.height <= 0)
+		{
+			hasDimension = false;
+			return rendered;
+		}
+
+		dimension.setSize(rendered);
+		hasDimension = true;
+
+		final Rectangle bounds = panel.getBounds();
+		final List<LayoutableRenderableEntity> children = panel.getChildren();
+		if (childBounds.length != children.size() * 4)
+		{
+			childBounds = new int[children.size() * 4];
+		}
+
+		for (int i = 0, j = 0; i < children.size(); ++i, j += 4)
+		{
+			final Rectangle child = children.get(i).getBounds();
+			childBounds[j] = child.x - bounds.x;
+			childBounds[j + 1] = child.y - bounds.y;
+			childBounds[j + 2] = child.width;
+			childBounds[j + 3] = child.height;
+		}
+
+		return rendered;
+	}
+}
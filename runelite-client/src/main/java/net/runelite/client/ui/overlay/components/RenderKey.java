@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.components;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Objects;
+import net.runelite.client.util.AsyncBufferedImage;
+
+/**
+ * A snapshot of everything that affects how a component tree renders, used to tell
+ * if the tree would render the same as it did before. Objects are compared with equals,
+ * so only immutable values, or values which are compared by identity such as images,
+ * should be added.
+ */
+final class RenderKey
+{
+	private Object[] objects = new Object[32];
+	private int[] ints = new int[32];
+	private int objectCount;
+	private int intCount;
+
+	void clear()
+	{
+		Arrays.fill(objects, 0, objectCount, null);
+		objectCount = 0;
+		intCount = 0;
+	}
+
+	void add(Object value)
+	{
+		if (objectCount == objects.length)
+		{
+			objects = Arrays.copyOf(objects, objects.length * 2);
+		}
+		objects[objectCount++] = value;
+	}
+
+	void add(int value)
+	{
+		if (intCount == ints.length)
+		{
+			ints = Arrays.copyOf(ints, ints.length * 2);
+		}
+		ints[intCount++] = value;
+	}
+
+	void add(boolean value)
+	{
+		add(value ? 1 : 0);
+	}
+
+	/**
+	 * Add an image, which is compared by identity. Images which are still being
+	 * loaded are distinguished from the same image once it has loaded.
+	 */
+	void add(BufferedImage image)
+	{
+		add((Object) image);
+		add(!(image instanceof AsyncBufferedImage) || ((AsyncBufferedImage) image).isLoaded());
+	}
+
+	boolean matches(RenderKey other)
+	{
+		if (objectCount != other.objectCount || intCount != other.intCount)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < intCount; ++i)
+		{
+			if (ints[i] != other.ints[i])
+			{
+				return false;
+			}
+		}
+
+		for (int i = 0; i < objectCount; ++i)
+		{
+			if (!Objects.equals(objects[i], other.objects[i]))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
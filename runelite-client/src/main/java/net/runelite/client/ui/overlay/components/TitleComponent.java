@@ -71,4 +71,13 @@ public class TitleComponent implements LayoutableRenderableEntity
 		bounds.setSize(dimension);
 		return dimension;
 	}
+
+	void describe(RenderKey key)
+	{
+		key.add(TitleComponent.class);
+		key.add(text);
+		key.add(color);
+		key.add(preferredSize.width);
+		key.add(preferredSize.height);
+	}
 }
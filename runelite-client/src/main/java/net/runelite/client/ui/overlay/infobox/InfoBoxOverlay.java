@@ -89,6 +89,7 @@ public class InfoBoxOverlay extends OverlayPanel
 		this.orientation = orientation;
 		setPosition(OverlayPosition.TOP_LEFT);
 		setClearChildren(false);
+		setRenderCache(true);
 		setDragTargetable(true);
 
 		panelComponent.setWrap(true);
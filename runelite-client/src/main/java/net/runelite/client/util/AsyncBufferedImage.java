@@ -56,6 +56,14 @@ public class AsyncBufferedImage extends BufferedImage
 		listeners.clear();
 	}
 
+	/**
+	 * Whether the image has been loaded yet
+	 */
+	public synchronized boolean isLoaded()
+	{
+		return loaded;
+	}
+
 	/**
 	 * Register a function to be ran when the image has been loaded.
 	 * If the image is already loaded, the function will not be ran.
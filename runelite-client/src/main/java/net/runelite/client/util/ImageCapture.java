@@ -25,8 +25,12 @@
  */
 package net.runelite.client.util;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
 import java.awt.Toolkit;
 import java.awt.TrayIcon;
 import java.awt.datatransfer.Clipboard;
@@ -40,15 +44,29 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
@@ -71,6 +89,12 @@ public class ImageCapture
 	private static final DateFormat TIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
 	private static final HttpUrl IMGUR_IMAGE_UPLOAD_URL = HttpUrl.parse("https://api.imgur.com/3/image");
 	private static final MediaType JSON = MediaType.parse("application/json");
+	/**
+	 * Compression level to leave the PNG writer at its default
+	 */
+	public static final int DEFAULT_COMPRESSION_LEVEL = -1;
+	private static final int QUEUE_SIZE = 4;
+	private static final int POOL_SIZE = 2;
 
 	private final Client client;
 	private final Notifier notifier;
@@ -78,6 +102,10 @@ public class ImageCapture
 	private final Gson gson;
 	private final String imgurClientId;
 
+	private final ThreadPoolExecutor encoder;
+	private final Deque<BufferedImage> imagePool = new ArrayDeque<>();
+	private final Set<BufferedImage> lentImages = Collections.newSetFromMap(new IdentityHashMap<>());
+
 	@Inject
 	private ImageCapture(
 		final Client client,
@@ -92,6 +120,59 @@ public class ImageCapture
 		this.okHttpClient = okHttpClient;
 		this.gson = gson;
 		this.imgurClientId = imgurClientId;
+
+		// Screenshots are encoded one at a time on their own thread. During a burst of screenshots
+		// the oldest pending screenshot is dropped rather than letting the queue grow without bound.
+		encoder = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(QUEUE_SIZE),
+			new ThreadFactoryBuilder()
+				.setNameFormat("screenshot-encoder")
+				.setDaemon(true)
+				.build(),
+			this::dropOldest);
+		encoder.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Get an ARGB image to draw a screenshot onto. The image may be reused from an earlier screenshot,
+	 * and is reused again after it has been saved, so it must not be retained after passing it to
+	 * {@link #takeScreenshot(BufferedImage, String, String, boolean, ImageUploadStyle, int)}.
+	 *
+	 * @param width image width
+	 * @param height image height
+	 * @return a blank image
+	 */
+	public BufferedImage createScreenshotImage(int width, int height)
+	{
+		BufferedImage image = null;
+
+		synchronized (imagePool)
+		{
+			final Iterator<BufferedImage> it = imagePool.iterator();
+			while (it.hasNext())
+			{
+				final BufferedImage pooled = it.next();
+				if (pooled.getWidth() == width && pooled.getHeight() == height)
+				{
+					it.remove();
+					image = pooled;
+					break;
+				}
+			}
+
+			if (image == null)
+			{
+				image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			}
+
+			lentImages.add(image);
+		}
+
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setComposite(AlphaComposite.Clear);
+		graphics.fillRect(0, 0, width, height);
+		graphics.dispose();
+		return image;
 	}
 
 	/**
@@ -106,10 +187,37 @@ public class ImageCapture
 	 */
 	public void takeScreenshot(BufferedImage screenshot, String fileName, @Nullable String subDir, boolean notify, ImageUploadStyle imageUploadStyle)
 	{
+		takeScreenshot(screenshot, fileName, subDir, notify, imageUploadStyle, DEFAULT_COMPRESSION_LEVEL);
+	}
+
+	/**
+	 * Saves a screenshot of the client window to the screenshot folder as a PNG,
+	 * and optionally uploads it to an image-hosting service. The image is encoded
+	 * on a background thread, so it must not be modified after calling this.
+	 *
+	 * @param screenshot BufferedImage to capture.
+	 * @param fileName Filename to use, without file extension.
+	 * @param subDir Directory within the player screenshots dir to store the captured screenshot to.
+	 * @param notify Send a notification to the system tray when the image is captured.
+	 * @param imageUploadStyle which method to use to upload the screenshot (Imgur or directly to clipboard).
+	 * @param compressionLevel PNG compression level from 0 (fastest) to 9 (smallest), or {@link #DEFAULT_COMPRESSION_LEVEL}
+	 */
+	public void takeScreenshot(BufferedImage screenshot, String fileName, @Nullable String subDir, boolean notify, ImageUploadStyle imageUploadStyle, int compressionLevel)
+	{
+		final boolean pooled;
+		synchronized (imagePool)
+		{
+			pooled = lentImages.remove(screenshot);
+		}
+
 		if (client.getGameState() == GameState.LOGIN_SCREEN)
 		{
 			// Prevent the screenshot from being captured
 			log.info("Login screenshot prevented");
+			if (pooled)
+			{
+				release(screenshot);
+			}
 			return;
 		}
 
@@ -140,23 +248,22 @@ public class ImageCapture
 			playerFolder = SCREENSHOT_DIR;
 		}
 
-		playerFolder.mkdirs();
-
 		fileName += (fileName.isEmpty() ? "" : " ") + format(new Date());
 
-		try
-		{
-			File screenshotFile = new File(playerFolder, fileName + ".png");
+		// The clipboard holds on to the image, so it can't be reused
+		encoder.execute(new PendingScreenshot(screenshot, pooled && imageUploadStyle != ImageUploadStyle.CLIPBOARD,
+			playerFolder, fileName, notify, imageUploadStyle, compressionLevel));
+	}
 
-			// To make sure that screenshots don't get overwritten, check if file exists,
-			// and if it does create file with same name and suffix.
-			int i = 1;
-			while (screenshotFile.exists())
-			{
-				screenshotFile = new File(playerFolder, fileName + String.format("(%d)", i++) + ".png");
-			}
+	private void saveScreenshot(BufferedImage screenshot, File playerFolder, String fileName, boolean notify, ImageUploadStyle imageUploadStyle, int compressionLevel)
+	{
+		playerFolder.mkdirs();
 
-			ImageIO.write(screenshot, "PNG", screenshotFile);
+		File screenshotFile = null;
+		try
+		{
+			screenshotFile = reserveFile(playerFolder, fileName);
+			writePng(screenshot, screenshotFile, compressionLevel);
 
 			if (imageUploadStyle == ImageUploadStyle.IMGUR)
 			{
@@ -181,6 +288,77 @@ public class ImageCapture
 		catch (IOException ex)
 		{
 			log.warn("error writing screenshot", ex);
+
+			if (screenshotFile != null && screenshotFile.length() == 0)
+			{
+				screenshotFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * Create a new file for a screenshot. If the name is taken, a suffix is added to it.
+	 * Creating the file is atomic, so concurrent screenshots with the same name each get their own file.
+	 */
+	@VisibleForTesting
+	static File reserveFile(File folder, String fileName) throws IOException
+	{
+		File file = new File(folder, fileName + ".png");
+		for (int i = 1; !file.createNewFile(); ++i)
+		{
+			file = new File(folder, fileName + "(" + i + ").png");
+		}
+		return file;
+	}
+
+	@VisibleForTesting
+	static void writePng(BufferedImage image, File file, int compressionLevel) throws IOException
+	{
+		final ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(file))
+		{
+			if (out == null)
+			{
+				throw new IOException("unable to open " + file);
+			}
+
+			final ImageWriteParam param = writer.getDefaultWriteParam();
+			if (compressionLevel != DEFAULT_COMPRESSION_LEVEL && param.canWriteCompressed())
+			{
+				// The writer uses deflate level (int) (9 * (1 - quality))
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				param.setCompressionQuality(Math.max(0f, 1f - (compressionLevel + .5f) / 9f));
+			}
+
+			writer.setOutput(out);
+			writer.write(null, new IIOImage(image, null, null), param);
+		}
+		finally
+		{
+			writer.dispose();
+		}
+	}
+
+	private void dropOldest(Runnable runnable, ThreadPoolExecutor executor)
+	{
+		final PendingScreenshot dropped = (PendingScreenshot) executor.getQueue().poll();
+		if (dropped != null)
+		{
+			log.warn("Too many screenshots queued, dropping {}", dropped.fileName);
+			dropped.release();
+		}
+
+		executor.execute(runnable);
+	}
+
+	private void release(BufferedImage image)
+	{
+		synchronized (imagePool)
+		{
+			if (imagePool.size() < POOL_SIZE)
+			{
+				imagePool.push(image);
+			}
 		}
 	}
 
@@ -257,6 +435,39 @@ public class ImageCapture
 		}
 	}
 
+	@RequiredArgsConstructor
+	private class PendingScreenshot implements Runnable
+	{
+		private final BufferedImage screenshot;
+		private final boolean reusable;
+		private final File playerFolder;
+		private final String fileName;
+		private final boolean notify;
+		private final ImageUploadStyle imageUploadStyle;
+		private final int compressionLevel;
+
+		@Override
+		public void run()
+		{
+			try
+			{
+				saveScreenshot(screenshot, playerFolder, fileName, notify, imageUploadStyle, compressionLevel);
+			}
+			finally
+			{
+				release();
+			}
+		}
+
+		void release()
+		{
+			if (reusable)
+			{
+				ImageCapture.this.release(screenshot);
+			}
+		}
+	}
+
 	@Data
 	private static class ImageUploadResponse
 	{
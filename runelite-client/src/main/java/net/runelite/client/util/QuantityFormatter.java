@@ -24,8 +24,7 @@
  */
 package net.runelite.client.util;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
+import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
@@ -34,6 +33,9 @@ import java.util.regex.Pattern;
 
 /**
  * A set of utility functions to use when formatting quantities
+ * <p>
+ * The formatting functions are thread safe without locking, and produce the same output as the
+ * English {@link NumberFormat} they replace.
  */
 public class QuantityFormatter
 {
@@ -47,17 +49,15 @@ public class QuantityFormatter
 	 */
 	private static final Pattern SUFFIX_PATTERN = Pattern.compile("^-?[0-9,.]+([a-zA-Z]?)$");
 
-	private static final NumberFormat NUMBER_FORMATTER = NumberFormat.getInstance(Locale.ENGLISH);
+	private static final ThreadLocal<NumberFormat> NUMBER_FORMATTER = ThreadLocal.withInitial(() -> NumberFormat.getInstance(Locale.ENGLISH));
 
-	private static final NumberFormat DECIMAL_FORMATTER = new DecimalFormat(
-		"#,###.#",
-		DecimalFormatSymbols.getInstance(Locale.ENGLISH)
-	);
+	private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000};
 
-	private static final NumberFormat PRECISE_DECIMAL_FORMATTER = new DecimalFormat(
-		"#,###.###",
-		DecimalFormatSymbols.getInstance(Locale.ENGLISH)
-	);
+	/**
+	 * Comma separated representations of 0-9999, which are the same for {@link #quantityToStackSize(long)}
+	 * and {@link #formatNumber(long)}. Filled lazily; a race just formats the same string twice.
+	 */
+	private static final String[] SMALL_QUANTITIES = new String[10_000];
 
 	/**
 	 * Convert a quantity to a short, comma separated, SI-prefix style string
@@ -67,7 +67,7 @@ public class QuantityFormatter
 	 * @param quantity The quantity to convert.
 	 * @return a 6 or less character string, possibly with a decimal point, commas or K/M/B suffix
 	 */
-	public static synchronized String quantityToStackSize(long quantity)
+	public static String quantityToStackSize(long quantity)
 	{
 		if (quantity < 0)
 		{
@@ -76,32 +76,28 @@ public class QuantityFormatter
 		}
 		else if (quantity < 10_000)
 		{
-			return NUMBER_FORMATTER.format(quantity);
+			return smallQuantity((int) quantity);
 		}
 
-		String suffix = SUFFIXES[0];
-		long divideBy = 1;
-
-		// determine correct suffix by iterating backward through the list
-		// of suffixes until the suffix results in a value >= 1
-		for (int i = (SUFFIXES.length - 1); i >= 0; i--)
-		{
-			divideBy = (long) Math.pow(10, i * 3);
-			if ((double) quantity / divideBy >= 1)
-			{
-				suffix = SUFFIXES[i];
-				break;
-			}
-		}
+		// determine the largest suffix which results in a value >= 1
+		int suffix = quantity >= 1_000_000_000 ? 3 : quantity >= 1_000_000 ? 2 : 1;
 
-		// get locale formatted string
-		String formattedString = NUMBER_FORMATTER.format((double) quantity / divideBy);
+		StringBuilder sb = new StringBuilder(8);
+		appendDecimal(sb, quantity, POWERS_OF_TEN[suffix * 3], 3);
 
 		// strip down any digits past the 4 first
-		formattedString = (formattedString.length() > 4 ? formattedString.substring(0, 4) : formattedString);
+		if (sb.length() > 4)
+		{
+			sb.setLength(4);
+		}
 
 		// make sure the last character is not a "."
-		return (formattedString.endsWith(".") ? formattedString.substring(0, 3) : formattedString) + suffix;
+		if (sb.charAt(sb.length() - 1) == '.')
+		{
+			sb.setLength(sb.length() - 1);
+		}
+
+		return sb.append(SUFFIXES[suffix]).toString();
 	}
 
 	/**
@@ -127,22 +123,30 @@ public class QuantityFormatter
 	 * @param precise If true, allow thousandths precision if {@code quantity} is larger than 1 million.
 	 *                Otherwise have at most a single decimal
 	 */
-	public static synchronized String quantityToRSDecimalStack(int quantity, boolean precise)
+	public static String quantityToRSDecimalStack(int quantity, boolean precise)
 	{
-		String quantityStr = String.valueOf(quantity);
-		if (quantityStr.length() <= 4)
+		if (quantity > -1000 && quantity < 10_000)
 		{
-			return quantityStr;
+			return String.valueOf(quantity);
+		}
+		else if (quantity < 0)
+		{
+			// negative quantities have no suffix
+			return formatNumber(quantity);
 		}
 
-		int power = (int) Math.log10(quantity);
+		int power = 9;
+		while (quantity < POWERS_OF_TEN[power])
+		{
+			--power;
+		}
 
 		// Output thousandths for values above a million
-		NumberFormat format = precise && power >= 6
-			? PRECISE_DECIMAL_FORMATTER
-			: DECIMAL_FORMATTER;
+		int fractionDigits = precise && power >= 6 ? 3 : 1;
 
-		return format.format(quantity / (Math.pow(10, (power / 3) * 3))) + SUFFIXES[power / 3];
+		StringBuilder sb = new StringBuilder(10);
+		appendDecimal(sb, quantity, POWERS_OF_TEN[(power / 3) * 3], fractionDigits);
+		return sb.append(SUFFIXES[power / 3]).toString();
 	}
 
 	/**
@@ -152,10 +156,10 @@ public class QuantityFormatter
 	 * @param string The string to convert.
 	 * @return A long representation of it.
 	 */
-	public static synchronized long parseQuantity(String string) throws ParseException
+	public static long parseQuantity(String string) throws ParseException
 	{
 		int multiplier = getMultiplier(string);
-		float parsedValue = NUMBER_FORMATTER.parse(string).floatValue();
+		float parsedValue = NUMBER_FORMATTER.get().parse(string).floatValue();
 		return (long) (parsedValue * multiplier);
 	}
 
@@ -164,9 +168,16 @@ public class QuantityFormatter
 	 *
 	 * example: {@code 10,123,351}, {@code 5}
 	 */
-	public static synchronized String formatNumber(final long number)
+	public static String formatNumber(final long number)
 	{
-		return NUMBER_FORMATTER.format(number);
+		if (number >= 0 && number < 10_000)
+		{
+			return smallQuantity((int) number);
+		}
+
+		StringBuilder sb = new StringBuilder(26);
+		appendGrouped(sb, number);
+		return sb.toString();
 	}
 
 
@@ -176,9 +187,100 @@ public class QuantityFormatter
 	 *
 	 * example: {@code 10,123,351}, {@code 5.612}
 	 */
-	public static synchronized String formatNumber(double number)
+	public static String formatNumber(double number)
+	{
+		return NUMBER_FORMATTER.get().format(number);
+	}
+
+	private static String smallQuantity(int quantity)
+	{
+		String formatted = SMALL_QUANTITIES[quantity];
+		if (formatted == null)
+		{
+			StringBuilder sb = new StringBuilder(5);
+			appendGrouped(sb, quantity);
+			formatted = SMALL_QUANTITIES[quantity] = sb.toString();
+		}
+		return formatted;
+	}
+
+	/**
+	 * Append a comma grouped integer
+	 */
+	private static void appendGrouped(StringBuilder sb, long value)
+	{
+		String digits = Long.toString(value);
+		int start = 0;
+		if (value < 0)
+		{
+			sb.append('-');
+			start = 1;
+		}
+
+		int length = digits.length();
+		for (int i = start; i < length; ++i)
+		{
+			sb.append(digits.charAt(i));
+			if (i < length - 1 && (length - 1 - i) % 3 == 0)
+			{
+				sb.append(',');
+			}
+		}
+	}
+
+	/**
+	 * Append {@code value / divisor} comma grouped, with at most {@code fractionDigits} decimals and no
+	 * trailing zeros. This rounds half even on the double quotient like {@link java.text.DecimalFormat}.
+	 *
+	 * @param value non-negative value
+	 * @param divisor a power of ten up to 10^9
+	 * @param fractionDigits the maximum number of decimals, 1 to 3
+	 */
+	private static void appendDecimal(StringBuilder sb, long value, long divisor, int fractionDigits)
 	{
-		return NUMBER_FORMATTER.format(number);
+		final long scale = POWERS_OF_TEN[fractionDigits];
+		long integer = value / divisor;
+		long remainder = (value % divisor) * scale;
+		long fraction = remainder / divisor;
+		long roundingRemainder = remainder % divisor;
+
+		boolean roundUp;
+		if (roundingRemainder * 2 != divisor)
+		{
+			roundUp = roundingRemainder * 2 > divisor;
+		}
+		else
+		{
+			// An exact decimal tie. The double quotient is usually not exactly the tie, and DecimalFormat
+			// rounds towards whichever side it is on.
+			BigDecimal tie = BigDecimal.valueOf(integer).add(BigDecimal.valueOf(fraction * 10 + 5, fractionDigits + 1));
+			int cmp = new BigDecimal((double) value / divisor).compareTo(tie);
+			roundUp = cmp > 0 || (cmp == 0 && (fraction & 1) == 1);
+		}
+
+		if (roundUp && ++fraction == scale)
+		{
+			fraction = 0;
+			++integer;
+		}
+
+		appendGrouped(sb, integer);
+
+		if (fraction != 0)
+		{
+			while (fraction % 10 == 0)
+			{
+				fraction /= 10;
+				--fractionDigits;
+			}
+
+			sb.append('.');
+			for (long pow = POWERS_OF_TEN[fractionDigits - 1]; pow > fraction; pow /= 10)
+			{
+				sb.append('0');
+			}
+			sb.append(fraction);
+		}
 	}
 
 	/**
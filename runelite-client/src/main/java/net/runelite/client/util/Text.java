@@ -81,7 +81,40 @@ public class Text
 	 */
 	public static String removeTags(String str)
 	{
-		return TAG_REGEXP.matcher(str).replaceAll("");
+		// equivalent to replacing TAG_REGEXP, which is too slow for the menu and overlay render paths
+		int open = str.indexOf('<');
+		if (open == -1)
+		{
+			return str;
+		}
+
+		StringBuilder sb = null;
+		int start = 0;
+		do
+		{
+			int close = str.indexOf('>', open + 1);
+			if (close == -1)
+			{
+				break;
+			}
+
+			if (sb == null)
+			{
+				sb = new StringBuilder(str.length());
+			}
+
+			sb.append(str, start, open);
+			start = close + 1;
+			open = str.indexOf('<', start);
+		}
+		while (open != -1);
+
+		if (sb == null)
+		{
+			return str;
+		}
+
+		return sb.append(str, start, str.length()).toString();
 	}
 
 	/**
@@ -24,34 +24,284 @@
  */
 package net.runelite.client.util;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
+/**
+ * Matches text against a set of case insensitive wildcard patterns, where {@code *} matches any
+ * sequence of characters. Patterns are compiled once and can then be tested without allocating.
+ */
 public class WildcardMatcher
 {
-	private static final Pattern WILDCARD_PATTERN = Pattern.compile("(?i)[^*]+|(\\*)");
+	private static final char WILDCARD = '*';
+
+	private final Glob[] globs;
+	// globs with a literal ascii prefix, keyed by the lowercased first character
+	private final Glob[][] prefixed = new Glob[128][];
+	private final Glob[] unprefixed;
+
+	private WildcardMatcher(Collection<String> patterns)
+	{
+		globs = new Glob[patterns.size()];
+
+		List<List<Glob>> prefixedLists = new ArrayList<>(prefixed.length);
+		for (int i = 0; i < prefixed.length; ++i)
+		{
+			prefixedLists.add(null);
+		}
+		List<Glob> unprefixedList = new ArrayList<>();
+
+		int i = 0;
+		for (String pattern : patterns)
+		{
+			Glob glob = new Glob(pattern);
+			globs[i++] = glob;
+
+			int c = glob.firstChar();
+			if (c == -1)
+			{
+				unprefixedList.add(glob);
+				continue;
+			}
+
+			List<Glob> list = prefixedLists.get(c);
+			if (list == null)
+			{
+				list = new ArrayList<>();
+				prefixedLists.set(c, list);
+			}
+			list.add(glob);
+		}
+
+		for (int c = 0; c < prefixed.length; ++c)
+		{
+			List<Glob> list = prefixedLists.get(c);
+			if (list != null)
+			{
+				prefixed[c] = list.toArray(new Glob[0]);
+			}
+		}
+		unprefixed = unprefixedList.toArray(new Glob[0]);
+	}
+
+	public static WildcardMatcher compile(String pattern)
+	{
+		return new WildcardMatcher(Collections.singletonList(pattern));
+	}
+
+	public static WildcardMatcher compile(Collection<String> patterns)
+	{
+		return new WildcardMatcher(patterns);
+	}
 
 	public static boolean matches(String pattern, String text)
 	{
-		final Matcher matcher = WILDCARD_PATTERN.matcher(pattern);
-		final StringBuffer buffer = new StringBuffer();
+		return new Glob(pattern).matches(text);
+	}
+
+	/**
+	 * Test if any of the patterns match the text
+	 */
+	public boolean matches(String text)
+	{
+		if (!text.isEmpty())
+		{
+			char c = toLowerCase(text.charAt(0));
+			if (c < prefixed.length)
+			{
+				Glob[] bucket = prefixed[c];
+				if (bucket != null && matches(bucket, text))
+				{
+					return true;
+				}
+			}
+		}
+
+		return matches(unprefixed, text);
+	}
 
-		buffer.append("(?i)");
-		while (matcher.find())
+	/**
+	 * Find the first pattern at or after {@code fromIndex}, in the order the patterns were given,
+	 * which matches the text
+	 *
+	 * @return the index of the pattern, or -1 if none match
+	 */
+	public int indexOf(String text, int fromIndex)
+	{
+		for (int i = Math.max(fromIndex, 0); i < globs.length; ++i)
 		{
-			if (matcher.group(1) != null)
+			if (globs[i].matches(text))
 			{
-				matcher.appendReplacement(buffer, ".*");
+				return i;
 			}
-			else
+		}
+		return -1;
+	}
+
+	public int size()
+	{
+		return globs.length;
+	}
+
+	private static boolean matches(Glob[] globs, String text)
+	{
+		for (Glob glob : globs)
+		{
+			if (glob.matches(text))
 			{
-				matcher.appendReplacement(buffer, Matcher.quoteReplacement(Pattern.quote(matcher.group(0))));
+				return true;
 			}
 		}
+		return false;
+	}
 
-		matcher.appendTail(buffer);
-		final String replaced = buffer.toString();
+	/*
+	 * Case folding is ascii only, which is what the (?i) regex flag
+	 * used by the previous implementation did.
+	 */
+	private static char toLowerCase(char c)
+	{
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
 
-		return text.matches(replaced);
+	private static boolean regionMatches(String text, int offset, char[] segment)
+	{
+		for (int i = 0; i < segment.length; ++i)
+		{
+			if (toLowerCase(text.charAt(offset + i)) != segment[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int indexOf(String text, char[] segment, int from, int to)
+	{
+		for (int i = from, last = to - segment.length; i <= last; ++i)
+		{
+			if (regionMatches(text, i, segment))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static class Glob
+	{
+		/**
+		 * The lowercased literal runs between wildcards
+		 */
+		private final char[][] segments;
+		private final boolean anchorStart;
+		private final boolean anchorEnd;
+		private final int minLength;
+
+		Glob(String pattern)
+		{
+			List<char[]> segments = new ArrayList<>();
+			int minLength = 0;
+			int start = 0;
+			while (start <= pattern.length())
+			{
+				int end = pattern.indexOf(WILDCARD, start);
+				if (end == -1)
+				{
+					end = pattern.length();
+				}
+
+				if (end > start)
+				{
+					char[] segment = new char[end - start];
+					for (int i = 0; i < segment.length; ++i)
+					{
+						segment[i] = toLowerCase(pattern.charAt(start + i));
+					}
+					segments.add(segment);
+					minLength += segment.length;
+				}
+
+				start = end + 1;
+			}
+
+			this.segments = segments.toArray(new char[0][]);
+			this.anchorStart = pattern.isEmpty() || pattern.charAt(0) != WILDCARD;
+			this.anchorEnd = pattern.isEmpty() || pattern.charAt(pattern.length() - 1) != WILDCARD;
+			this.minLength = minLength;
+		}
+
+		int firstChar()
+		{
+			if (!anchorStart || segments.length == 0 || segments[0][0] >= 128)
+			{
+				return -1;
+			}
+			return segments[0][0];
+		}
+
+		boolean matches(String text)
+		{
+			final int length = text.length();
+			if (length < minLength)
+			{
+				return false;
+			}
+
+			if (segments.length == 0)
+			{
+				// either the empty pattern, or only wildcards
+				return !anchorStart || length == 0;
+			}
+
+			int start = 0;
+			int end = length;
+			int first = 0;
+			int last = segments.length;
+
+			if (anchorStart)
+			{
+				char[] segment = segments[0];
+				if (!regionMatches(text, 0, segment))
+				{
+					return false;
+				}
+				start = segment.length;
+				first = 1;
+			}
+
+			if (anchorEnd)
+			{
+				if (first == last)
+				{
+					// pattern had no wildcards
+					return start == length;
+				}
+
+				char[] segment = segments[last - 1];
+				end = length - segment.length;
+				if (end < start || !regionMatches(text, end, segment))
+				{
+					return false;
+				}
+				--last;
+			}
+
+			// the remaining segments are each surrounded by wildcards, so the leftmost match of each is best
+			for (int i = first; i < last; ++i)
+			{
+				char[] segment = segments[i];
+				int idx = WildcardMatcher.indexOf(text, segment, start, end);
+				if (idx == -1)
+				{
+					return false;
+				}
+				start = idx + segment.length;
+			}
+
+			return true;
+		}
 	}
 }
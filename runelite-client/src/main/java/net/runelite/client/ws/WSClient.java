@@ -24,21 +24,46 @@
  */
 package net.runelite.client.ws;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.party.messages.LocationUpdate;
+import net.runelite.client.plugins.party.messages.SkillUpdate;
 import net.runelite.http.api.RuneLiteAPI;
 import net.runelite.http.api.ws.WebsocketGsonFactory;
 import net.runelite.http.api.ws.WebsocketMessage;
 import net.runelite.http.api.ws.messages.Handshake;
+import net.runelite.http.api.ws.messages.party.PartyBatch;
+import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
 import net.runelite.http.api.ws.messages.party.PartyMessage;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -50,21 +75,59 @@ import okhttp3.WebSocketListener;
 @Singleton
 public class WSClient extends WebSocketListener implements AutoCloseable
 {
+	static final int MAX_QUEUED_MESSAGES = 4096;
+
 	private final EventBus eventBus;
 	private final OkHttpClient okHttpClient;
+	private final Client client;
+	private final ClientThread clientThread;
 	private final Collection<Class<? extends WebsocketMessage>> messages = new HashSet<>();
 
+	// messages are decoded one at a time on the decoder thread, and posted on the client thread
+	private final Executor decoder;
+	// guarded by itself, along with queuedUpdates and coalesced
+	private final Queue<Queued> received = new ArrayDeque<>();
+	// the last queued location and skill updates, which newer ones replace once the queue is backed up
+	private final Map<Object, Queued> queuedUpdates = new HashMap<>();
+	private int coalesced;
+	private final AtomicBoolean drainScheduled = new AtomicBoolean();
+	// member messages sent during the current tick, guarded by itself
+	private final List<WebsocketMessage> pending = new ArrayList<>();
+
 	private volatile Gson gson;
+	// set once the server acknowledges batching, older servers and parties don't understand PartyBatch
+	private volatile boolean batching;
 	@Getter
 	private UUID sessionId;
-	private WebSocket webSocket;
+	private volatile WebSocket webSocket;
 
 	@Inject
-	private WSClient(EventBus eventBus, OkHttpClient okHttpClient)
+	private WSClient(EventBus eventBus, OkHttpClient okHttpClient, @Nullable Client client, ClientThread clientThread)
+	{
+		this(eventBus, okHttpClient, client, clientThread, createDecoder());
+	}
+
+	WSClient(EventBus eventBus, OkHttpClient okHttpClient, @Nullable Client client, ClientThread clientThread, Executor decoder)
 	{
 		this.eventBus = eventBus;
 		this.okHttpClient = okHttpClient;
+		this.client = client;
+		this.clientThread = clientThread;
+		this.decoder = decoder;
 		this.gson = WebsocketGsonFactory.build(WebsocketGsonFactory.factory(messages));
+		eventBus.register(this);
+	}
+
+	private static Executor createDecoder()
+	{
+		final ThreadPoolExecutor decoder = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(),
+			new ThreadFactoryBuilder()
+				.setNameFormat("websocket-decoder")
+				.setDaemon(true)
+				.build());
+		decoder.allowCoreThreadTimeOut(true);
+		return decoder;
 	}
 
 	public boolean sessionExists()
@@ -85,6 +148,12 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			webSocket = null;
 		}
 
+		synchronized (pending)
+		{
+			// these were for the old session
+			pending.clear();
+		}
+
 		this.sessionId = sessionId;
 
 		if (sessionId != null)
@@ -106,9 +175,11 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			.build();
 
 		webSocket = okHttpClient.newWebSocket(request, this);
+		batching = false;
 
 		Handshake handshake = new Handshake();
 		handshake.setSession(sessionId);
+		handshake.setBatching(true);
 		send(handshake);
 	}
 
@@ -128,7 +199,28 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 	}
 
+	/**
+	 * Send a message. If the server supports batching, member messages sent while logged in are held
+	 * until the end of the game tick, and all of those sent in the same tick go out in a single
+	 * {@link PartyBatch}.
+	 */
 	public void send(WebsocketMessage message)
+	{
+		if (batching && message instanceof PartyMemberMessage && isLoggedIn())
+		{
+			synchronized (pending)
+			{
+				pending.add(message);
+			}
+			return;
+		}
+
+		// keep the messages in order
+		flush();
+		sendNow(message);
+	}
+
+	private void sendNow(WebsocketMessage message)
 	{
 		if (webSocket == null)
 		{
@@ -141,6 +233,100 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		log.debug("Sent: {}", json);
 	}
 
+	private void flush()
+	{
+		final List<WebsocketMessage> messages;
+		synchronized (pending)
+		{
+			if (pending.isEmpty())
+			{
+				return;
+			}
+			else if (pending.size() == 1 || !batching)
+			{
+				// a single message, or the connection was lost and the new one hasn't negotiated batching
+				messages = new ArrayList<>(pending);
+			}
+			else
+			{
+				PartyBatch batch = new PartyBatch(new ArrayList<>(pending));
+				batch.setMemberId(((PartyMemberMessage) pending.get(0)).getMemberId());
+				messages = Collections.singletonList(batch);
+			}
+			pending.clear();
+		}
+
+		for (WebsocketMessage message : messages)
+		{
+			sendNow(message);
+		}
+	}
+
+	@Subscribe(priority = -1) // run after plugins so that the updates they send this tick are batched together
+	public void onGameTick(GameTick gameTick)
+	{
+		drain();
+		flush();
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged gameStateChanged)
+	{
+		if (gameStateChanged.getGameState() != GameState.LOGGED_IN)
+		{
+			// there will be no game tick to deliver or send these on
+			drain();
+			flush();
+		}
+	}
+
+	/**
+	 * Post the received messages to the event bus. Must be called on the client thread.
+	 */
+	private void drain()
+	{
+		drainScheduled.set(false);
+
+		while (true)
+		{
+			final WebsocketMessage message;
+			synchronized (received)
+			{
+				final Queued queued = received.poll();
+				if (queued == null)
+				{
+					break;
+				}
+
+				message = queued.message;
+				final Object key = updateKey(message);
+				if (key != null)
+				{
+					queuedUpdates.remove(key, queued);
+				}
+			}
+
+			eventBus.post(message);
+		}
+
+		final int dropped;
+		synchronized (received)
+		{
+			dropped = coalesced;
+			coalesced = 0;
+		}
+
+		if (dropped > 0)
+		{
+			log.warn("Party messages are backed up, dropped {} superseded location and skill updates", dropped);
+		}
+	}
+
+	private boolean isLoggedIn()
+	{
+		return client != null && client.getGameState() == GameState.LOGGED_IN;
+	}
+
 	@Override
 	public void close()
 	{
@@ -158,6 +344,11 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 
 	@Override
 	public void onMessage(WebSocket webSocket, String text)
+	{
+		decoder.execute(() -> decode(webSocket, text));
+	}
+
+	private void decode(WebSocket webSocket, String text)
 	{
 		final WebsocketMessage message;
 
@@ -178,7 +369,86 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 
 		log.debug("Got: {}", text);
-		eventBus.post(message);
+
+		if (message instanceof Handshake)
+		{
+			// the acknowledgement is only good for the connection it was received on
+			if (((Handshake) message).isBatching() && webSocket == this.webSocket)
+			{
+				batching = true;
+			}
+			return;
+		}
+
+		if (message instanceof PartyBatch)
+		{
+			final PartyBatch batch = (PartyBatch) message;
+			for (WebsocketMessage batched : batch.getMessages())
+			{
+				if (!(batched instanceof PartyMemberMessage) || batched instanceof PartyBatch)
+				{
+					// only member messages can be batched
+					continue;
+				}
+
+				((PartyMemberMessage) batched).setMemberId(batch.getMemberId());
+				queue(batched);
+			}
+		}
+		else
+		{
+			queue(message);
+		}
+
+		// there are no game ticks to drain the queue on while logged out
+		if (!isLoggedIn() && drainScheduled.compareAndSet(false, true))
+		{
+			clientThread.invokeLater(this::drain);
+		}
+	}
+
+	private void queue(WebsocketMessage message)
+	{
+		final Object key = updateKey(message);
+		synchronized (received)
+		{
+			if (key != null && received.size() >= MAX_QUEUED_MESSAGES)
+			{
+				// replace the queued update with this newer one, other messages are never dropped
+				final Queued queued = queuedUpdates.get(key);
+				if (queued != null)
+				{
+					queued.message = message;
+					++coalesced;
+					return;
+				}
+			}
+
+			final Queued queued = new Queued(message);
+			received.add(queued);
+			if (key != null)
+			{
+				queuedUpdates.put(key, queued);
+			}
+		}
+	}
+
+	/**
+	 * @return the key of the updates which the given message supersedes, or null if it supersedes none
+	 */
+	@Nullable
+	private static Object updateKey(WebsocketMessage message)
+	{
+		if (message instanceof LocationUpdate)
+		{
+			return Arrays.asList(((LocationUpdate) message).getMemberId(), LocationUpdate.class);
+		}
+		else if (message instanceof SkillUpdate)
+		{
+			final SkillUpdate skillUpdate = (SkillUpdate) message;
+			return Arrays.asList(skillUpdate.getMemberId(), skillUpdate.getSkill());
+		}
+		return null;
 	}
 
 	@Override
@@ -186,6 +456,7 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	{
 		log.info("Websocket {} closed: {}/{}", webSocket, code, reason);
 		this.webSocket = null;
+		batching = false;
 	}
 
 	@Override
@@ -193,5 +464,16 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	{
 		log.warn("Error in websocket {}:{}", response, t);
 		this.webSocket = null;
+		batching = false;
+	}
+
+	private static class Queued
+	{
+		private WebsocketMessage message;
+
+		private Queued(WebsocketMessage message)
+		{
+			this.message = message;
+		}
 	}
 }
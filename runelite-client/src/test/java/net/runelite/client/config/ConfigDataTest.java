@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ConfigDataTest
+{
+	@Test
+	public void testPutRemove()
+	{
+		ConfigData data = new ConfigData();
+		assertNull(data.put("foo", "foo.bar", "1"));
+		assertEquals("1", data.put("foo", "foo.bar", "2"));
+		assertEquals("2", data.get("foo", "foo.bar"));
+		assertEquals("2", data.get("foo.bar"));
+		assertNull(data.get("foo", "foo.baz"));
+
+		assertEquals("2", data.remove("foo", "foo.bar"));
+		assertNull(data.remove("foo", "foo.bar"));
+		assertNull(data.get("foo.bar"));
+		assertTrue(data.keys("").isEmpty());
+	}
+
+	@Test
+	public void testKeys()
+	{
+		ConfigData data = new ConfigData();
+		data.replace(ImmutableMap.<String, String>builder()
+			.put("banktags.item_1", "a")
+			.put("banktags.item_2", "b")
+			.put("banktags.icon_x", "c")
+			.put("bank.value", "d")
+			.put("groundMarker.region_1", "e")
+			.put("nodot", "f")
+			.build());
+
+		assertEquals(Arrays.asList("banktags.item_1", "banktags.item_2"), data.keys("banktags.item_"));
+		assertEquals(Collections.singletonList("banktags.icon_x"), data.keys("banktags.icon"));
+		assertEquals(Collections.emptyList(), data.keys("banktags.tab_"));
+		assertEquals(Collections.emptyList(), data.keys("missing."));
+
+		List<String> bank = data.keys("bank");
+		Collections.sort(bank);
+		assertEquals(Arrays.asList("bank.value", "banktags.icon_x", "banktags.item_1", "banktags.item_2"), bank);
+
+		assertEquals(Collections.singletonList("nodot"), data.keys("nodot"));
+		assertEquals(6, data.keys("").size());
+	}
+
+	@Test
+	public void testStore() throws IOException
+	{
+		Map<String, String> values = new HashMap<>();
+		values.put("runelite.plain", "value");
+		values.put("runelite.escaped key", " leading space=and:others#!\\\t\r\n\f");
+		values.put("runelite.unicode", "é中");
+		values.put("grounditems.highlightedItems", "coins,bones");
+		values.put("nodot", "x");
+
+		ConfigData data = new ConfigData();
+		data.replace(values);
+		assertEquals(values, load(data));
+
+		// modifying one group leaves the others intact
+		data.put("grounditems", "grounditems.highlightedItems", "coins");
+		values.put("grounditems.highlightedItems", "coins");
+		data.remove("runelite", "runelite.plain");
+		values.remove("runelite.plain");
+		assertEquals(values, load(data));
+		assertEquals(values, data.snapshot());
+	}
+
+	private static Map<String, String> load(ConfigData data) throws IOException
+	{
+		StringWriter writer = new StringWriter();
+		data.store(writer, "test");
+
+		Properties properties = new Properties();
+		properties.load(new StringReader(writer.toString()));
+
+		Map<String, String> loaded = new HashMap<>();
+		for (String key : properties.stringPropertyNames())
+		{
+			loaded.put(key, properties.getProperty(key));
+		}
+		return loaded;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigJournalTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCoalesce() throws IOException
+	{
+		File properties = new File(folder.getRoot(), "settings.properties");
+		ConfigJournal journal = new ConfigJournal();
+
+		assertTrue(journal.add("foo.bar", "1"));
+		for (int i = 2; i <= 1000; ++i)
+		{
+			assertFalse(journal.add("foo.bar", Integer.toString(i)));
+		}
+		assertFalse(journal.add("foo.baz", "x"));
+		assertFalse(journal.add("foo.baz", null));
+
+		assertEquals(2, journal.flush(properties));
+		assertEquals(0, journal.flush(properties));
+		assertTrue(journal.add("foo.qux", "y"));
+		assertEquals(1, journal.flush(properties));
+
+		Map<String, String> changes = ConfigJournal.read(properties);
+		assertEquals(3, changes.size());
+		assertEquals("1000", changes.get("foo.bar"));
+		assertTrue(changes.containsKey("foo.baz"));
+		assertNull(changes.get("foo.baz"));
+		assertEquals("y", changes.get("foo.qux"));
+
+		journal.truncate(properties);
+		assertTrue(ConfigJournal.read(properties).isEmpty());
+	}
+
+	@Test
+	public void testEscaping() throws IOException
+	{
+		File properties = new File(folder.getRoot(), "settings.properties");
+		ConfigJournal journal = new ConfigJournal();
+
+		String value = "[{\"a\":\"b\\\\c\"}]\n\tline two\r\\n";
+		journal.add("group.key\twith tab", value);
+		journal.flush(properties);
+
+		Map<String, String> changes = ConfigJournal.read(properties);
+		assertEquals(1, changes.size());
+		assertEquals(value, changes.get("group.key\twith tab"));
+	}
+
+	@Test
+	public void testPartialRecord() throws IOException
+	{
+		File properties = new File(folder.getRoot(), "settings.properties");
+		ConfigJournal journal = new ConfigJournal();
+		journal.add("foo.bar", "1");
+		journal.flush(properties);
+
+		// simulate a write interrupted by a crash
+		try (FileOutputStream out = new FileOutputStream(ConfigJournal.journalFile(properties), true))
+		{
+			out.write("Sfoo.baz\t2".getBytes(StandardCharsets.UTF_8));
+		}
+
+		Map<String, String> changes = ConfigJournal.read(properties);
+		assertEquals(1, changes.size());
+		assertEquals("1", changes.get("foo.bar"));
+	}
+}
@@ -28,8 +28,10 @@ import com.google.inject.Guice;
 import com.google.inject.testing.fieldbinder.Bind;
 import com.google.inject.testing.fieldbinder.BoundFieldModule;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
@@ -38,10 +40,13 @@ import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.account.AccountSession;
 import net.runelite.client.eventbus.EventBus;
+import okhttp3.OkHttpClient;
 import org.junit.Assert;
 import static org.junit.Assert.assertNotNull;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -76,6 +81,9 @@ public class ConfigManagerTest
 	@Inject
 	ConfigManager manager;
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	@Before
 	public void before()
 	{
@@ -139,6 +147,28 @@ public class ConfigManagerTest
 		Assert.assertNull(conf.nullDefaultKey());
 	}
 
+	@Test
+	public void testReplayJournal() throws IOException
+	{
+		File propertiesFile = folder.newFile();
+		ConfigJournal journal = new ConfigJournal();
+		journal.add("test.key", "moo");
+		journal.flush(propertiesFile);
+
+		ConfigManager manager = new ConfigManager(propertiesFile, executor, eventBus, new OkHttpClient(), null);
+		manager.load();
+		Assert.assertEquals("moo", manager.getConfiguration("test", "key"));
+
+		// the replayed changes are saved to the properties file instead of being journaled again
+		Assert.assertFalse(ConfigJournal.journalFile(propertiesFile).exists());
+		Properties properties = new Properties();
+		try (FileInputStream in = new FileInputStream(propertiesFile))
+		{
+			properties.load(in);
+		}
+		Assert.assertEquals("moo", properties.getProperty("test.key"));
+	}
+
 	@Test
 	public void testKeySplitter()
 	{
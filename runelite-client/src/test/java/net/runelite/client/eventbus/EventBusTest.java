@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	public static class TestEvent
+	{
+	}
+
+	public static class OtherEvent
+	{
+	}
+
+	public static class SubEvent extends TestEvent
+	{
+	}
+
+	private final List<String> calls = new ArrayList<>();
+	private final List<Throwable> exceptions = new ArrayList<>();
+	private EventBus eventBus;
+
+	public class LowPriority
+	{
+		@Subscribe(priority = -1)
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("low");
+		}
+	}
+
+	public class HighPriority
+	{
+		@Subscribe(priority = 1)
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("high");
+		}
+
+		@Subscribe
+		public void onOtherEvent(OtherEvent event)
+		{
+			calls.add("other");
+		}
+	}
+
+	public class Throwing
+	{
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			throw new IllegalStateException();
+		}
+	}
+
+	public class SubSubscriber
+	{
+		@Subscribe
+		public void onSubEvent(SubEvent event)
+		{
+		}
+	}
+
+	public class PartlyInvalid
+	{
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("valid");
+		}
+
+		@Subscribe
+		public void otherEvent(OtherEvent event)
+		{
+		}
+	}
+
+	@Before
+	public void before()
+	{
+		eventBus = new EventBus(exceptions::add);
+	}
+
+	@Test
+	public void testPriority()
+	{
+		eventBus.register(new LowPriority());
+		eventBus.register(new HighPriority());
+		eventBus.register(TestEvent.class, e -> calls.add("fn"), 0);
+
+		eventBus.post(new TestEvent());
+		assertEquals(ImmutableList.of("high", "fn", "low"), calls);
+	}
+
+	@Test
+	public void testUnregister()
+	{
+		LowPriority low = new LowPriority();
+		HighPriority high = new HighPriority();
+		eventBus.register(low);
+		eventBus.register(high);
+		EventBus.Subscriber fn = eventBus.register(TestEvent.class, e -> calls.add("fn"), 0);
+
+		eventBus.unregister(high);
+		eventBus.unregister(fn);
+		eventBus.post(new TestEvent());
+		eventBus.post(new OtherEvent());
+		assertEquals(ImmutableList.of("low"), calls);
+
+		calls.clear();
+		eventBus.unregister(low);
+		eventBus.post(new TestEvent());
+		assertTrue(calls.isEmpty());
+
+		// re-registering puts the subscriber back in the table
+		eventBus.register(high);
+		eventBus.post(new OtherEvent());
+		assertEquals(ImmutableList.of("other"), calls);
+	}
+
+	@Test
+	public void testException()
+	{
+		eventBus.register(new Throwing());
+		eventBus.register(new LowPriority());
+
+		eventBus.post(new TestEvent());
+		assertEquals(1, exceptions.size());
+		assertEquals(ImmutableList.of("low"), calls);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSubclassEvent()
+	{
+		eventBus.register(new LowPriority());
+		eventBus.register(new SubSubscriber());
+	}
+
+	@Test
+	public void testRegisterInvalid()
+	{
+		try
+		{
+			eventBus.register(new PartlyInvalid());
+			fail();
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// expected
+		}
+
+		// the valid subscriber is not registered either
+		eventBus.post(new TestEvent());
+		assertTrue(calls.isEmpty());
+	}
+
+	@Test
+	public void testSubclassEventAfterUnregister()
+	{
+		LowPriority low = new LowPriority();
+		eventBus.register(low);
+		eventBus.unregister(low);
+
+		// nothing subscribes to the superclass anymore
+		eventBus.register(new SubSubscriber());
+	}
+}
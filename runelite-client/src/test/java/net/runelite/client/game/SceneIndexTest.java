@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Point;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.WallObject;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SceneIndexTest
+{
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	@Bind
+	private ClientThread clientThread;
+
+	@Mock
+	@Bind
+	private EventBus eventBus;
+
+	@Inject
+	private SceneIndex sceneIndex;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+	}
+
+	private static Tile tile(int plane, int x, int y)
+	{
+		Tile tile = mock(Tile.class);
+		when(tile.getPlane()).thenReturn(plane);
+		when(tile.getSceneLocation()).thenReturn(new Point(x, y));
+		return tile;
+	}
+
+	private static <T extends TileObject> T object(Class<T> clazz, int id, WorldPoint worldPoint)
+	{
+		T object = mock(clazz);
+		when(object.getId()).thenReturn(id);
+		when(object.getWorldLocation()).thenReturn(worldPoint);
+		return object;
+	}
+
+	@Test
+	public void testSpawnDespawn()
+	{
+		WorldPoint worldPoint = new WorldPoint(3200, 3200, 0);
+		Tile tile = tile(0, 10, 20);
+		GameObject object = object(GameObject.class, 1234, worldPoint);
+
+		GameObjectSpawned spawned = new GameObjectSpawned();
+		spawned.setTile(tile);
+		spawned.setGameObject(object);
+		sceneIndex.onGameObjectSpawned(spawned);
+		// duplicate spawns are ignored
+		sceneIndex.onGameObjectSpawned(spawned);
+
+		assertEquals(1, sceneIndex.size());
+		assertEquals(ImmutableSet.of(object), sceneIndex.getObjects(1234));
+		assertEquals(ImmutableSet.of(object), sceneIndex.getObjectsInRegion(worldPoint.getRegionID()));
+		assertEquals(ImmutableSet.of(object), sceneIndex.getObjects(0, 10, 20));
+		assertTrue(sceneIndex.getObjects(0, 10, 21).isEmpty());
+
+		GameObjectDespawned despawned = new GameObjectDespawned();
+		despawned.setTile(tile);
+		despawned.setGameObject(object);
+		sceneIndex.onGameObjectDespawned(despawned);
+
+		assertEquals(0, sceneIndex.size());
+		assertTrue(sceneIndex.getObjects(1234).isEmpty());
+		assertTrue(sceneIndex.getObjectsInRegion(worldPoint.getRegionID()).isEmpty());
+		assertTrue(sceneIndex.getObjects(0, 10, 20).isEmpty());
+	}
+
+	@Test
+	public void testImpostorNames()
+	{
+		ObjectComposition base = mock(ObjectComposition.class);
+		when(base.getName()).thenReturn("null");
+		when(base.getImpostorIds()).thenReturn(new int[]{-1, 2, 3});
+		when(client.getObjectDefinition(1)).thenReturn(base);
+		ObjectComposition closed = mock(ObjectComposition.class);
+		when(closed.getName()).thenReturn("Closed chest");
+		when(client.getObjectDefinition(2)).thenReturn(closed);
+		ObjectComposition open = mock(ObjectComposition.class);
+		when(open.getName()).thenReturn("Open chest");
+		when(client.getObjectDefinition(3)).thenReturn(open);
+
+		GameObject object = object(GameObject.class, 1, new WorldPoint(3200, 3200, 0));
+		GameObjectSpawned spawned = new GameObjectSpawned();
+		spawned.setTile(tile(0, 10, 20));
+		spawned.setGameObject(object);
+		sceneIndex.onGameObjectSpawned(spawned);
+
+		// the impostor can change without an event, so the object is found by the name of any of them
+		assertEquals(ImmutableSet.of(object), sceneIndex.getObjects("Closed chest"));
+		assertEquals(ImmutableSet.of(object), sceneIndex.getObjects("Open chest"));
+		assertEquals(ImmutableSet.of(object), sceneIndex.getObjects("null"));
+	}
+
+	@Test
+	public void testRebuildOnLoad()
+	{
+		Tile[][][] tiles = new Tile[Constants.MAX_Z][Constants.SCENE_SIZE][Constants.SCENE_SIZE];
+		Tile tile = tiles[1][5][6] = tile(1, 5, 6);
+		WallObject wall = object(WallObject.class, 42, new WorldPoint(3000, 3000, 1));
+		when(tile.getWallObject()).thenReturn(wall);
+		when(tile.getGameObjects()).thenReturn(new GameObject[5]);
+
+		Scene scene = mock(Scene.class);
+		when(scene.getTiles()).thenReturn(tiles);
+		when(client.getScene()).thenReturn(scene);
+
+		GameStateChanged gameStateChanged = new GameStateChanged();
+		gameStateChanged.setGameState(GameState.LOADING);
+		sceneIndex.onGameStateChanged(gameStateChanged);
+
+		// spawns while loading are left to the rebuild
+		GameObjectSpawned spawned = new GameObjectSpawned();
+		spawned.setTile(tile);
+		spawned.setGameObject(mock(GameObject.class));
+		sceneIndex.onGameObjectSpawned(spawned);
+		assertEquals(0, sceneIndex.size());
+
+		gameStateChanged.setGameState(GameState.LOGGED_IN);
+		sceneIndex.onGameStateChanged(gameStateChanged);
+
+		assertEquals(1, sceneIndex.size());
+		assertEquals(ImmutableSet.of(wall), sceneIndex.getObjects(42));
+		assertEquals(ImmutableSet.of(wall), sceneIndex.getObjects(1, 5, 6));
+	}
+}
@@ -24,6 +24,9 @@
  */
 package net.runelite.client.plugins;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.graph.GraphBuilder;
+import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
 import com.google.inject.Guice;
@@ -54,6 +57,7 @@ import net.runelite.client.eventbus.EventBus;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeNotNull;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -150,6 +154,42 @@ public class PluginManagerTest
 		assertEquals(expected, plugins.size());
 	}
 
+	@Test
+	public void testPluginIndex() throws Exception
+	{
+		List<Class<?>> indexed = PluginManager.readPluginIndex(getClass().getClassLoader());
+		// the index is only written by the maven build
+		assumeNotNull(indexed);
+		assertEquals(pluginClasses, new HashSet<>(indexed));
+	}
+
+	@Test
+	public void testTopologicalLevels()
+	{
+		MutableGraph<String> graph = GraphBuilder.directed().build();
+		graph.addNode("a");
+		graph.addNode("e");
+		graph.putEdge("b", "a");
+		graph.putEdge("c", "a");
+		graph.putEdge("d", "b");
+		graph.putEdge("d", "c");
+
+		List<List<String>> levels = PluginManager.topologicalLevels(graph);
+		assertEquals(3, levels.size());
+		assertEquals(ImmutableSet.of("a", "e"), new HashSet<>(levels.get(0)));
+		assertEquals(ImmutableSet.of("b", "c"), new HashSet<>(levels.get(1)));
+		assertEquals(ImmutableSet.of("d"), new HashSet<>(levels.get(2)));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testTopologicalLevelsCycle()
+	{
+		MutableGraph<String> graph = GraphBuilder.directed().build();
+		graph.putEdge("a", "b");
+		graph.putEdge("b", "a");
+		PluginManager.topologicalLevels(graph);
+	}
+
 	@Test
 	public void dumpGraph() throws Exception
 	{
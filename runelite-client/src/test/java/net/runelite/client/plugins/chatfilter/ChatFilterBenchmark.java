@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.chatfilter;
+
+import com.google.common.collect.ImmutableList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Filters a log of busy world public chat, comparing {@link MessageFilter} to matching each
+ * word and pattern separately. Run with {@code org.openjdk.jmh.Main ChatFilterBenchmark}
+ * from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatFilterBenchmark
+{
+	private static final List<String> WORDS = ImmutableList.of(
+		"dicing", "doubling", "trusted", "pay outs", "flower poker", "host", "mercing", "bank sale",
+		"free membership", "gf", "drop party", "legit", "giveaway", "bonds", "clan", "trade me",
+		"hot/cold", "staking", "duel", "pm me"
+	);
+
+	private static final List<String> REGEXES = ImmutableList.of(
+		"[0-9]+x[0-9]",
+		"\\b[0-9]+[kmb]\\b",
+		"www\\.\\S+",
+		"\\b(?:buying|selling)\\b.*\\bea\\b",
+		"cc \\w+"
+	);
+
+	@Param({"20", "200"})
+	public int words;
+
+	private List<String> messages;
+	private MessageFilter filter;
+	private List<Pattern> patterns;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		messages = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+			ChatFilterBenchmark.class.getResourceAsStream("chatlog.txt"), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				messages.add(line.substring(line.indexOf('\t') + 1));
+			}
+		}
+
+		// pad the word list with variations which don't occur in the log
+		List<String> wordList = new ArrayList<>(words);
+		for (int i = 0; wordList.size() < words; ++i)
+		{
+			String word = WORDS.get(i % WORDS.size());
+			wordList.add(i < WORDS.size() ? word : word + (i / WORDS.size()));
+		}
+
+		filter = new MessageFilter(wordList, REGEXES);
+
+		patterns = new ArrayList<>();
+		for (String word : wordList)
+		{
+			patterns.add(Pattern.compile(Pattern.quote(word), Pattern.CASE_INSENSITIVE));
+		}
+		for (String regex : REGEXES)
+		{
+			patterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+		}
+	}
+
+	@Benchmark
+	public void censor(Blackhole blackhole)
+	{
+		for (String message : messages)
+		{
+			blackhole.consume(filter.censor(message));
+		}
+	}
+
+	@Benchmark
+	public void matches(Blackhole blackhole)
+	{
+		for (String message : messages)
+		{
+			blackhole.consume(filter.matches(message));
+		}
+	}
+
+	@Benchmark
+	public void censorSeparately(Blackhole blackhole)
+	{
+		for (String message : messages)
+		{
+			boolean filtered = false;
+			for (Pattern pattern : patterns)
+			{
+				Matcher m = pattern.matcher(message);
+				StringBuffer sb = new StringBuffer();
+				while (m.find())
+				{
+					m.appendReplacement(sb, repeat(m.end() - m.start()));
+					filtered = true;
+				}
+				m.appendTail(sb);
+				message = sb.toString();
+			}
+			blackhole.consume(filtered ? message : null);
+		}
+	}
+
+	@Benchmark
+	public void matchesSeparately(Blackhole blackhole)
+	{
+		for (String message : messages)
+		{
+			boolean found = false;
+			for (Pattern pattern : patterns)
+			{
+				if (pattern.matcher(message).find())
+				{
+					found = true;
+					break;
+				}
+			}
+			blackhole.consume(found);
+		}
+	}
+
+	private static String repeat(int n)
+	{
+		StringBuilder sb = new StringBuilder(n);
+		for (int i = 0; i < n; ++i)
+		{
+			sb.append('*');
+		}
+		return sb.toString();
+	}
+}
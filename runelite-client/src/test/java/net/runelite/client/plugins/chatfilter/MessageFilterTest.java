@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.chatfilter;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collections;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MessageFilterTest
+{
+	@Test
+	public void testWords()
+	{
+		MessageFilter filter = new MessageFilter(ImmutableList.of("he", "she", "his", "hers"), Collections.emptyList());
+		assertEquals("u*****", filter.censor("ushers"));
+		assertEquals("***", filter.censor("HIS"));
+		assertEquals("a ** b", filter.censor("a he b"));
+		assertNull(filter.censor("nothing to see"));
+		assertTrue(filter.matches("ahishers"));
+		assertFalse(filter.matches("h e"));
+	}
+
+	@Test
+	public void testOverlappingWords()
+	{
+		MessageFilter filter = new MessageFilter(ImmutableList.of("abcd", "bc", "cde"), Collections.emptyList());
+		assertEquals("x*****x", filter.censor("xabcdex"));
+		assertEquals("a**e", filter.censor("abce"));
+	}
+
+	@Test
+	public void testRegex()
+	{
+		MessageFilter filter = new MessageFilter(Collections.emptyList(), ImmutableList.of("5[0-9]x2", "(", "gp\\b"));
+		assertEquals("**** dicing 10m**", filter.censor("55X2 dicing 10mgp"));
+		assertNull(filter.censor("nothing to see"));
+	}
+
+	@Test
+	public void testUnjoinableRegex()
+	{
+		MessageFilter filter = new MessageFilter(Collections.emptyList(), ImmutableList.of("(a)\\1", "(b)\\1", "(?<x>c)\\k<x>", "\\Qd|\\E"));
+		assertEquals("** ** ** **", filter.censor("aa bb cc d|"));
+		assertNull(filter.censor("ab ba cd d"));
+	}
+
+	@Test
+	public void testWordsAndRegex()
+	{
+		MessageFilter filter = new MessageFilter(ImmutableList.of("bank"), ImmutableList.of("[0-9]+m"));
+		assertEquals("selling **** **** cheap", filter.censor("selling bank 100m cheap"));
+		assertTrue(filter.matches("BANK"));
+		assertTrue(filter.matches("5m"));
+		assertFalse(filter.matches("m"));
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		assertFalse(MessageFilter.EMPTY.matches("anything"));
+		assertNull(MessageFilter.EMPTY.censor("anything"));
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class HistogramTest
+{
+	@Test
+	public void testBuckets()
+	{
+		for (long v = 0; v < 100_000; ++v)
+		{
+			int bucket = Histogram.bucket(v);
+			assertTrue(Histogram.lowerBound(bucket) <= v);
+			assertTrue(v < Histogram.lowerBound(bucket + 1));
+		}
+
+		assertEquals(Long.MAX_VALUE, Histogram.lowerBound(Histogram.bucket(Long.MAX_VALUE) + 1));
+	}
+
+	@Test
+	public void testSnapshot()
+	{
+		Histogram histogram = new Histogram("test");
+		for (int i = 1; i <= 100; ++i)
+		{
+			histogram.record(i * 1000L);
+		}
+
+		Histogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(100, snapshot.getCount());
+		assertEquals(5_050_000L, snapshot.getTotal());
+		assertEquals(50_500L, snapshot.getMean());
+		assertEquals(100_000L, snapshot.getMax());
+		// quantiles are accurate to within a quarter
+		assertTrue(snapshot.getP50() >= 50_000L && snapshot.getP50() < 50_000L * 5 / 4);
+		assertTrue(snapshot.getP99() >= 99_000L && snapshot.getP99() <= 100_000L);
+
+		histogram.reset();
+		assertEquals(0, histogram.snapshot().getCount());
+		assertEquals(0, histogram.snapshot().getMax());
+	}
+}
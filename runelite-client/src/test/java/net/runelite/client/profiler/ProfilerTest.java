@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.profiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProfilerTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static class TestEvent
+	{
+	}
+
+	private static class TestSubscriber
+	{
+		int count;
+
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			++count;
+		}
+	}
+
+	@Test
+	public void testDisabled()
+	{
+		Profiler profiler = new Profiler();
+		long start = profiler.start();
+		assertEquals(0L, start);
+		assertEquals(0L, profiler.record(Profiler.Category.OVERLAY, "test", start));
+		assertEquals(0, profiler.snapshot(Profiler.Category.OVERLAY).size());
+	}
+
+	@Test
+	public void testSubscriberTimings()
+	{
+		Profiler profiler = new Profiler();
+		EventBus eventBus = new EventBus();
+		eventBus.setProfiler(profiler);
+
+		TestSubscriber subscriber = new TestSubscriber();
+		eventBus.register(subscriber);
+
+		eventBus.post(new TestEvent());
+		assertEquals(0, profiler.snapshot(Profiler.Category.SUBSCRIBER).size());
+
+		profiler.setEnabled(true);
+		eventBus.post(new TestEvent());
+		eventBus.post(new TestEvent());
+		assertEquals(3, subscriber.count);
+
+		List<Histogram.Snapshot> snapshots = profiler.snapshot(Profiler.Category.SUBSCRIBER);
+		assertEquals(1, snapshots.size());
+		assertEquals("TestSubscriber.onTestEvent", snapshots.get(0).getName());
+		assertEquals(2, snapshots.get(0).getCount());
+
+		// timings follow changes to the subscribers
+		eventBus.register(TestEvent.class, e -> subscriber.count++, 0);
+		eventBus.post(new TestEvent());
+		assertEquals(2, profiler.snapshot(Profiler.Category.SUBSCRIBER).size());
+		assertEquals(3, profiler.getHistogram(Profiler.Category.SUBSCRIBER, "TestSubscriber.onTestEvent").snapshot().getCount());
+	}
+
+	@Test
+	public void testDump() throws IOException
+	{
+		Profiler profiler = new Profiler();
+		profiler.setEnabled(true);
+		profiler.record(Profiler.Category.MAIN_LOOP, "BeforeRender", profiler.start());
+
+		File file = folder.newFile();
+		profiler.dump(file);
+
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertEquals(2, lines.size());
+		assertEquals("MAIN_LOOP\tBeforeRender\t1", lines.get(1).substring(0, "MAIN_LOOP\tBeforeRender\t1".length()));
+	}
+}
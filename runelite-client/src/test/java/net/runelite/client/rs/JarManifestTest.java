@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import net.runelite.client.util.VerificationException;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarManifestTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File createJar(int entries) throws IOException
+	{
+		File jar = folder.newFile();
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar)))
+		{
+			for (int i = 0; i < entries; ++i)
+			{
+				out.putNextEntry(new JarEntry("entry" + i + ".class"));
+				out.write(("contents of " + i).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		return jar;
+	}
+
+	@Test
+	public void testVerifyAndRoundTrip() throws Exception
+	{
+		File jar = createJar(20);
+
+		// unsigned entries have no certificates
+		JarManifest manifest = JarManifest.verify(jar, null);
+		assertTrue(manifest.matches(jar));
+		assertTrue(manifest.check(jar));
+
+		File file = folder.newFile();
+		manifest.write(file);
+		JarManifest read = JarManifest.read(file);
+		assertNotNull(read);
+		assertTrue(read.check(jar));
+
+		try (FileOutputStream out = new FileOutputStream(jar, true))
+		{
+			out.write(0);
+		}
+		assertFalse(read.matches(jar));
+		assertFalse(read.check(jar));
+	}
+
+	@Test
+	public void testHash() throws Exception
+	{
+		File jar = createJar(20);
+		assertArrayEquals(Hashing.sha256().hashBytes(Files.readAllBytes(jar.toPath())).asBytes(), JarManifest.hash(jar));
+		assertFalse(new JarManifest(jar, new byte[32]).check(jar));
+	}
+
+	@Test
+	public void testCheckModified() throws Exception
+	{
+		File jar = createJar(20);
+		JarManifest manifest = JarManifest.verify(jar, null);
+		long size = jar.length(), lastModified = jar.lastModified();
+
+		// rewrite an entry without changing the size or modification time of the jar
+		byte[] data = Files.readAllBytes(jar.toPath());
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar)))
+		{
+			for (int i = 0; i < 20; ++i)
+			{
+				out.putNextEntry(new JarEntry("entry" + i + ".class"));
+				out.write(("contents of " + (i == 7 ? 8 : i)).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		assertEquals(size, jar.length());
+		assertFalse(Arrays.equals(data, Files.readAllBytes(jar.toPath())));
+		assertTrue(jar.setLastModified(lastModified));
+
+		assertTrue(manifest.matches(jar));
+		assertFalse(manifest.check(jar));
+	}
+
+	@Test(expected = VerificationException.class)
+	public void testVerifyUnsigned() throws Exception
+	{
+		JarManifest.verify(createJar(5), new Certificate[0]);
+	}
+
+	@Test
+	public void testReadMissing()
+	{
+		assertNull(JarManifest.read(new File(folder.getRoot(), "missing")));
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class OverlayLayoutTest
+{
+	private static final Rectangle CANVAS = new Rectangle(0, 0, 765, 503);
+	private static final int PADDING = 2;
+
+	@Test
+	public void testLayout()
+	{
+		OverlayLayout layout = new OverlayLayout();
+		Rectangle corner = new Rectangle(5, 20, 80, 80);
+
+		Point location = layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 50, CANVAS, PADDING);
+		assertEquals(new Point(5, 20), location);
+		assertEquals(new Point(5, 72), corner.getLocation());
+
+		corner.setLocation(760, 5);
+		location = layout.layout(0, OverlayPosition.TOP_RIGHT, corner, 100, 50, CANVAS, PADDING);
+		assertEquals(new Point(660, 5), location);
+		assertEquals(new Point(760, 57), corner.getLocation());
+
+		corner.setLocation(5, 498);
+		location = layout.layout(0, OverlayPosition.BOTTOM_LEFT, corner, 100, 50, CANVAS, PADDING);
+		assertEquals(new Point(5, 448), location);
+		assertEquals(new Point(107, 498), corner.getLocation());
+	}
+
+	@Test
+	public void testEmptyOverlay()
+	{
+		OverlayLayout layout = new OverlayLayout();
+		Rectangle corner = new Rectangle(5, 20, 80, 80);
+
+		layout.layout(0, OverlayPosition.TOP_LEFT, corner, 0, 0, CANVAS, PADDING);
+		assertEquals(new Point(5, 20), corner.getLocation());
+	}
+
+	@Test
+	public void testClamped()
+	{
+		OverlayLayout layout = new OverlayLayout();
+		Rectangle corner = new Rectangle(5, 480, 80, 80);
+
+		// The overlay is pushed up to fit within the canvas, and the corner past it
+		Point location = layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 50, CANVAS, PADDING);
+		assertEquals(new Point(5, 453), location);
+		assertEquals(new Point(5, 505), corner.getLocation());
+	}
+
+	@Test
+	public void testCached()
+	{
+		OverlayLayout layout = new OverlayLayout();
+		Rectangle corner = new Rectangle(5, 20, 80, 80);
+
+		Point location = layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 50, CANVAS, PADDING);
+
+		// Same inputs on the next frame reuse the layout, including the corner translation
+		corner.setLocation(5, 20);
+		assertSame(location, layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 50, CANVAS, PADDING));
+		assertEquals(new Point(5, 20), location);
+		assertEquals(new Point(5, 72), corner.getLocation());
+
+		// Resizing the overlay invalidates it
+		corner.setLocation(5, 20);
+		layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 60, CANVAS, PADDING);
+		assertEquals(new Point(5, 82), corner.getLocation());
+
+		// As does moving the corner, such as by an overlay before it changing size
+		corner.setLocation(5, 30);
+		layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 60, CANVAS, PADDING);
+		assertEquals(new Point(5, 30), location);
+		assertEquals(new Point(5, 92), corner.getLocation());
+
+		// And changing the parent bounds
+		corner.setLocation(5, 30);
+		layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 60, new Rectangle(50, 50, 400, 400), PADDING);
+		assertEquals(new Point(50, 50), location);
+		assertEquals(new Point(50, 112), corner.getLocation());
+	}
+
+	@Test
+	public void testVersion()
+	{
+		OverlayLayout layout = new OverlayLayout();
+		Rectangle corner = new Rectangle(5, 20, 80, 80);
+		Rectangle parent = new Rectangle(0, 0, 765, 503);
+
+		Point location = layout.layout(0, OverlayPosition.TOP_LEFT, corner, 100, 50, parent, PADDING);
+		assertEquals(new Point(5, 20), location);
+
+		corner.setLocation(200, 20);
+		layout.layout(1, OverlayPosition.TOP_CENTER, corner, 100, 50, parent, PADDING);
+		assertEquals(new Point(150, 20), location);
+	}
+}
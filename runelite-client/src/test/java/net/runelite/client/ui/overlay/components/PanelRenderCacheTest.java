@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.components;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PanelRenderCacheTest
+{
+	private static final int WIDTH = 200;
+	private static final int HEIGHT = 120;
+	private static final Font FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+
+	@Test
+	public void testMatchesDirectRender()
+	{
+		final PanelComponent direct = new PanelComponent();
+		final PanelComponent cached = new PanelComponent();
+		BufferedImage expected = null;
+		BufferedImage actual = null;
+
+		for (int frame = 0; frame < 5; ++frame)
+		{
+			expected = newCanvas();
+			actual = newCanvas();
+			final Dimension expectedDimension = render(direct, expected, "Kills:", "12", false);
+			final Dimension actualDimension = render(cached, actual, "Kills:", "12", true);
+			assertEquals(expectedDimension, actualDimension);
+			assertEquals(direct.getBounds(), cached.getBounds());
+		}
+
+		assertSimilar(expected, actual);
+	}
+
+	@Test
+	public void testContentChange()
+	{
+		final PanelComponent direct = new PanelComponent();
+		final PanelComponent cached = new PanelComponent();
+
+		for (int frame = 0; frame < 5; ++frame)
+		{
+			render(direct, newCanvas(), "Kills:", "12", false);
+			render(cached, newCanvas(), "Kills:", "12", true);
+		}
+
+		// The changed line is drawn on the very next frame
+		final BufferedImage expected = newCanvas();
+		final BufferedImage actual = newCanvas();
+		render(direct, expected, "Kills:", "13", false);
+		render(cached, actual, "Kills:", "13", true);
+		assertSimilar(expected, actual);
+	}
+
+	@Test
+	public void testCachedFrameSkipsChildren()
+	{
+		final BufferedImage metricsImage = newCanvas();
+		final Graphics2D metricsGraphics = metricsImage.createGraphics();
+		metricsGraphics.setFont(FONT);
+		final FontMetrics metrics = metricsGraphics.getFontMetrics();
+
+		final Graphics2D graphics = mock(Graphics2D.class);
+		when(graphics.getFont()).thenReturn(FONT);
+		when(graphics.getFontMetrics()).thenReturn(metrics);
+		when(graphics.getFontMetrics(any(Font.class))).thenReturn(metrics);
+		when(graphics.getRenderingHints()).thenReturn(new RenderingHints(null));
+
+		final PanelComponent panel = new PanelComponent();
+		for (int frame = 0; frame < 3; ++frame)
+		{
+			addChildren(panel, "Kills:", "12");
+			panel.renderCached(graphics);
+			panel.getChildren().clear();
+		}
+
+		verify(graphics, atLeastOnce()).drawString(anyString(), anyInt(), anyInt());
+		clearInvocations(graphics);
+
+		addChildren(panel, "Kills:", "12");
+		panel.renderCached(graphics);
+
+		verify(graphics, never()).drawString(anyString(), anyInt(), anyInt());
+		verify(graphics).drawImage(any(BufferedImage.class), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+		// child bounds are restored as if they had been rendered
+		for (LayoutableRenderableEntity child : panel.getChildren())
+		{
+			assertTrue(child.getBounds().width > 0);
+		}
+	}
+
+	@Test
+	public void testChildBounds()
+	{
+		final PanelComponent direct = new PanelComponent();
+		final PanelComponent cached = new PanelComponent();
+
+		for (int frame = 0; frame < 5; ++frame)
+		{
+			final Graphics2D directGraphics = newCanvas().createGraphics();
+			final Graphics2D cachedGraphics = newCanvas().createGraphics();
+			addInfoBoxes(direct);
+			addInfoBoxes(cached);
+			direct.render(directGraphics);
+			cached.renderCached(cachedGraphics);
+
+			for (int i = 0; i < direct.getChildren().size(); ++i)
+			{
+				assertEquals(direct.getChildren().get(i).getBounds(), cached.getChildren().get(i).getBounds());
+			}
+
+			direct.getChildren().clear();
+			cached.getChildren().clear();
+		}
+	}
+
+	private static Dimension render(PanelComponent panel, BufferedImage canvas, String left, String right, boolean cache)
+	{
+		final Graphics2D graphics = canvas.createGraphics();
+		graphics.setFont(FONT);
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		addChildren(panel, left, right);
+		final Dimension dimension = cache ? panel.renderCached(graphics) : panel.render(graphics);
+		panel.getChildren().clear();
+		graphics.dispose();
+		return dimension;
+	}
+
+	private static void addChildren(PanelComponent panel, String left, String right)
+	{
+		panel.getChildren().add(TitleComponent.builder()
+			.text("Slayer")
+			.color(Color.GREEN)
+			.build());
+		panel.getChildren().add(LineComponent.builder()
+			.left(left)
+			.right(right)
+			.build());
+		panel.getChildren().add(LineComponent.builder()
+			.left("Streak:")
+			.right("<col=ff0000>4")
+			.build());
+	}
+
+	private static void addInfoBoxes(PanelComponent panel)
+	{
+		panel.setWrap(true);
+		panel.setBackgroundColor(null);
+		panel.setBorder(new Rectangle());
+		panel.setPreferredSize(new Dimension(70, 70));
+		for (int i = 0; i < 5; ++i)
+		{
+			final InfoBoxComponent component = new InfoBoxComponent();
+			component.setImage(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+			component.setText(Integer.toString(i));
+			component.setPreferredSize(new Dimension(32, 32));
+			panel.getChildren().add(component);
+		}
+	}
+
+	private static BufferedImage newCanvas()
+	{
+		final BufferedImage canvas = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = canvas.createGraphics();
+		graphics.setColor(new Color(90, 80, 60));
+		graphics.fillRect(0, 0, WIDTH, HEIGHT);
+		graphics.dispose();
+		return canvas;
+	}
+
+	private static void assertSimilar(BufferedImage expected, BufferedImage actual)
+	{
+		for (int y = 0; y < HEIGHT; ++y)
+		{
+			for (int x = 0; x < WIDTH; ++x)
+			{
+				final int e = expected.getRGB(x, y);
+				final int a = actual.getRGB(x, y);
+				for (int shift = 0; shift < 24; shift += 8)
+				{
+					final int diff = Math.abs(((e >> shift) & 0xff) - ((a >> shift) & 0xff));
+					assertTrue("pixel " + x + "," + y + " differs: " + Integer.toHexString(e) + " " + Integer.toHexString(a), diff <= 2);
+				}
+			}
+		}
+	}
+}
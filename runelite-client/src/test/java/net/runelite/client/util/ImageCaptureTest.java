@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImageCaptureTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testReserveFile() throws IOException
+	{
+		final File dir = folder.getRoot();
+
+		final File first = ImageCapture.reserveFile(dir, "Pet 2021-01-01_12-00-00");
+		final File second = ImageCapture.reserveFile(dir, "Pet 2021-01-01_12-00-00");
+		final File third = ImageCapture.reserveFile(dir, "Pet 2021-01-01_12-00-00");
+
+		assertEquals("Pet 2021-01-01_12-00-00.png", first.getName());
+		assertEquals("Pet 2021-01-01_12-00-00(1).png", second.getName());
+		assertEquals("Pet 2021-01-01_12-00-00(2).png", third.getName());
+		assertTrue(first.exists() && second.exists() && third.exists());
+	}
+
+	@Test
+	public void testWritePng() throws IOException
+	{
+		final BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = image.createGraphics();
+		final Random random = new Random(42);
+		for (int i = 0; i < 32; ++i)
+		{
+			graphics.setColor(new Color(random.nextInt(0xffffff)));
+			graphics.fillRect(random.nextInt(64), random.nextInt(64), 8, 8);
+		}
+		graphics.dispose();
+
+		final File fast = folder.newFile("fast.png");
+		final File small = folder.newFile("small.png");
+		ImageCapture.writePng(image, fast, 0);
+		ImageCapture.writePng(image, small, 9);
+
+		for (File file : new File[]{fast, small})
+		{
+			final BufferedImage read = ImageIO.read(file);
+			assertEquals(image.getWidth(), read.getWidth());
+			for (int y = 0; y < image.getHeight(); ++y)
+			{
+				for (int x = 0; x < image.getWidth(); ++x)
+				{
+					assertEquals(image.getRGB(x, y), read.getRGB(x, y));
+				}
+			}
+		}
+
+		// The PNG writer only supports setting the compression level on Java 9+
+		if (ImageIO.getImageWritersByFormatName("png").next().getDefaultWriteParam().canWriteCompressed())
+		{
+			assertNotEquals(fast.length(), small.length());
+		}
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.util;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Formats a spread of stack sizes and prices from several threads at once, comparing
+ * {@link QuantityFormatter} to the synchronized {@link NumberFormat} implementation it replaced.
+ * Run with {@code org.openjdk.jmh.Main QuantityFormatterBenchmark} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class QuantityFormatterBenchmark
+{
+	private static final int COUNT = 1024;
+
+	private long[] quantities;
+
+	@Setup
+	public void setup()
+	{
+		// mostly small stacks, with some coins and item prices
+		Random random = new Random(42);
+		quantities = new long[COUNT];
+		for (int i = 0; i < COUNT; ++i)
+		{
+			quantities[i] = i % 4 == 0
+				? random.nextInt(Integer.MAX_VALUE)
+				: random.nextInt(i % 4 == 1 ? 100_000 : 1000);
+		}
+	}
+
+	@Benchmark
+	public void quantityToStackSize(Blackhole blackhole)
+	{
+		for (long quantity : quantities)
+		{
+			blackhole.consume(QuantityFormatter.quantityToStackSize(quantity));
+		}
+	}
+
+	@Benchmark
+	public void quantityToStackSizeSynchronized(Blackhole blackhole)
+	{
+		for (long quantity : quantities)
+		{
+			blackhole.consume(SynchronizedFormatter.quantityToStackSize(quantity));
+		}
+	}
+
+	@Benchmark
+	public void quantityToRSDecimalStack(Blackhole blackhole)
+	{
+		for (long quantity : quantities)
+		{
+			blackhole.consume(QuantityFormatter.quantityToRSDecimalStack((int) quantity, true));
+		}
+	}
+
+	@Benchmark
+	public void quantityToRSDecimalStackSynchronized(Blackhole blackhole)
+	{
+		for (long quantity : quantities)
+		{
+			blackhole.consume(SynchronizedFormatter.quantityToRSDecimalStack((int) quantity, true));
+		}
+	}
+
+	@Benchmark
+	public void formatNumber(Blackhole blackhole)
+	{
+		for (long quantity : quantities)
+		{
+			blackhole.consume(QuantityFormatter.formatNumber(quantity));
+		}
+	}
+
+	@Benchmark
+	public void formatNumberSynchronized(Blackhole blackhole)
+	{
+		for (long quantity : quantities)
+		{
+			blackhole.consume(SynchronizedFormatter.formatNumber(quantity));
+		}
+	}
+
+	/**
+	 * The previous implementation of {@link QuantityFormatter}
+	 */
+	private static class SynchronizedFormatter
+	{
+		private static final String[] SUFFIXES = {"", "K", "M", "B"};
+
+		private static final NumberFormat NUMBER_FORMATTER = NumberFormat.getInstance(Locale.ENGLISH);
+
+		private static final NumberFormat DECIMAL_FORMATTER = new DecimalFormat(
+			"#,###.#",
+			DecimalFormatSymbols.getInstance(Locale.ENGLISH)
+		);
+
+		private static final NumberFormat PRECISE_DECIMAL_FORMATTER = new DecimalFormat(
+			"#,###.###",
+			DecimalFormatSymbols.getInstance(Locale.ENGLISH)
+		);
+
+		static synchronized String quantityToStackSize(long quantity)
+		{
+			if (quantity < 0)
+			{
+				return "-" + quantityToStackSize(quantity == Long.MIN_VALUE ? Long.MAX_VALUE : -quantity);
+			}
+			else if (quantity < 10_000)
+			{
+				return NUMBER_FORMATTER.format(quantity);
+			}
+
+			String suffix = SUFFIXES[0];
+			long divideBy = 1;
+			for (int i = (SUFFIXES.length - 1); i >= 0; i--)
+			{
+				divideBy = (long) Math.pow(10, i * 3);
+				if ((double) quantity / divideBy >= 1)
+				{
+					suffix = SUFFIXES[i];
+					break;
+				}
+			}
+
+			String formattedString = NUMBER_FORMATTER.format((double) quantity / divideBy);
+			formattedString = (formattedString.length() > 4 ? formattedString.substring(0, 4) : formattedString);
+			return (formattedString.endsWith(".") ? formattedString.substring(0, 3) : formattedString) + suffix;
+		}
+
+		static synchronized String quantityToRSDecimalStack(int quantity, boolean precise)
+		{
+			String quantityStr = String.valueOf(quantity);
+			if (quantityStr.length() <= 4)
+			{
+				return quantityStr;
+			}
+
+			int power = (int) Math.log10(quantity);
+			NumberFormat format = precise && power >= 6
+				? PRECISE_DECIMAL_FORMATTER
+				: DECIMAL_FORMATTER;
+
+			return format.format(quantity / (Math.pow(10, (power / 3) * 3))) + SUFFIXES[power / 3];
+		}
+
+		static synchronized String formatNumber(long number)
+		{
+			return NUMBER_FORMATTER.format(number);
+		}
+	}
+}
@@ -57,6 +57,10 @@ public class QuantityFormatterTest
 		assertEquals("1B", QuantityFormatter.quantityToRSDecimalStack(1_000_000_000));
 		assertEquals("1.5B", QuantityFormatter.quantityToRSDecimalStack(1500_000_000));
 		assertEquals("2.1B", QuantityFormatter.quantityToRSDecimalStack(Integer.MAX_VALUE));
+
+		assertEquals("1,000K", QuantityFormatter.quantityToRSDecimalStack(999_950));
+		assertEquals("-999", QuantityFormatter.quantityToRSDecimalStack(-999));
+		assertEquals("-12,345", QuantityFormatter.quantityToRSDecimalStack(-12_345));
 	}
 
 	@Test
@@ -72,6 +76,8 @@ public class QuantityFormatterTest
 		assertEquals("10M", QuantityFormatter.quantityToStackSize(10_000_000));
 		assertEquals("2.14B", QuantityFormatter.quantityToStackSize(Integer.MAX_VALUE));
 		assertEquals("100B", QuantityFormatter.quantityToStackSize(100_000_000_000L));
+		assertEquals("14.0K", QuantityFormatter.quantityToStackSize(14_050));
+		assertEquals("10M", QuantityFormatter.quantityToStackSize(9_999_999));
 
 		assertEquals("0", QuantityFormatter.quantityToStackSize(-0));
 		assertEquals("-400", QuantityFormatter.quantityToStackSize(-400));
@@ -104,6 +110,18 @@ public class QuantityFormatterTest
 		assertEquals("1.5B", QuantityFormatter.quantityToRSDecimalStack(1500_000_000, true));
 		assertEquals("1.55B", QuantityFormatter.quantityToRSDecimalStack(1550_000_000, true));
 		assertEquals("2.147B", QuantityFormatter.quantityToRSDecimalStack(Integer.MAX_VALUE, true));
+		assertEquals("1.062M", QuantityFormatter.quantityToRSDecimalStack(1_062_500, true));
+	}
+
+	@Test
+	public void formatNumber()
+	{
+		assertEquals("0", QuantityFormatter.formatNumber(0L));
+		assertEquals("9,999", QuantityFormatter.formatNumber(9_999L));
+		assertEquals("10,123,351", QuantityFormatter.formatNumber(10_123_351L));
+		assertEquals("-1,234,567", QuantityFormatter.formatNumber(-1_234_567L));
+		assertEquals("-9,223,372,036,854,775,808", QuantityFormatter.formatNumber(Long.MIN_VALUE));
+		assertEquals("5.612", QuantityFormatter.formatNumber(5.6123));
 	}
 
 	@Test
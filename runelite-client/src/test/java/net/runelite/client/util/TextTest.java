@@ -41,6 +41,10 @@ public class TextTest
 		assertEquals("a < b", Text.removeTags("a < b"));
 		assertEquals("a  b", Text.removeTags("a <lt> b"));
 		assertEquals("Remove no tags", Text.removeTags("Remove no tags"));
+		assertEquals("a  d", Text.removeTags("a <b <c> d"));
+		assertEquals("x", Text.removeTags("<>x"));
+		assertEquals("a > b", Text.removeTags("a > b"));
+		assertEquals("ab<c", Text.removeTags("a<x>b<c"));
 	}
 
 	@Test
@@ -25,7 +25,10 @@
 package net.runelite.client.util;
 
 import static junit.framework.TestCase.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
 import static net.runelite.client.util.WildcardMatcher.matches;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import org.junit.Test;
 
@@ -41,4 +44,47 @@ public class WildcardMatcherTest
 		assertTrue(matches("Abyssal whip", "Abyssal whip"));
 		assertTrue(matches("string $ with special character", "string $ with special character"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testWildcards()
+	{
+		assertTrue(matches("*", ""));
+		assertTrue(matches("**", "goblin"));
+		assertTrue(matches("", ""));
+		assertFalse(matches("", "goblin"));
+		assertTrue(matches("*wyvern", "Skeletal Wyvern"));
+		assertFalse(matches("*wyvern", "Skeletal Wyverns"));
+		assertTrue(matches("g*b*n", "Goblin"));
+		assertFalse(matches("g*b*n", "Gob"));
+		assertTrue(matches("a*a", "aa"));
+		assertFalse(matches("a*a", "a"));
+		assertTrue(matches("*ab*ab*", "xabyab"));
+		assertFalse(matches("*ab*ab*", "xaby"));
+		assertFalse(matches("goblin", "goblins"));
+	}
+
+	@Test
+	public void testCompiled()
+	{
+		WildcardMatcher matcher = WildcardMatcher.compile(Arrays.asList("goblin", "*wyvern", "zul*", "\u00c4hm"));
+		assertTrue(matcher.matches("Goblin"));
+		assertTrue(matcher.matches("Skeletal Wyvern"));
+		assertTrue(matcher.matches("Zulrah"));
+		assertTrue(matcher.matches("\u00c4HM"));
+		assertFalse(matcher.matches("Hobgoblin"));
+		assertFalse(matcher.matches(""));
+
+		assertFalse(WildcardMatcher.compile(Collections.emptyList()).matches("goblin"));
+	}
+
+	@Test
+	public void testIndexOf()
+	{
+		WildcardMatcher matcher = WildcardMatcher.compile(Arrays.asList("rune*", "abyssal whip", "*rune", "*"));
+		assertEquals(0, matcher.indexOf("Rune rune", 0));
+		assertEquals(2, matcher.indexOf("Rune rune", 1));
+		assertEquals(3, matcher.indexOf("Rune rune", 3));
+		assertEquals(-1, matcher.indexOf("Rune rune", 4));
+		assertEquals(1, matcher.indexOf("Abyssal whip", 0));
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ws;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.plugins.party.messages.LocationUpdate;
+import net.runelite.http.api.ws.WebsocketMessage;
+import net.runelite.http.api.ws.messages.party.PartyBatch;
+import net.runelite.http.api.ws.messages.party.PartyChatMessage;
+import net.runelite.http.api.ws.messages.party.UserJoin;
+import net.runelite.http.api.ws.messages.party.UserSync;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WSClientTest
+{
+	private static final UUID MEMBER = UUID.randomUUID();
+
+	@Mock
+	private Client client;
+
+	@Mock
+	private ClientThread clientThread;
+
+	@Mock
+	private EventBus eventBus;
+
+	@Mock
+	private OkHttpClient okHttpClient;
+
+	@Mock
+	private WebSocket webSocket;
+
+	private WSClient wsClient;
+
+	@Before
+	public void before()
+	{
+		// decode on the calling thread
+		wsClient = new WSClient(eventBus, okHttpClient, client, clientThread, MoreExecutors.directExecutor());
+
+		when(okHttpClient.newWebSocket(any(Request.class), any(WSClient.class))).thenReturn(webSocket);
+		wsClient.changeSession(UUID.randomUUID());
+
+		ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+		verify(webSocket).send(captor.capture());
+		assertTrue(captor.getValue().contains("\"batching\":true"));
+	}
+
+	@Test
+	public void testBatchSend()
+	{
+		when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+		acknowledgeBatching();
+
+		wsClient.send(chat("one"));
+		wsClient.send(chat("two"));
+		verify(webSocket, times(1)).send(anyString());
+
+		wsClient.onGameTick(new GameTick());
+
+		ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+		verify(webSocket, times(2)).send(captor.capture());
+		String json = captor.getValue();
+		assertTrue(json.contains("PartyBatch"));
+
+		// receive our own batch back
+		wsClient.onMessage(webSocket, json);
+		verify(eventBus, never()).post(any());
+
+		wsClient.onGameTick(new GameTick());
+
+		ArgumentCaptor<Object> posted = ArgumentCaptor.forClass(Object.class);
+		verify(eventBus, times(2)).post(posted.capture());
+		List<Object> messages = posted.getAllValues();
+		assertEquals("one", ((PartyChatMessage) messages.get(0)).getValue());
+		assertEquals("two", ((PartyChatMessage) messages.get(1)).getValue());
+		assertEquals(MEMBER, ((PartyChatMessage) messages.get(1)).getMemberId());
+	}
+
+	@Test
+	public void testNoBatchingWithoutAcknowledgement()
+	{
+		lenient().when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+
+		// the server didn't acknowledge batching, so the messages are sent as they are
+		wsClient.send(chat("one"));
+		wsClient.send(chat("two"));
+		wsClient.onGameTick(new GameTick());
+
+		ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+		verify(webSocket, times(3)).send(captor.capture());
+		for (String json : captor.getAllValues())
+		{
+			assertFalse(json.contains("PartyBatch"));
+		}
+	}
+
+	@Test
+	public void testSendLoggedOut()
+	{
+		when(client.getGameState()).thenReturn(GameState.LOGIN_SCREEN);
+
+		wsClient.send(chat("one"));
+		verify(webSocket, times(2)).send(anyString());
+
+		wsClient.onMessage(webSocket, "{\"type\":\"UserSync\",\"_party\":true}");
+		verify(clientThread).invokeLater(any(Runnable.class));
+	}
+
+	@Test
+	public void testBatchMemberId()
+	{
+		UserSync userSync = new UserSync();
+		userSync.setMemberId(UUID.randomUUID());
+		UserJoin userJoin = new UserJoin(UUID.randomUUID(), UUID.randomUUID(), "zezima");
+		PartyBatch batch = new PartyBatch(Arrays.<WebsocketMessage>asList(userSync, userJoin));
+		batch.setMemberId(MEMBER);
+
+		wsClient.onMessage(webSocket, captureSent(batch));
+		wsClient.onGameTick(new GameTick());
+
+		// the user join can't be batched, and the user sync takes the member id of the batch
+		ArgumentCaptor<Object> posted = ArgumentCaptor.forClass(Object.class);
+		verify(eventBus).post(posted.capture());
+		assertEquals(MEMBER, ((UserSync) posted.getValue()).getMemberId());
+	}
+
+	private String captureSent(WebsocketMessage message)
+	{
+		when(client.getGameState()).thenReturn(GameState.LOGIN_SCREEN);
+		wsClient.send(message);
+		when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+
+		ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+		verify(webSocket, times(2)).send(captor.capture());
+		return captor.getValue();
+	}
+
+	@Test
+	public void testBacklog()
+	{
+		when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+		wsClient.registerMessage(LocationUpdate.class);
+
+		for (int i = 0; i < WSClient.MAX_QUEUED_MESSAGES; ++i)
+		{
+			wsClient.onMessage(webSocket, "{\"type\":\"UserSync\",\"_party\":true}");
+		}
+
+		// the queue is backed up, so the second location update replaces the first
+		wsClient.onMessage(webSocket, location(1));
+		wsClient.onMessage(webSocket, location(2));
+		// but other messages are still queued
+		wsClient.onMessage(webSocket, "{\"type\":\"UserSync\",\"_party\":true}");
+		wsClient.onGameTick(new GameTick());
+
+		ArgumentCaptor<Object> posted = ArgumentCaptor.forClass(Object.class);
+		verify(eventBus, times(WSClient.MAX_QUEUED_MESSAGES + 2)).post(posted.capture());
+		List<Object> messages = posted.getAllValues();
+		assertEquals(2, ((LocationUpdate) messages.get(WSClient.MAX_QUEUED_MESSAGES)).getWorldPoint().getX());
+		assertTrue(messages.get(WSClient.MAX_QUEUED_MESSAGES + 1) instanceof UserSync);
+	}
+
+	private void acknowledgeBatching()
+	{
+		wsClient.onMessage(webSocket, "{\"type\":\"Handshake\",\"batching\":true}");
+		verify(eventBus, never()).post(any());
+	}
+
+	private static String location(int x)
+	{
+		return "{\"type\":\"LocationUpdate\",\"worldPoint\":{\"x\":" + x + ",\"y\":0,\"plane\":0},\"memberId\":\"" + MEMBER + "\",\"_party\":true}";
+	}
+
+	private static PartyChatMessage chat(String value)
+	{
+		PartyChatMessage message = new PartyChatMessage(value);
+		message.setMemberId(MEMBER);
+		return message;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.script;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Writes the names of the top level classes in a package which are annotated with the plugin
+ * descriptor to an index file, so the plugin manager does not have to scan the classpath at startup.
+ * Classes are matched by their constant pool, without loading them.
+ */
+@Mojo(
+	name = "build-plugin-index",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES
+)
+public class PluginIndexMojo extends AbstractMojo
+{
+	private static final int CLASS_MAGIC = 0xCAFEBABE;
+
+	@Parameter(required = true)
+	private File classesDirectory;
+
+	@Parameter(defaultValue = "net.runelite.client.plugins")
+	private String pluginPackage;
+
+	@Parameter(defaultValue = "net.runelite.client.plugins.PluginDescriptor")
+	private String descriptorAnnotation;
+
+	@Parameter(required = true)
+	private File indexFile;
+
+	private final Log log = getLog();
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		final String descriptor = "L" + descriptorAnnotation.replace('.', '/') + ";";
+		final File packageDirectory = new File(classesDirectory, pluginPackage.replace('.', File.separatorChar));
+		final Set<String> plugins = new TreeSet<>();
+
+		try
+		{
+			scan(packageDirectory, pluginPackage, descriptor, plugins);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error scanning plugin classes", ex);
+		}
+
+		indexFile.getParentFile().mkdirs();
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(indexFile), StandardCharsets.UTF_8))
+		{
+			for (String plugin : plugins)
+			{
+				out.write(plugin);
+				out.write('\n');
+			}
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing plugin index", ex);
+		}
+
+		log.info("Indexed " + plugins.size() + " plugins");
+	}
+
+	private static void scan(File directory, String packageName, String descriptor, Set<String> plugins) throws IOException
+	{
+		final File[] files = directory.listFiles();
+		if (files == null)
+		{
+			return;
+		}
+
+		for (File file : files)
+		{
+			final String name = file.getName();
+			if (file.isDirectory())
+			{
+				scan(file, packageName + "." + name, descriptor, plugins);
+			}
+			// nested classes can't be plugins
+			else if (name.endsWith(".class") && name.indexOf('$') == -1 && referencesUtf8(file, descriptor))
+			{
+				plugins.add(packageName + "." + name.substring(0, name.length() - ".class".length()));
+			}
+		}
+	}
+
+	/**
+	 * Check if the constant pool of a class file contains the given string. The descriptor of a
+	 * class level annotation is only in the pool if the class uses the annotation, and the plugin
+	 * manager still validates each indexed class when it is loaded.
+	 */
+	private static boolean referencesUtf8(File classFile, String utf8) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(classFile))))
+		{
+			if (in.readInt() != CLASS_MAGIC)
+			{
+				throw new IOException("not a class file: " + classFile);
+			}
+
+			in.readUnsignedShort(); // minor
+			in.readUnsignedShort(); // major
+			final int count = in.readUnsignedShort();
+			for (int i = 1; i < count; ++i)
+			{
+				final int tag = in.readUnsignedByte();
+				switch (tag)
+				{
+					case 1: // Utf8
+						if (in.readUTF().equals(utf8))
+						{
+							return true;
+						}
+						break;
+					case 7: // Class
+					case 8: // String
+					case 16: // MethodType
+					case 19: // Module
+					case 20: // Package
+						in.skipBytes(2);
+						break;
+					case 15: // MethodHandle
+						in.skipBytes(3);
+						break;
+					case 3: // Integer
+					case 4: // Float
+					case 9: // Fieldref
+					case 10: // Methodref
+					case 11: // InterfaceMethodref
+					case 12: // NameAndType
+					case 17: // Dynamic
+					case 18: // InvokeDynamic
+						in.skipBytes(4);
+						break;
+					case 5: // Long
+					case 6: // Double
+						in.skipBytes(8);
+						// takes two entries
+						++i;
+						break;
+					default:
+						throw new IOException("unknown constant pool tag " + tag + " in " + classFile);
+				}
+			}
+			return false;
+		}
+	}
+}